@@ -0,0 +1,46 @@
+// Load test for the /api contract, used to compare the default MVC stack with
+// the reactive profile at the same concurrency. See loadtest/README.md.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TASKS = parseInt(__ENV.TASKS || '200', 10);
+const WRITE_RATIO = parseFloat(__ENV.WRITE_RATIO || '0.1');
+const JSON_HEADERS = { headers: { 'Content-Type': 'application/json' } };
+
+export const options = {
+    vus: parseInt(__ENV.VUS || '200', 10),
+    duration: __ENV.DURATION || '60s',
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+    const board = http.post(`${BASE_URL}/api/boards`,
+        JSON.stringify({ name: `load-${Date.now()}`, description: 'load test' }), JSON_HEADERS).json();
+    const columns = http.get(`${BASE_URL}/api/boards/${board.id}/columns`).json();
+    for (let i = 0; i < TASKS; i++) {
+        const column = columns[i % columns.length];
+        http.post(`${BASE_URL}/api/columns/${column.id}/tasks`,
+            JSON.stringify({ title: `task ${i}`, priority: 'MEDIUM' }), JSON_HEADERS);
+    }
+    return { boardId: board.id, columnIds: columns.map((column) => column.id) };
+}
+
+export default function (data) {
+    const columnId = data.columnIds[Math.floor(Math.random() * data.columnIds.length)];
+    if (Math.random() < WRITE_RATIO) {
+        const created = http.post(`${BASE_URL}/api/columns/${columnId}/tasks`,
+            JSON.stringify({ title: 'burst', priority: 'LOW' }), { ...JSON_HEADERS, tags: { name: 'createTask' } });
+        check(created, { 'task created': (r) => r.status === 201 });
+        return;
+    }
+
+    const snapshot = http.get(`${BASE_URL}/api/boards/${data.boardId}/snapshot`, { tags: { name: 'snapshot' } });
+    check(snapshot, { 'snapshot ok': (r) => r.status === 200 });
+    const tasks = http.get(`${BASE_URL}/api/columns/${columnId}/tasks`, { tags: { name: 'columnTasks' } });
+    check(tasks, { 'tasks ok': (r) => r.status === 200 });
+}
+
+export function teardown(data) {
+    http.del(`${BASE_URL}/api/boards/${data.boardId}`);
+}
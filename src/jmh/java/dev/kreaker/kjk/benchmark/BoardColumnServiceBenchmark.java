@@ -0,0 +1,51 @@
+package dev.kreaker.kjk.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reordering columns as the board grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardColumnServiceBenchmark {
+
+    @Param({"3", "10", "50"})
+    private int columns;
+
+    @Param({KanbanFixture.MEMORY})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = KanbanFixture.create(backend, columns, 0);
+        random = new Random(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void moveColumn() {
+        String columnId = fixture.columnIds.get(random.nextInt(fixture.columnIds.size()));
+        String anchor = fixture.columnIds.get(random.nextInt(fixture.columnIds.size()));
+        fixture.columnService.moveColumn(columnId, anchor.equals(columnId) ? null : anchor, null);
+    }
+}
@@ -0,0 +1,76 @@
+package dev.kreaker.kjk.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kreaker.kjk.config.JacksonConfig;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a whole board snapshot and serializing the board, column and task
+ * graphs with the application's {@link ObjectMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardSnapshotBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tasksPerColumn;
+
+    @Param({KanbanFixture.MEMORY})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private ObjectMapper objectMapper;
+    private Board snapshot;
+    private BoardColumn column;
+    private Task task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = KanbanFixture.create(backend, 3, tasksPerColumn);
+        objectMapper = new JacksonConfig().objectMapper();
+        snapshot = fixture.boardService.getBoardSnapshot(fixture.boardId).orElseThrow();
+        column = snapshot.getColumns().get(0);
+        task = column.getTasks().isEmpty() ? new Task("Benchmark", "Detached task") : column.getTasks().get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Board loadSnapshot() {
+        return fixture.boardService.getBoardSnapshot(fixture.boardId).orElseThrow();
+    }
+
+    @Benchmark
+    public byte[] serializeBoard() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshot);
+    }
+
+    @Benchmark
+    public byte[] serializeColumn() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(column);
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+}
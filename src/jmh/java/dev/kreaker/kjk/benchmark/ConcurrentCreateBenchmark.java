@@ -0,0 +1,66 @@
+package dev.kreaker.kjk.benchmark;
+
+import dev.kreaker.kjk.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stress run of parallel creates into one column. Every iteration ends by checking
+ * that no two tasks of the column share a position, and fails the run if they do;
+ * run it with {@code backend=mongo} to exercise the atomic counter for real. With
+ * {@code backend=embedded} the creates share the store's log batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class ConcurrentCreateBenchmark {
+
+    @Param({KanbanFixture.MEMORY, KanbanFixture.EMBEDDED})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private String columnId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = KanbanFixture.create(backend, 3, 100);
+        columnId = fixture.columnIds.get(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyPositionsAreUnique() {
+        List<Task> tasks = fixture.taskRepository.findByColumnIdOrderByPosition(columnId);
+        Set<Long> positions = new HashSet<>();
+        for (Task task : tasks) {
+            if (!positions.add(task.getPosition())) {
+                throw new IllegalStateException("Duplicate position " + task.getPosition() + " in column " + columnId
+                        + " after " + tasks.size() + " creates");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return fixture.taskService.createTask(columnId, new Task("Concurrent", "Parallel create"));
+    }
+}
@@ -0,0 +1,580 @@
+package dev.kreaker.kjk.benchmark;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardChangeRepository;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.BoardRepository;
+import dev.kreaker.kjk.repository.BoardStatsRepository;
+import dev.kreaker.kjk.repository.PositionCounterRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import org.bson.types.ObjectId;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory stand-ins for the Mongo repositories, implementing the subset of
+ * methods the services call. Documents are kept in maps with an ordered index
+ * per scope (column for tasks, board for columns) so that position lookups
+ * behave like the indexed queries they replace. Calls are serialized behind one
+ * lock; an optional per-call delay, taken outside the lock, stands in for the
+ * network round trip to Mongo.
+ */
+final class InMemoryRepositories {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long latencyNanos;
+
+    private final OrderedStore<Task> tasks = new OrderedStore<>(
+            Task::getId, Task::setId, Task::getColumnId, Task::getPosition, Task::setPosition,
+            Task::getVersion, Task::setVersion, InMemoryRepositories::copyOf, Task::new);
+    private final OrderedStore<BoardColumn> columns = new OrderedStore<>(
+            BoardColumn::getId, BoardColumn::setId, BoardColumn::getBoardId, BoardColumn::getPosition,
+            BoardColumn::setPosition, BoardColumn::getVersion, BoardColumn::setVersion, InMemoryRepositories::copyOf,
+            BoardColumn::new);
+    private final Map<String, Board> boards = new HashMap<>();
+    private final Map<String, Long> counters = new HashMap<>();
+    private final Map<String, BoardStats> stats = new HashMap<>();
+
+    final TaskRepository taskRepository = proxy(TaskRepository.class, taskHandlers());
+    final BoardColumnRepository columnRepository = proxy(BoardColumnRepository.class, columnHandlers());
+    final BoardRepository boardRepository = proxy(BoardRepository.class, boardHandlers());
+    final PositionCounterRepository counterRepository = proxy(PositionCounterRepository.class, counterHandlers());
+    final BoardStatsRepository statsRepository = proxy(BoardStatsRepository.class, statsHandlers());
+    final BoardChangeRepository changeRepository = proxy(BoardChangeRepository.class, changeHandlers());
+
+    InMemoryRepositories() {
+        this(Duration.ZERO);
+    }
+
+    InMemoryRepositories(Duration latency) {
+        this.latencyNanos = latency.toNanos();
+    }
+
+    private Map<String, Function<Object[], Object>> taskHandlers() {
+        Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+        handlers.put("findById", args -> Optional.ofNullable(tasks.get((String) args[0])));
+        handlers.put("existsById", args -> tasks.get((String) args[0]) != null);
+        handlers.put("save", args -> tasks.save((Task) args[0]));
+        handlers.put("saveAll", args -> {
+            List<Task> saved = new ArrayList<>();
+            for (Object task : (Iterable<?>) args[0]) {
+                saved.add(tasks.save((Task) task));
+            }
+            return saved;
+        });
+        handlers.put("delete", args -> tasks.remove(((Task) args[0]).getId()));
+        handlers.put("deleteById", args -> tasks.remove((String) args[0]));
+        handlers.put("findAllById", args -> {
+            List<Task> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) args[0]) {
+                Task task = tasks.get((String) id);
+                if (task != null) {
+                    found.add(task);
+                }
+            }
+            return found;
+        });
+        handlers.put("findByColumnId", args -> tasks.inScope((String) args[0]));
+        handlers.put("findByColumnIdOrderByPosition", args -> tasks.inScope((String) args[0]));
+        handlers.put("findByColumnIdInOrderByPosition", args -> {
+            List<Task> found = new ArrayList<>();
+            for (Object columnId : (Collection<?>) args[0]) {
+                found.addAll(tasks.inScope((String) columnId));
+            }
+            found.sort(Comparator.comparing(Task::getPosition));
+            return found;
+        });
+        handlers.put("findByBoardId", args -> tasks.matching(task -> args[0].equals(task.getBoardId())));
+        handlers.put("countByBoardId", args -> (long) tasks.matching(task -> args[0].equals(task.getBoardId())).size());
+        handlers.put("findLastPosition", args -> tasks.lastPosition((String) args[0], (String) args[1]));
+        handlers.put("findPositionAfter", args ->
+                tasks.positionAfter((String) args[0], (String) args[1], (Long) args[2]));
+        handlers.put("findPositionBefore", args ->
+                tasks.positionBefore((String) args[0], (String) args[1], (Long) args[2]));
+        handlers.put("updatePosition", args -> tasks.move((String) args[0], (Long) args[1], (String) args[3],
+                (Long) args[4], (task, scope) -> {
+                    task.setBoardId((String) args[2]);
+                    task.setColumnId(scope);
+                }));
+        handlers.put("updateDetails", args -> {
+            Task details = (Task) args[0];
+            return tasks.update(details.getId(), details.getVersion(), task -> {
+                task.setTitle(details.getTitle());
+                task.setDescription(details.getDescription());
+                task.setPriority(details.getPriority());
+                task.setColor(details.getColor());
+                task.setDueDate(details.getDueDate());
+                task.setUpdatedAt(details.getUpdatedAt());
+            });
+        });
+        handlers.put("countBetween", args ->
+                tasks.countBetween((String) args[0], (String) args[1], (Long) args[2], (Long) args[3]));
+        handlers.put("bulkSetPositions", args -> {
+            tasks.setPositions(castPositions(args[0]));
+            return null;
+        });
+        handlers.put("removeById", args -> tasks.remove((String) args[0]) != null);
+        handlers.put("removeByColumnIdIn", args -> {
+            long removed = 0;
+            for (Object columnId : (Collection<?>) args[0]) {
+                for (Task task : tasks.inScope((String) columnId)) {
+                    tasks.remove(task.getId());
+                    removed++;
+                }
+            }
+            return removed;
+        });
+        return handlers;
+    }
+
+    private Map<String, Function<Object[], Object>> columnHandlers() {
+        Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+        handlers.put("findById", args -> Optional.ofNullable(columns.get((String) args[0])));
+        handlers.put("existsById", args -> columns.get((String) args[0]) != null);
+        handlers.put("save", args -> columns.save((BoardColumn) args[0]));
+        handlers.put("saveAll", args -> {
+            List<BoardColumn> saved = new ArrayList<>();
+            for (Object column : (Iterable<?>) args[0]) {
+                saved.add(columns.save((BoardColumn) column));
+            }
+            return saved;
+        });
+        handlers.put("delete", args -> columns.remove(((BoardColumn) args[0]).getId()));
+        handlers.put("deleteById", args -> columns.remove((String) args[0]));
+        handlers.put("findByBoardId", args -> columns.inScope((String) args[0]));
+        handlers.put("findByBoardIdOrderByPosition", args -> columns.inScope((String) args[0]));
+        handlers.put("findLayoutByBoardId", args -> columns.inScope((String) args[0]));
+        handlers.put("findLayoutByIdIn", args -> {
+            List<BoardColumn> found = new ArrayList<>();
+            for (Object id : (Collection<?>) args[0]) {
+                BoardColumn column = columns.get((String) id);
+                if (column != null) {
+                    found.add(column);
+                }
+            }
+            return found;
+        });
+        handlers.put("existsByBoardIdAndName", args -> columns.inScope((String) args[0]).stream()
+                .anyMatch(column -> column.getName().equals(args[1])));
+        handlers.put("removeById", args -> columns.remove((String) args[0]) != null);
+        handlers.put("removeByBoardId", args -> {
+            List<BoardColumn> removed = columns.inScope((String) args[0]);
+            removed.forEach(column -> columns.remove(column.getId()));
+            return (long) removed.size();
+        });
+        handlers.put("countByBoardIdIn", args -> {
+            Map<String, Long> counts = new HashMap<>();
+            ((Collection<?>) args[0]).forEach(boardId -> {
+                int count = columns.inScope((String) boardId).size();
+                if (count > 0) {
+                    counts.put((String) boardId, (long) count);
+                }
+            });
+            return counts;
+        });
+        handlers.put("findLastPosition", args -> columns.lastPosition((String) args[0], (String) args[1]));
+        handlers.put("findPositionAfter", args ->
+                columns.positionAfter((String) args[0], (String) args[1], (Long) args[2]));
+        handlers.put("findPositionBefore", args ->
+                columns.positionBefore((String) args[0], (String) args[1], (Long) args[2]));
+        handlers.put("updatePosition", args -> {
+            BoardColumn column = columns.get((String) args[0]);
+            return column != null
+                    && columns.move(column.getId(), (Long) args[1], column.getBoardId(), (Long) args[2], (c, scope) -> { });
+        });
+        handlers.put("updateDetails", args -> {
+            BoardColumn details = (BoardColumn) args[0];
+            return columns.update(details.getId(), details.getVersion(), column -> {
+                column.setName(details.getName());
+                column.setColor(details.getColor());
+                column.setUpdatedAt(details.getUpdatedAt());
+            });
+        });
+        handlers.put("countBetween", args ->
+                columns.countBetween((String) args[0], (String) args[1], (Long) args[2], (Long) args[3]));
+        handlers.put("bulkSetPositions", args -> {
+            columns.setPositions(castPositions(args[0]));
+            return null;
+        });
+        return handlers;
+    }
+
+    private Map<String, Function<Object[], Object>> boardHandlers() {
+        Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+        handlers.put("findById", args -> Optional.ofNullable(boards.get((String) args[0])));
+        handlers.put("findHeaderById", args -> Optional.ofNullable(boards.get((String) args[0])));
+        handlers.put("existsById", args -> boards.containsKey((String) args[0]));
+        handlers.put("existsByName", args -> boards.values().stream().anyMatch(board -> board.getName().equals(args[0])));
+        handlers.put("save", args -> {
+            Board board = (Board) args[0];
+            if (board.getId() == null) {
+                board.setId(new ObjectId().toHexString());
+            }
+            boards.put(board.getId(), board);
+            return board;
+        });
+        handlers.put("delete", args -> boards.remove(((Board) args[0]).getId()));
+        handlers.put("deleteById", args -> boards.remove((String) args[0]));
+        handlers.put("findAllByOrderByCreatedAtDesc", args -> {
+            List<Board> all = new ArrayList<>(boards.values());
+            all.sort(Comparator.comparing(Board::getCreatedAt).reversed());
+            return all;
+        });
+        return handlers;
+    }
+
+    private Map<String, Function<Object[], Object>> counterHandlers() {
+        Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+        handlers.put("increment", args -> counters.computeIfPresent((String) args[0], (id, last) -> last + (Long) args[1]));
+        handlers.put("seed", args -> {
+            long floor = args[1] != null ? Math.max(0L, (Long) args[1]) : 0L;
+            return counters.merge((String) args[0], floor + (Long) args[2],
+                    (last, seeded) -> Math.max(last, floor) + (Long) args[2]);
+        });
+        handlers.put("raise", args -> counters.computeIfPresent((String) args[0],
+                (id, last) -> Math.max(last, (Long) args[1])));
+        handlers.put("deleteById", args -> counters.remove((String) args[0]));
+        handlers.put("deleteAllById", args -> {
+            ((Iterable<?>) args[0]).forEach(counters::remove);
+            return null;
+        });
+        return handlers;
+    }
+
+    private Map<String, Function<Object[], Object>> statsHandlers() {
+        Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+        handlers.put("findById", args -> Optional.ofNullable(stats.get((String) args[0])));
+        handlers.put("findAllById", args -> {
+            List<BoardStats> found = new ArrayList<>();
+            ((Iterable<?>) args[0]).forEach(id -> {
+                if (stats.containsKey((String) id)) {
+                    found.add(stats.get((String) id));
+                }
+            });
+            return found;
+        });
+        handlers.put("save", args -> {
+            BoardStats board = (BoardStats) args[0];
+            BoardStats stored = stats.get(board.getId());
+            if (!Objects.equals(board.getVersion(), stored != null ? stored.getVersion() : null)) {
+                throw new OptimisticLockingFailureException("Statistics changed: " + board.getId());
+            }
+            board.setVersion(board.getVersion() == null ? 0L : board.getVersion() + 1);
+            stats.put(board.getId(), board);
+            return board;
+        });
+        handlers.put("deleteById", args -> stats.remove((String) args[0]));
+        handlers.put("increment", args -> {
+            BoardStats board = stats.get((String) args[0]);
+            if (board == null) {
+                return false;
+            }
+            ((Map<?, ?>) args[1]).forEach((path, delta) -> {
+                String[] parts = ((String) path).split("\\.", 2);
+                long change = (Long) delta;
+                switch (parts[0]) {
+                    case "columnCount" -> board.setColumnCount(board.getColumnCount() + change);
+                    case "taskCount" -> board.setTaskCount(board.getTaskCount() + change);
+                    case "byColumn" -> board.getByColumn().merge(parts[1], change, Long::sum);
+                    case "byPriority" -> board.getByPriority().merge(parts[1], change, Long::sum);
+                    case "dueByDay" -> board.getDueByDay().merge(parts[1], change, Long::sum);
+                    default -> throw new IllegalArgumentException("Unknown statistic: " + path);
+                }
+            });
+            board.setVersion(board.getVersion() == null ? 1L : board.getVersion() + 1);
+            return true;
+        });
+        return handlers;
+    }
+
+    private Map<String, Function<Object[], Object>> changeHandlers() {
+        Map<String, Function<Object[], Object>> handlers = new HashMap<>();
+        // The fixture publishes no events, so nothing is ever logged
+        handlers.put("removeByBoardId", args -> 0L);
+        return handlers;
+    }
+
+    /**
+     * Stored documents are never handed out: like a database, every read returns
+     * a fresh copy that callers may mutate freely.
+     */
+    private static Task copyOf(Task task) {
+        Task copy = new Task(task.getTitle(), task.getDescription());
+        copy.setId(task.getId());
+        copy.setPosition(task.getPosition());
+        copy.setPriority(task.getPriority());
+        copy.setColor(task.getColor());
+        copy.setDueDate(task.getDueDate());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setColumnId(task.getColumnId());
+        copy.setBoardId(task.getBoardId());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    private static BoardColumn copyOf(BoardColumn column) {
+        BoardColumn copy = new BoardColumn(column.getName(), column.getPosition());
+        copy.setId(column.getId());
+        copy.setColor(column.getColor());
+        copy.setCreatedAt(column.getCreatedAt());
+        copy.setUpdatedAt(column.getUpdatedAt());
+        copy.setBoardId(column.getBoardId());
+        copy.setVersion(column.getVersion());
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> castPositions(Object positions) {
+        return (Map<String, Long>) positions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R proxy(Class<R> repositoryType, Map<String, Function<Object[], Object>> handlers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return repositoryType.getSimpleName() + " (in-memory)";
+                }
+            }
+            Function<Object[], Object> implementation = handlers.get(method.getName());
+            if (implementation == null) {
+                throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+            }
+            if (latencyNanos > 0) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+            lock.lock();
+            try {
+                return implementation.apply(args != null ? args : new Object[0]);
+            } finally {
+                lock.unlock();
+            }
+        };
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] {repositoryType}, handler);
+    }
+
+    /**
+     * Documents by id plus an index ordered by {@code (position, id)} per scope.
+     * Saves and partial updates bump the version like the Mongo mapping does.
+     */
+    private static final class OrderedStore<T> {
+
+        /** Sorts after every real id (hex object ids) at the same position. */
+        private static final String MAX_ID = "\uffff";
+
+        private final Function<T, String> idOf;
+        private final BiConsumer<T, String> assignId;
+        private final Function<T, String> scopeOf;
+        private final Function<T, Long> positionOf;
+        private final BiConsumer<T, Long> assignPosition;
+        private final Function<T, Long> versionOf;
+        private final BiConsumer<T, Long> assignVersion;
+        private final Function<T, T> copyOf;
+        private final Supplier<T> create;
+        private final Comparator<T> order;
+        private final Map<String, T> byId = new HashMap<>();
+        private final Map<String, NavigableSet<T>> byScope = new HashMap<>();
+
+        private OrderedStore(Function<T, String> idOf, BiConsumer<T, String> assignId,
+                             Function<T, String> scopeOf, Function<T, Long> positionOf,
+                             BiConsumer<T, Long> assignPosition, Function<T, Long> versionOf,
+                             BiConsumer<T, Long> assignVersion, Function<T, T> copyOf, Supplier<T> create) {
+            this.idOf = idOf;
+            this.assignId = assignId;
+            this.scopeOf = scopeOf;
+            this.positionOf = positionOf;
+            this.assignPosition = assignPosition;
+            this.versionOf = versionOf;
+            this.assignVersion = assignVersion;
+            this.copyOf = copyOf;
+            this.create = create;
+            this.order = Comparator.comparing(positionOf, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(idOf);
+        }
+
+        T get(String id) {
+            T document = byId.get(id);
+            return document != null ? copyOf.apply(document) : null;
+        }
+
+        T save(T document) {
+            if (idOf.apply(document) == null) {
+                assignId.accept(document, new ObjectId().toHexString());
+            }
+            remove(idOf.apply(document));
+            assignVersion.accept(document, nextVersion(versionOf.apply(document)));
+            T stored = copyOf.apply(document);
+            byId.put(idOf.apply(stored), stored);
+            scopeSet(scopeOf.apply(stored)).add(stored);
+            return document;
+        }
+
+        T remove(String id) {
+            T existing = byId.remove(id);
+            if (existing != null) {
+                NavigableSet<T> scope = byScope.get(scopeOf.apply(existing));
+                if (scope != null) {
+                    scope.remove(existing);
+                }
+            }
+            return existing;
+        }
+
+        List<T> inScope(String scope) {
+            NavigableSet<T> documents = byScope.get(scope);
+            List<T> copies = new ArrayList<>();
+            if (documents != null) {
+                documents.forEach(document -> copies.add(copyOf.apply(document)));
+            }
+            return copies;
+        }
+
+        List<T> matching(Predicate<T> predicate) {
+            List<T> found = new ArrayList<>();
+            for (T document : byId.values()) {
+                if (predicate.test(document)) {
+                    found.add(copyOf.apply(document));
+                }
+            }
+            return found;
+        }
+
+        Long lastPosition(String scope, String excludedId) {
+            NavigableSet<T> documents = byScope.get(scope);
+            if (documents == null) {
+                return null;
+            }
+            for (Iterator<T> it = documents.descendingIterator(); it.hasNext(); ) {
+                T document = it.next();
+                if (!idOf.apply(document).equals(excludedId)) {
+                    return positionOf.apply(document);
+                }
+            }
+            return null;
+        }
+
+        Long positionAfter(String scope, String excludedId, long position) {
+            NavigableSet<T> documents = byScope.get(scope);
+            if (documents == null) {
+                return null;
+            }
+            return firstPosition(documents.tailSet(probe(position, MAX_ID), false), excludedId);
+        }
+
+        Long positionBefore(String scope, String excludedId, long position) {
+            NavigableSet<T> documents = byScope.get(scope);
+            if (documents == null) {
+                return null;
+            }
+            return firstPosition(documents.headSet(probe(position, ""), false).descendingSet(), excludedId);
+        }
+
+        private Long firstPosition(Iterable<T> documents, String excludedId) {
+            for (T document : documents) {
+                if (!idOf.apply(document).equals(excludedId)) {
+                    return positionOf.apply(document);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * A document that sorts at {@code position} among those with that id.
+         */
+        private T probe(long position, String id) {
+            T probe = create.get();
+            assignId.accept(probe, id);
+            assignPosition.accept(probe, position);
+            return probe;
+        }
+
+        long countBetween(String scope, String excludedId, Long previous, Long next) {
+            NavigableSet<T> documents = byScope.get(scope);
+            if (documents == null) {
+                return 0;
+            }
+            long count = 0;
+            for (T document : documents) {
+                Long position = positionOf.apply(document);
+                boolean inside = (previous == null || position > previous) && (next == null || position < next);
+                if (inside && !idOf.apply(document).equals(excludedId)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        boolean move(String id, Long expectedVersion, String newScope, long position, BiConsumer<T, String> assignScope) {
+            return update(id, expectedVersion, document -> {
+                assignScope.accept(document, newScope);
+                assignPosition.accept(document, position);
+            });
+        }
+
+        /**
+         * Applies {@code change} if the stored version still equals {@code expectedVersion}.
+         */
+        boolean update(String id, Long expectedVersion, Consumer<T> change) {
+            T document = byId.get(id);
+            if (document == null || !Objects.equals(versionOf.apply(document), expectedVersion)) {
+                return false;
+            }
+            remove(id);
+            change.accept(document);
+            assignVersion.accept(document, nextVersion(versionOf.apply(document)));
+            byId.put(id, document);
+            scopeSet(scopeOf.apply(document)).add(document);
+            return true;
+        }
+
+        void setPositions(Map<String, Long> positions) {
+            positions.forEach((id, position) -> {
+                T document = remove(id);
+                if (document != null) {
+                    assignPosition.accept(document, position);
+                    assignVersion.accept(document, nextVersion(versionOf.apply(document)));
+                    byId.put(id, document);
+                    scopeSet(scopeOf.apply(document)).add(document);
+                }
+            });
+        }
+
+        private static Long nextVersion(Long version) {
+            return version == null ? 0L : version + 1;
+        }
+
+        private NavigableSet<T> scopeSet(String scope) {
+            return byScope.computeIfAbsent(scope, key -> new TreeSet<>(order));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.kreaker.kjk.benchmark;
+
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.service.VersionConflictException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent moves within one column as the number of writers grows. Each
+ * invocation lets {@code writers} threads move a random task at once; the
+ * {@code moves} and {@code conflicts} counters report how many succeeded and how
+ * many gave up with a 409 after the bounded retries. Every iteration ends by
+ * checking that no two tasks of the column share a position.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MoveContentionBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    private int writers;
+
+    @Param({"100"})
+    private int tasksPerColumn;
+
+    @Param({KanbanFixture.MEMORY})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private ExecutorService writerThreads;
+    private String columnId;
+    private List<String> taskIds;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long moves;
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = KanbanFixture.create(backend, 1, tasksPerColumn);
+        writerThreads = Executors.newFixedThreadPool(writers);
+        columnId = fixture.columnIds.get(0);
+        taskIds = fixture.taskIdsByColumn.get(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void verifyPositionsAreUnique() {
+        Set<Long> positions = new HashSet<>();
+        for (Task task : fixture.taskRepository.findByColumnIdOrderByPosition(columnId)) {
+            if (!positions.add(task.getPosition())) {
+                throw new IllegalStateException("Duplicate position " + task.getPosition() + " in column " + columnId);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        writerThreads.shutdownNow();
+        fixture.close();
+    }
+
+    @Benchmark
+    public void contendedMoves(Outcomes outcomes) throws InterruptedException, ExecutionException {
+        List<Future<Boolean>> moves = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            moves.add(writerThreads.submit(this::moveRandomTask));
+        }
+        for (Future<Boolean> move : moves) {
+            if (move.get()) {
+                outcomes.moves++;
+            } else {
+                outcomes.conflicts++;
+            }
+        }
+    }
+
+    private boolean moveRandomTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String taskId = taskIds.get(random.nextInt(taskIds.size()));
+        try {
+            String anchor = taskIds.get(random.nextInt(taskIds.size()));
+            fixture.taskService.moveTask(taskId, columnId, anchor.equals(taskId) ? null : anchor, null);
+            return true;
+        } catch (VersionConflictException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package dev.kreaker.kjk.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.kreaker.kjk.config.JacksonConfig;
+import dev.kreaker.kjk.model.Board;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding one board snapshot per API format: {@code json} with the application
+ * mapper (Blackbird), {@code json-reflective} without it, {@code smile} and
+ * {@code cbor}, each raw or gzipped the way Tomcat compresses responses. The
+ * bytes on the wire for each combination are reported as the {@code bytes}
+ * secondary result next to the timing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "json-reflective", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"100", "1000"})
+    private int tasksPerColumn;
+
+    @Param({KanbanFixture.MEMORY})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private Board snapshot;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Wire {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = KanbanFixture.create(backend, 3, tasksPerColumn);
+        mapper = mapper(format);
+        gzip = "gzip".equals(compression);
+        snapshot = fixture.boardService.getBoardSnapshot(fixture.boardId).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] encode(Wire wire) throws IOException {
+        byte[] encoded = encode();
+        // Every invocation encodes the same snapshot, so the last size is the size
+        wire.bytes = encoded.length;
+        return encoded;
+    }
+
+    private byte[] encode() throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(snapshot);
+        if (!gzip) {
+            return payload;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(payload);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static ObjectMapper mapper(String format) {
+        JacksonConfig config = new JacksonConfig();
+        return switch (format) {
+            case "json" -> config.objectMapper();
+            case "json-reflective" -> new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+            case "smile" -> config.smileHttpMessageConverter().getObjectMapper();
+            case "cbor" -> config.cborHttpMessageConverter().getObjectMapper();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package dev.kreaker.kjk.benchmark;
+
+import dev.kreaker.kjk.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of single task writes as the column grows. With sparse positions the
+ * move benchmarks should stay flat across {@code tasksPerColumn}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int tasksPerColumn;
+
+    @Param({KanbanFixture.MEMORY, KanbanFixture.EMBEDDED})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = KanbanFixture.create(backend, 3, tasksPerColumn);
+        random = new Random(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Task moveTaskWithinColumn() {
+        List<String> taskIds = fixture.taskIdsByColumn.get(0);
+        String taskId = taskIds.get(random.nextInt(taskIds.size()));
+        return fixture.taskService.moveTask(taskId, fixture.columnIds.get(0), anchor(taskIds, taskId), null);
+    }
+
+    @Benchmark
+    public Task moveTaskAcrossColumns() {
+        List<String> first = fixture.taskIdsByColumn.get(1);
+        List<String> second = fixture.taskIdsByColumn.get(2);
+        boolean forward = first.size() >= second.size();
+        List<String> from = forward ? first : second;
+        List<String> to = forward ? second : first;
+
+        int index = random.nextInt(from.size());
+        String taskId = from.get(index);
+        from.set(index, from.get(from.size() - 1));
+        from.remove(from.size() - 1);
+        to.add(taskId);
+
+        String targetColumnId = fixture.columnIds.get(forward ? 2 : 1);
+        return fixture.taskService.moveTask(taskId, targetColumnId, anchor(to, taskId), null);
+    }
+
+    /**
+     * A random task to land after; {@code null} (append) when the draw is the moved task itself.
+     */
+    private String anchor(List<String> taskIds, String taskId) {
+        String anchor = taskIds.get(random.nextInt(taskIds.size()));
+        return anchor.equals(taskId) ? null : anchor;
+    }
+
+    @Benchmark
+    public void createThenDeleteTask() {
+        Task task = fixture.taskService.createTask(fixture.columnIds.get(0), new Task("Benchmark", "Short-lived task"));
+        fixture.taskService.deleteTask(task.getId());
+    }
+}
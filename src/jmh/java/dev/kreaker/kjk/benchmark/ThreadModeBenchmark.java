@@ -0,0 +1,95 @@
+package dev.kreaker.kjk.benchmark;
+
+import dev.kreaker.kjk.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread versus virtual-thread request handling. {@code moveBurst} keeps
+ * {@code inFlight} moves outstanding at once, served either by a fixed pool sized
+ * like Tomcat's default worker pool or by one virtual thread per request; in the
+ * virtual mode {@code moveTask} also forks its two lookups. The in-memory backend
+ * only shows a difference with a simulated round trip, e.g.
+ * {@code -Dkjk.bench.memory-latency-micros=500}, or with {@code backend=mongo}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"200", "2000"})
+    private int inFlight;
+
+    @Param({KanbanFixture.MEMORY})
+    private String backend;
+
+    private KanbanFixture fixture;
+    private ExecutorService requestThreads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(mode);
+        fixture = KanbanFixture.create(backend, 3, 1000, virtual);
+        requestThreads = virtual
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        fixture.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int moveBurst() throws InterruptedException, ExecutionException {
+        List<Future<Task>> moves = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            moves.add(requestThreads.submit(this::moveWithinColumn));
+        }
+        int completed = 0;
+        for (Future<Task> move : moves) {
+            move.get();
+            completed++;
+        }
+        return completed;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Task singleMove() {
+        return moveWithinColumn();
+    }
+
+    private Task moveWithinColumn() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(fixture.columnIds.size());
+        List<String> taskIds = fixture.taskIdsByColumn.get(column);
+        String taskId = taskIds.get(random.nextInt(taskIds.size()));
+        String anchor = taskIds.get(random.nextInt(taskIds.size()));
+        return fixture.taskService.moveTask(taskId, fixture.columnIds.get(column),
+                anchor.equals(taskId) ? null : anchor, null);
+    }
+}
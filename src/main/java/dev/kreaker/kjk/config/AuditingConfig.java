@@ -0,0 +1,15 @@
+package dev.kreaker.kjk.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+
+/**
+ * Enables Mongo auditing, which stamps the {@code @LastModifiedDate} fields on
+ * every save. Partial updates set {@code updatedAt} themselves.
+ */
+@Configuration
+@EnableMongoAuditing
+@Profile("!embedded")
+public class AuditingConfig {
+}
@@ -0,0 +1,26 @@
+package dev.kreaker.kjk.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache configuration for board and column metadata.
+ * The caches themselves are Caffeine caches declared in application.yml
+ * (size- and TTL-bounded, with statistics recorded for the cache metrics).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Board list as shown on the index pages. */
+    public static final String BOARDS = "boards";
+
+    /** Single boards by id. */
+    public static final String BOARD = "board";
+
+    /** Ordered column layout by board id. */
+    public static final String BOARD_COLUMNS = "boardColumns";
+
+    /** Single columns by id. */
+    public static final String COLUMN = "column";
+}
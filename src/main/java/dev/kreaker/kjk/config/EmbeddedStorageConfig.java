@@ -0,0 +1,96 @@
+package dev.kreaker.kjk.config;
+
+import dev.kreaker.kjk.embedded.EmbeddedRepositories;
+import dev.kreaker.kjk.embedded.EmbeddedStore;
+import dev.kreaker.kjk.repository.BoardChangeRepository;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.BoardRepository;
+import dev.kreaker.kjk.repository.BoardStatsRepository;
+import dev.kreaker.kjk.repository.PositionCounterRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Replaces MongoDB with the embedded store under the {@code embedded} profile:
+ * the repositories are served from memory, every write is appended to an
+ * operation log in {@code kjk.embedded.directory} before it is acknowledged
+ * (fsynced in batches unless {@code kjk.embedded.sync=false}), and the contents
+ * are snapshotted periodically so the log can be truncated.
+ */
+@Configuration
+@Profile("embedded")
+public class EmbeddedStorageConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedStorageConfig.class);
+
+    private final ObjectProvider<EmbeddedStore> store;
+
+    @Autowired
+    public EmbeddedStorageConfig(ObjectProvider<EmbeddedStore> store) {
+        this.store = store;
+    }
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedStore embeddedStore(@Value("${kjk.embedded.directory:./data}") Path directory,
+                                       @Value("${kjk.embedded.sync:true}") boolean sync,
+                                       MeterRegistry meterRegistry) throws IOException {
+        return EmbeddedStore.open(directory, sync, meterRegistry);
+    }
+
+    @Bean
+    public EmbeddedRepositories embeddedRepositories(EmbeddedStore embeddedStore) {
+        return new EmbeddedRepositories(embeddedStore);
+    }
+
+    @Bean
+    public TaskRepository taskRepository(EmbeddedRepositories repositories) {
+        return repositories.taskRepository();
+    }
+
+    @Bean
+    public BoardColumnRepository boardColumnRepository(EmbeddedRepositories repositories) {
+        return repositories.columnRepository();
+    }
+
+    @Bean
+    public BoardRepository boardRepository(EmbeddedRepositories repositories) {
+        return repositories.boardRepository();
+    }
+
+    @Bean
+    public PositionCounterRepository positionCounterRepository(EmbeddedRepositories repositories) {
+        return repositories.counterRepository();
+    }
+
+    @Bean
+    public BoardStatsRepository boardStatsRepository(EmbeddedRepositories repositories) {
+        return repositories.statsRepository();
+    }
+
+    @Bean
+    public BoardChangeRepository boardChangeRepository(EmbeddedRepositories repositories) {
+        return repositories.changeRepository();
+    }
+
+    @Scheduled(initialDelayString = "${kjk.embedded.snapshot-interval:PT5M}",
+               fixedDelayString = "${kjk.embedded.snapshot-interval:PT5M}")
+    public void snapshot() {
+        try {
+            store.getObject().snapshot();
+        } catch (IOException e) {
+            log.warn("Snapshot of the embedded store failed", e);
+        }
+    }
+}
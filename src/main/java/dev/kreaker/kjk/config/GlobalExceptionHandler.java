@@ -1,5 +1,7 @@
 package dev.kreaker.kjk.config;
 
+import dev.kreaker.kjk.service.VersionConflictException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -25,7 +27,7 @@ public class GlobalExceptionHandler {
         errorResponse.put("timestamp", LocalDateTime.now());
         errorResponse.put("status", HttpStatus.UNSUPPORTED_MEDIA_TYPE.value());
         errorResponse.put("error", "Unsupported Media Type");
-        errorResponse.put("message", "Content-Type '" + ex.getContentType() + "' is not supported. Please use 'application/json'");
+        errorResponse.put("message", "Content-Type '" + ex.getContentType() + "' is not supported. Please use 'application/json', 'application/x-jackson-smile' or 'application/cbor'");
         errorResponse.put("path", request.getDescription(false).replace("uri=", ""));
         
         return new ResponseEntity<>(errorResponse, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
@@ -68,6 +70,35 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleVersionConflict(
+            VersionConflictException ex, WebRequest request) {
+        
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.CONFLICT.value());
+        errorResponse.put("error", "Conflict");
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("current", ex.getCurrent());
+        errorResponse.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.CONFLICT.value());
+        errorResponse.put("error", "Conflict");
+        errorResponse.put("message", "The resource was modified concurrently, reload it and try again");
+        errorResponse.put("path", request.getDescription(false).replace("uri=", ""));
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(
             Exception ex, WebRequest request) {
@@ -0,0 +1,84 @@
+package dev.kreaker.kjk.config;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Ensures the indexes declared on the document classes exist at startup and
+ * reports indexes that are missing from, or not declared by, the mapping.
+ * Runs before the data migrations so they can use the indexes.
+ */
+@Component
+@Order(0)
+@Profile("!embedded")
+public class IndexBootstrap implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexBootstrap.class);
+
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(Board.class, BoardColumn.class, Task.class,
+            BoardChange.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Autowired
+    public IndexBootstrap(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+
+        for (Class<?> documentType : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(documentType);
+            String collection = mongoTemplate.getCollectionName(documentType);
+
+            Set<String> existing = new TreeSet<>();
+            for (IndexInfo info : indexOps.getIndexInfo()) {
+                existing.add(info.getName());
+            }
+
+            Set<String> declared = new TreeSet<>();
+            declared.add("_id_");
+            for (IndexDefinition definition : resolver.resolveIndexFor(documentType)) {
+                String name = String.valueOf(definition.getIndexOptions().get("name"));
+                declared.add(name);
+                if (existing.contains(name)) {
+                    continue;
+                }
+                log.info("Creating missing index {}.{}", collection, name);
+                try {
+                    indexOps.ensureIndex(definition);
+                } catch (DataAccessException e) {
+                    log.error("Unable to create index {}.{}: {}", collection, name, e.getMessage());
+                }
+            }
+
+            existing.removeAll(declared);
+            if (!existing.isEmpty()) {
+                log.warn("Collection {} has indexes not declared by the mapping: {}", collection, existing);
+            }
+        }
+    }
+}
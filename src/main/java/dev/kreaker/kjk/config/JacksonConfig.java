@@ -2,15 +2,25 @@ package dev.kreaker.kjk.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 /**
  * Jackson configuration for proper JSON handling.
  * Configures ObjectMapper with JavaTimeModule for LocalDateTime serialization
  * and disables timestamp serialization to use ISO format.
+ * <p>
+ * Besides JSON the API speaks Smile ({@code application/x-jackson-smile}) and
+ * CBOR ({@code application/cbor}), chosen by the request's {@code Accept} and
+ * {@code Content-Type} headers. The binary converters replace Spring's defaults
+ * in place, so JSON stays first and remains the answer to {@code Accept: *}{@code /*}.
  */
 @Configuration
 public class JacksonConfig {
@@ -19,20 +29,43 @@ public class JacksonConfig {
      * Configures ObjectMapper with proper settings for JSON handling.
      * - Registers JavaTimeModule for LocalDateTime support
      * - Disables timestamp serialization to use ISO format
+     * - Registers BlackbirdModule to replace reflective property access with
+     *   generated lambdas
      * 
      * @return configured ObjectMapper instance
      */
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
-        
+        return configure(new ObjectMapper());
+    }
+
+    /**
+     * Smile encoding of the same object model, for {@code application/x-jackson-smile}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(configure(new SmileMapper()));
+    }
+
+    /**
+     * CBOR encoding of the same object model, for {@code application/cbor}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(configure(new CBORMapper()));
+    }
+
+    private static ObjectMapper configure(ObjectMapper mapper) {
         // Register JavaTimeModule for LocalDateTime serialization
         mapper.registerModule(new JavaTimeModule());
         
         // Disable timestamp serialization to use ISO format
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         
+        // Generated accessors instead of reflection for (de)serialization
+        mapper.registerModule(new BlackbirdModule());
+        
         return mapper;
     }
-}
\ No newline at end of file
+}
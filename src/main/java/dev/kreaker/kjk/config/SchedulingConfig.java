@@ -0,0 +1,13 @@
+package dev.kreaker.kjk.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (event stream heartbeats and
+ * periodic maintenance).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,63 @@
+package dev.kreaker.kjk.controller;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.service.BoardArchive;
+import dev.kreaker.kjk.service.BoardService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Board archives for backups and migrations; see {@link BoardArchive} for the
+ * format. Exports are written on the request thread rather than as a
+ * {@code StreamingResponseBody}, so a large board is not cut off by the async
+ * request timeout.
+ */
+@RestController
+@RequestMapping("/api/boards")
+@CrossOrigin(origins = "*")
+public class BoardArchiveController {
+    
+    private static final String ARCHIVE_CONTENT_TYPE = "application/gzip";
+    
+    private final BoardArchive boardArchive;
+    private final BoardService boardService;
+    
+    @Autowired
+    public BoardArchiveController(BoardArchive boardArchive, BoardService boardService) {
+        this.boardArchive = boardArchive;
+        this.boardService = boardService;
+    }
+    
+    @GetMapping("/{id}/export")
+    public void exportBoard(@PathVariable String id, HttpServletResponse response) throws IOException {
+        if (!boardService.boardExists(id)) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        response.setContentType(ARCHIVE_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("board-" + id + ".ndjson.gz").build().toString());
+        boardArchive.export(id, response.getOutputStream());
+    }
+    
+    @PostMapping("/import")
+    public ResponseEntity<?> importBoard(InputStream body, @RequestParam(required = false) String name) {
+        try {
+            Board board = boardArchive.importArchive(body, name);
+            return ResponseEntity.status(HttpStatus.CREATED).body(board);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest()
+                    .body(new BoardController.ErrorResponse("Unable to read archive: " + e.getMessage()));
+        }
+    }
+}
@@ -2,17 +2,22 @@ package dev.kreaker.kjk.controller;
 
 import dev.kreaker.kjk.model.BoardColumn;
 import dev.kreaker.kjk.service.BoardColumnService;
+import dev.kreaker.kjk.service.ResourceStamps;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class BoardColumnController {
     
     private final BoardColumnService columnService;
@@ -23,16 +28,14 @@ public class BoardColumnController {
     }
     
     @GetMapping("/boards/{boardId}/columns")
-    public ResponseEntity<List<BoardColumn>> getColumnsByBoardId(@PathVariable String boardId) {
-        List<BoardColumn> columns = columnService.getColumnsByBoardId(boardId);
-        return ResponseEntity.ok(columns);
+    public ResponseEntity<List<BoardColumn>> getColumnsByBoardId(@PathVariable String boardId, WebRequest request) {
+        return ConditionalGet.respondFromBody(request, Optional.of(columnService.getColumnsByBoardId(boardId)),
+                ResourceStamps::ofColumns);
     }
     
     @GetMapping("/columns/{id}")
-    public ResponseEntity<BoardColumn> getColumnById(@PathVariable String id) {
-        return columnService.getColumnById(id)
-                .map(column -> ResponseEntity.ok(column))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<BoardColumn> getColumnById(@PathVariable String id, WebRequest request) {
+        return ConditionalGet.respondFromBody(request, columnService.getColumnById(id), ResourceStamps::of);
     }
     
     @PostMapping("/boards/{boardId}/columns")
@@ -68,7 +71,8 @@ public class BoardColumnController {
     @PutMapping("/columns/{id}/move")
     public ResponseEntity<?> moveColumn(@PathVariable String id, @RequestBody MoveColumnRequest request) {
         try {
-            columnService.moveColumn(id, request.getNewPosition());
+            request.requireAnchors();
+            columnService.moveColumn(id, request.getAfterColumnId(), request.getBeforeColumnId());
             return ResponseEntity.ok(new BoardController.SuccessResponse("Column moved successfully"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
@@ -76,15 +80,47 @@ public class BoardColumnController {
     }
     
     // Request DTOs
+    /**
+     * Target of a move: the column to land after or before (neither appends to the
+     * end of the board).
+     */
     public static class MoveColumnRequest {
-        private int newPosition;
+        private String afterColumnId;
+        private String beforeColumnId;
+        private Integer newPosition;
         
-        public int getNewPosition() {
+        public String getAfterColumnId() {
+            return afterColumnId;
+        }
+        
+        public void setAfterColumnId(String afterColumnId) {
+            this.afterColumnId = afterColumnId;
+        }
+        
+        public String getBeforeColumnId() {
+            return beforeColumnId;
+        }
+        
+        public void setBeforeColumnId(String beforeColumnId) {
+            this.beforeColumnId = beforeColumnId;
+        }
+        
+        public Integer getNewPosition() {
             return newPosition;
         }
         
-        public void setNewPosition(int newPosition) {
+        public void setNewPosition(Integer newPosition) {
             this.newPosition = newPosition;
         }
+        
+        /**
+         * Rejects the index-based {@code newPosition} of the old API, which would
+         * otherwise be ignored and turn the move into an append.
+         */
+        public void requireAnchors() {
+            if (newPosition != null) {
+                throw new IllegalArgumentException("newPosition is no longer supported; give afterColumnId or beforeColumnId instead");
+            }
+        }
     }
 }
\ No newline at end of file
@@ -1,81 +1,108 @@
 package dev.kreaker.kjk.controller;
 
+import dev.kreaker.kjk.dto.BoardChanges;
+import dev.kreaker.kjk.dto.BoardStatsView;
+import dev.kreaker.kjk.dto.BoardSummary;
 import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.service.BoardChangeLog;
 import dev.kreaker.kjk.service.BoardService;
+import dev.kreaker.kjk.service.BoardStatsService;
+import dev.kreaker.kjk.service.ResourceStamps;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/boards")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class BoardController {
     
     private final BoardService boardService;
+    private final BoardStatsService boardStatsService;
+    private final BoardChangeLog changeLog;
     
     @Autowired
-    public BoardController(BoardService boardService) {
+    public BoardController(BoardService boardService, BoardStatsService boardStatsService,
+                           BoardChangeLog changeLog) {
         this.boardService = boardService;
+        this.boardStatsService = boardStatsService;
+        this.changeLog = changeLog;
     }
     
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Board>> getAllBoards() {
-        List<Board> boards = boardService.getAllBoards();
+    @GetMapping
+    public ResponseEntity<List<BoardSummary>> getAllBoards() {
+        List<BoardSummary> boards = boardService.getBoardSummaries();
         return ResponseEntity.ok(boards);
     }
     
-    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Board> getBoardById(@PathVariable String id) {
-        return boardService.getBoardById(id)
+    @GetMapping("/{id}")
+    public ResponseEntity<Board> getBoardById(@PathVariable String id, WebRequest request) {
+        return ConditionalGet.respondFromBody(request, boardService.getBoardById(id), ResourceStamps::of);
+    }
+    
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<Board> getBoardSnapshot(@PathVariable String id) {
+        return boardService.getBoardSnapshot(id)
                 .map(board -> ResponseEntity.ok(board))
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<BoardStatsView> getBoardStats(@PathVariable String id) {
+        return boardStatsService.getStats(id)
+                .map(stats -> ResponseEntity.ok(stats))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{id}/changes")
+    public ResponseEntity<?> getBoardChanges(@PathVariable String id, @RequestParam(required = false) String since) {
+        try {
+            Optional<BoardChanges> changes = changeLog.getChanges(id, since);
+            return changes.<ResponseEntity<?>>map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @PostMapping
     public ResponseEntity<?> createBoard(@Valid @RequestBody Board board) {
         try {
             Board createdBoard = boardService.createBoard(board);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdBoard);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("Failed to create board: " + e.getMessage()));
         }
     }
     
-    @PutMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PutMapping("/{id}")
     public ResponseEntity<?> updateBoard(@PathVariable String id, @Valid @RequestBody Board boardDetails) {
         try {
             Board updatedBoard = boardService.updateBoard(id, boardDetails);
             return ResponseEntity.ok(updatedBoard);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("Failed to update board: " + e.getMessage()));
         }
     }
     
-    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteBoard(@PathVariable String id) {
         try {
             boardService.deleteBoard(id);
             return ResponseEntity.ok(new SuccessResponse("Board deleted successfully"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ErrorResponse("Failed to delete board: " + e.getMessage()));
         }
     }
     
-    @GetMapping(value = "/{id}/exists", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping("/{id}/exists")
     public ResponseEntity<Boolean> boardExists(@PathVariable String id) {
         boolean exists = boardService.boardExists(id);
         return ResponseEntity.ok(exists);
@@ -0,0 +1,37 @@
+package dev.kreaker.kjk.controller;
+
+import dev.kreaker.kjk.event.BoardEventBroadcaster;
+import dev.kreaker.kjk.service.BoardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class BoardEventController {
+    
+    private final BoardEventBroadcaster broadcaster;
+    private final BoardService boardService;
+    
+    @Autowired
+    public BoardEventController(BoardEventBroadcaster broadcaster, BoardService boardService) {
+        this.broadcaster = broadcaster;
+        this.boardService = boardService;
+    }
+    
+    @GetMapping(value = "/boards/{boardId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBoardEvents(@PathVariable String boardId) {
+        if (!boardService.boardExists(boardId)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(broadcaster.subscribe(boardId));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
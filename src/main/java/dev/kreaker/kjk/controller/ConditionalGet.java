@@ -0,0 +1,170 @@
+package dev.kreaker.kjk.controller;
+
+import dev.kreaker.kjk.dto.ResourceStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GETs from a {@link ResourceStamp}: a request whose
+ * {@code If-None-Match} (or {@code If-Modified-Since}) still matches the stamp gets
+ * 304 without the resource being loaded. Otherwise the resource is loaded and its
+ * {@code ETag} and {@code Last-Modified} headers are computed from the body being
+ * sent, so a tag always describes the representation it comes with even when a
+ * write lands between the stamp and the body. Responses are marked
+ * {@code no-cache}, so browsers and the CDN may keep them but revalidate before
+ * every use.
+ * <p>
+ * The same resource is served as JSON, Smile or CBOR depending on {@code Accept},
+ * so responses carry {@code Vary: Accept} and the entity tag names the
+ * representation: the binary formats append {@code -smile} or {@code -cbor} to
+ * the stamp, JSON keeps it as is.
+ */
+public final class ConditionalGet {
+    
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+    
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    
+    /**
+     * Formats the API answers in, in the converters' order of preference.
+     */
+    private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, SMILE,
+            MediaType.APPLICATION_CBOR);
+    
+    private ConditionalGet() {
+    }
+    
+    public static <T> ResponseEntity<T> respond(WebRequest request, Optional<ResourceStamp> stamp,
+                                                Supplier<Optional<T>> body, Function<T, ResourceStamp> stampOf) {
+        if (stamp.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (isNotModified(request, stamp.get())) {
+            return notModified();
+        }
+        return body.get().map(found -> ok(request, found, stampOf.apply(found)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceStamp stamp, Supplier<T> body,
+                                                Function<T, ResourceStamp> stampOf) {
+        if (isNotModified(request, stamp)) {
+            return notModified();
+        }
+        T found = body.get();
+        return ok(request, found, stampOf.apply(found));
+    }
+    
+    /**
+     * For bodies that do not carry what their stamp is computed from: the headers
+     * come from {@code stamp}, read before the body.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceStamp stamp, Supplier<T> body) {
+        return respond(request, stamp, body, found -> stamp);
+    }
+    
+    /**
+     * For bodies served from a cache, where loading the body costs no more than
+     * reading a stamp: the 304 decision and the headers both come from the body,
+     * so a stale entry is answered with its own, equally stale tag.
+     */
+    public static <T> ResponseEntity<T> respondFromBody(WebRequest request, Optional<T> body,
+                                                        Function<T, ResourceStamp> stampOf) {
+        return body.map(found -> {
+            ResourceStamp stamp = stampOf.apply(found);
+            return isNotModified(request, stamp) ? ConditionalGet.<T>notModified() : ok(request, found, stamp);
+        }).orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Reactive variant: {@code body} is only subscribed to when the client's copy is
+     * stale, and an empty stamp or body answers 404.
+     */
+    public static <T> Mono<ResponseEntity<T>> respond(WebRequest request, Mono<ResourceStamp> stamp,
+                                                      Supplier<Mono<T>> body, Function<T, ResourceStamp> stampOf) {
+        return stamp
+                .flatMap(current -> isNotModified(request, current)
+                        ? Mono.just(ConditionalGet.<T>notModified())
+                        : body.get().map(found -> ok(request, found, stampOf.apply(found))))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Reactive variant of {@link #respond(WebRequest, ResourceStamp, Supplier)}.
+     */
+    public static <T> Mono<ResponseEntity<T>> respond(WebRequest request, Mono<ResourceStamp> stamp,
+                                                      Supplier<Mono<T>> body) {
+        return stamp.flatMap(current -> respond(request, Mono.just(current), body, found -> current))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    private static boolean isNotModified(WebRequest request, ResourceStamp stamp) {
+        Instant lastModified = stamp.getLastModified();
+        String etag = etag(request, stamp);
+        return lastModified != null
+                ? request.checkNotModified(etag, lastModified.toEpochMilli())
+                : request.checkNotModified(etag);
+    }
+    
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+    
+    private static <T> ResponseEntity<T> ok(WebRequest request, T body, ResourceStamp stamp) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag(request, stamp));
+        if (stamp.getLastModified() != null) {
+            response.lastModified(stamp.getLastModified());
+        }
+        return response.body(body);
+    }
+    
+    private static String etag(WebRequest request, ResourceStamp stamp) {
+        MediaType representation = representation(request);
+        return representation.equals(MediaType.APPLICATION_JSON)
+                ? stamp.getEtag()
+                : stamp.getEtag() + '-' + (representation.equals(SMILE) ? "smile" : "cbor");
+    }
+    
+    /**
+     * The format the message converters will pick for this request: the first of
+     * {@link #REPRESENTATIONS} acceptable to the most preferred {@code Accept}
+     * entry, JSON when the header is absent or unparseable.
+     */
+    private static MediaType representation(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType acceptable : accepted) {
+            for (MediaType representation : REPRESENTATIONS) {
+                if (acceptable.getQualityValue() > 0 && acceptable.isCompatibleWith(representation)) {
+                    return representation;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,35 @@
+package dev.kreaker.kjk.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of objects as newline-delimited JSON. The stream is opened on
+ * the response thread and consumed element by element, so heap usage does not
+ * depend on the number of elements.
+ */
+final class NdjsonStreaming {
+    
+    private NdjsonStreaming() {
+    }
+    
+    static StreamingResponseBody body(ObjectMapper objectMapper, Supplier<? extends Stream<?>> source) {
+        return outputStream -> {
+            try (Stream<?> items = source.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                Iterator<?> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    objectMapper.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+            }
+        };
+    }
+}
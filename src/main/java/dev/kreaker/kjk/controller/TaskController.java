@@ -1,12 +1,22 @@
 package dev.kreaker.kjk.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.kreaker.kjk.dto.TaskBatchOperation;
+import dev.kreaker.kjk.dto.TaskBatchResult;
+import dev.kreaker.kjk.dto.TaskCard;
 import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.service.ResourceStamps;
+import dev.kreaker.kjk.service.TaskBatchService;
 import dev.kreaker.kjk.service.TaskService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,32 +24,65 @@ import java.util.List;
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class TaskController {
     
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final ObjectMapper objectMapper;
+    private final ResourceStamps resourceStamps;
     
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService, ObjectMapper objectMapper,
+                          ResourceStamps resourceStamps) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.objectMapper = objectMapper;
+        this.resourceStamps = resourceStamps;
     }
     
     @GetMapping("/columns/{columnId}/tasks")
-    public ResponseEntity<List<Task>> getTasksByColumnId(@PathVariable String columnId) {
-        List<Task> tasks = taskService.getTasksByColumnId(columnId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> getTasksByColumnId(
+            @PathVariable String columnId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (limit == null && after == null) {
+            return ConditionalGet.respond(request, resourceStamps.columnTasks(columnId),
+                    () -> taskService.getTasksByColumnId(columnId), ResourceStamps::ofTasks);
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksByColumnId(columnId, after, pageLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/columns/{columnId}/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksByColumnId(@PathVariable String columnId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonStreaming.body(objectMapper, () -> taskService.streamTasksByColumnId(columnId)));
     }
     
     @GetMapping("/boards/{boardId}/tasks")
-    public ResponseEntity<List<Task>> getTasksByBoardId(@PathVariable String boardId) {
-        List<Task> tasks = taskService.getTasksByBoardId(boardId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<List<Task>> getTasksByBoardId(@PathVariable String boardId, WebRequest request) {
+        return ConditionalGet.respond(request, resourceStamps.boardTasks(boardId),
+                () -> taskService.getTasksByBoardId(boardId), ResourceStamps::ofTasks);
+    }
+    
+    @GetMapping("/boards/{boardId}/cards")
+    public ResponseEntity<List<TaskCard>> getCardsByBoardId(@PathVariable String boardId, WebRequest request) {
+        return ConditionalGet.respond(request, resourceStamps.boardTasks(boardId),
+                () -> taskService.getBoardCards(boardId));
     }
     
     @GetMapping("/tasks/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable String id) {
-        return taskService.getTaskById(id)
-                .map(task -> ResponseEntity.ok(task))
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Task> getTaskById(@PathVariable String id, WebRequest request) {
+        return ConditionalGet.respond(request, resourceStamps.task(id), () -> taskService.getTaskById(id),
+                ResourceStamps::of);
     }
     
     @PostMapping("/columns/{columnId}/tasks")
@@ -75,25 +118,87 @@ public class TaskController {
     @PutMapping("/tasks/{id}/move")
     public ResponseEntity<?> moveTask(@PathVariable String id, @RequestBody MoveTaskRequest request) {
         try {
-            Task movedTask = taskService.moveTask(id, request.getNewColumnId(), request.getNewPosition());
+            request.requireAnchors();
+            Task movedTask = taskService.moveTask(id, request.getNewColumnId(), request.getAfterTaskId(),
+                    request.getBeforeTaskId());
             return ResponseEntity.ok(movedTask);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
         }
     }
     
+    @PostMapping("/tasks/batch")
+    public ResponseEntity<?> applyBatch(@RequestBody TaskBatchRequest request) {
+        try {
+            List<TaskBatchResult> results = taskBatchService.apply(request.getOperations());
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        }
+    }
+    
     @GetMapping("/tasks/priority/{priority}")
-    public ResponseEntity<List<Task>> getTasksByPriority(@PathVariable Task.Priority priority) {
-        List<Task> tasks = taskService.getTasksByPriority(priority);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> getTasksByPriority(
+            @PathVariable Task.Priority priority,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        if (limit == null && after == null) {
+            List<Task> tasks = taskService.getTasksByPriority(priority);
+            return ResponseEntity.ok(tasks);
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksByPriority(priority, after, pageLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/tasks/priority/{priority}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksByPriority(@PathVariable Task.Priority priority) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonStreaming.body(objectMapper, () -> taskService.streamTasksByPriority(priority)));
     }
     
     @GetMapping("/tasks/due")
-    public ResponseEntity<List<Task>> getTasksDueBetween(
+    public ResponseEntity<?> getTasksDueBetween(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        if (limit == null && after == null) {
+            List<Task> tasks = taskService.getTasksDueBetween(start, end);
+            return ResponseEntity.ok(tasks);
+        }
+        try {
+            return ResponseEntity.ok(taskService.getTasksDueBetween(start, end, after, pageLimit(limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTasks(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Task.Priority priority,
+            @RequestParam(required = false) LocalDateTime dueBefore,
+            @RequestParam(required = false) String boardId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(taskService.searchTasks(q, priority, dueBefore, boardId, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @GetMapping(value = "/tasks/due", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTasksDueBetween(
             @RequestParam LocalDateTime start,
             @RequestParam LocalDateTime end) {
-        List<Task> tasks = taskService.getTasksDueBetween(start, end);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(NdjsonStreaming.body(objectMapper, () -> taskService.streamTasksDueBetween(start, end)));
     }
     
     @GetMapping("/boards/{boardId}/tasks/count")
@@ -102,10 +207,20 @@ public class TaskController {
         return ResponseEntity.ok(count);
     }
     
+    private int pageLimit(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+    
     // Request DTOs
+    /**
+     * Target of a move: the column, and the task to land after or before (neither
+     * appends to the end of the column).
+     */
     public static class MoveTaskRequest {
         private String newColumnId;
-        private int newPosition;
+        private String afterTaskId;
+        private String beforeTaskId;
+        private Integer newPosition;
         
         public String getNewColumnId() {
             return newColumnId;
@@ -115,12 +230,50 @@ public class TaskController {
             this.newColumnId = newColumnId;
         }
         
-        public int getNewPosition() {
+        public String getAfterTaskId() {
+            return afterTaskId;
+        }
+        
+        public void setAfterTaskId(String afterTaskId) {
+            this.afterTaskId = afterTaskId;
+        }
+        
+        public String getBeforeTaskId() {
+            return beforeTaskId;
+        }
+        
+        public void setBeforeTaskId(String beforeTaskId) {
+            this.beforeTaskId = beforeTaskId;
+        }
+        
+        public Integer getNewPosition() {
             return newPosition;
         }
         
-        public void setNewPosition(int newPosition) {
+        public void setNewPosition(Integer newPosition) {
             this.newPosition = newPosition;
         }
+        
+        /**
+         * Rejects the index-based {@code newPosition} of the old API, which would
+         * otherwise be ignored and turn the move into an append.
+         */
+        public void requireAnchors() {
+            if (newPosition != null) {
+                throw new IllegalArgumentException("newPosition is no longer supported; give afterTaskId or beforeTaskId instead");
+            }
+        }
+    }
+    
+    public static class TaskBatchRequest {
+        private List<TaskBatchOperation> operations;
+        
+        public List<TaskBatchOperation> getOperations() {
+            return operations;
+        }
+        
+        public void setOperations(List<TaskBatchOperation> operations) {
+            this.operations = operations;
+        }
     }
-}
\ No newline at end of file
+}
@@ -19,13 +19,13 @@ public class WebController {
     
     @GetMapping("/")
     public String index(Model model) {
-        model.addAttribute("boards", boardService.getAllBoards());
+        model.addAttribute("boards", boardService.getBoardSummaries());
         return "index";
     }
     
     @GetMapping("/boards")
     public String boards(Model model) {
-        model.addAttribute("boards", boardService.getAllBoards());
+        model.addAttribute("boards", boardService.getBoardSummaries());
         return "boards";
     }
     
@@ -0,0 +1,80 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+
+import java.util.List;
+
+/**
+ * What changed on a board after a change cursor: the current state of every
+ * created, updated or moved column and task, and the ids of the deleted ones.
+ * Tasks of a deleted column are not listed; they went with the column.
+ * <p>
+ * When {@code reset} is set the cursor is too old (or absent) to be served from
+ * the log, and the client has to load a snapshot before polling from
+ * {@code cursor}.
+ */
+public class BoardChanges {
+    
+    private final String cursor;
+    private final boolean reset;
+    private final boolean more;
+    private final List<BoardColumn> columns;
+    private final List<Task> tasks;
+    private final List<String> deletedColumnIds;
+    private final List<String> deletedTaskIds;
+    
+    public BoardChanges(String cursor, boolean more, List<BoardColumn> columns, List<Task> tasks,
+                        List<String> deletedColumnIds, List<String> deletedTaskIds) {
+        this(cursor, false, more, columns, tasks, deletedColumnIds, deletedTaskIds);
+    }
+    
+    private BoardChanges(String cursor, boolean reset, boolean more, List<BoardColumn> columns, List<Task> tasks,
+                         List<String> deletedColumnIds, List<String> deletedTaskIds) {
+        this.cursor = cursor;
+        this.reset = reset;
+        this.more = more;
+        this.columns = columns;
+        this.tasks = tasks;
+        this.deletedColumnIds = deletedColumnIds;
+        this.deletedTaskIds = deletedTaskIds;
+    }
+    
+    public static BoardChanges reset(String cursor) {
+        return new BoardChanges(cursor, true, false, List.of(), List.of(), List.of(), List.of());
+    }
+    
+    /**
+     * Cursor to pass as {@code since} on the next call.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public boolean isReset() {
+        return reset;
+    }
+    
+    /**
+     * Whether more changes are waiting; call again with the new cursor right away.
+     */
+    public boolean isMore() {
+        return more;
+    }
+    
+    public List<BoardColumn> getColumns() {
+        return columns;
+    }
+    
+    public List<Task> getTasks() {
+        return tasks;
+    }
+    
+    public List<String> getDeletedColumnIds() {
+        return deletedColumnIds;
+    }
+    
+    public List<String> getDeletedTaskIds() {
+        return deletedTaskIds;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.BoardStats;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Statistics of a board as served by {@code GET /api/boards/{id}/stats}.
+ */
+public class BoardStatsView {
+    
+    private final String boardId;
+    private final long columnCount;
+    private final long taskCount;
+    private final Map<String, Long> byColumn;
+    private final Map<String, Long> byPriority;
+    private final long overdueCount;
+    private final LocalDateTime reconciledAt;
+    
+    public BoardStatsView(BoardStats stats, LocalDate today) {
+        this.boardId = stats.getId();
+        this.columnCount = stats.getColumnCount();
+        this.taskCount = stats.getTaskCount();
+        this.byColumn = stats.getByColumn();
+        this.byPriority = stats.getByPriority();
+        this.overdueCount = stats.countOverdue(today);
+        this.reconciledAt = stats.getReconciledAt();
+    }
+    
+    public String getBoardId() {
+        return boardId;
+    }
+    
+    public long getColumnCount() {
+        return columnCount;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    public Map<String, Long> getByColumn() {
+        return byColumn;
+    }
+    
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+    
+    /**
+     * Tasks due on a day before today (see {@link BoardStats#countOverdue}).
+     */
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
@@ -0,0 +1,67 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.Board;
+
+import java.time.LocalDateTime;
+
+/**
+ * A board as listed on the index pages: its header fields and counts, without
+ * the columns and tasks.
+ */
+public class BoardSummary {
+    
+    private final String id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final long columnCount;
+    private final long taskCount;
+    private final long overdueCount;
+    
+    public BoardSummary(Board board, long columnCount, long taskCount, long overdueCount) {
+        this.id = board.getId();
+        this.name = board.getName();
+        this.description = board.getDescription();
+        this.createdAt = board.getCreatedAt();
+        this.updatedAt = board.getUpdatedAt();
+        this.columnCount = columnCount;
+        this.taskCount = taskCount;
+        this.overdueCount = overdueCount;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public long getColumnCount() {
+        return columnCount;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    /**
+     * Tasks due on a day before today, as in the board statistics.
+     */
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+}
@@ -0,0 +1,55 @@
+package dev.kreaker.kjk.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset pagination cursor: the sort key and id of the last item of a page.
+ */
+public class PageCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final String sortKey;
+    private final String id;
+    
+    public PageCursor(String sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+    
+    public static String encode(String sortKey, String id) {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decodes a cursor produced by {@link #encode}; {@code null} for a {@code null} cursor.
+     *
+     * @throws IllegalArgumentException when the cursor is malformed
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        return new PageCursor(raw.substring(0, separator), raw.substring(separator + 1));
+    }
+    
+    public String getSortKey() {
+        return sortKey;
+    }
+    
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,71 @@
+package dev.kreaker.kjk.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cache validators of a resource, computed from document versions alone: a strong
+ * entity tag and, for single documents, the last modification time.
+ */
+public final class ResourceStamp {
+    
+    private final String etag;
+    private final Instant lastModified;
+    
+    private ResourceStamp(String etag, Instant lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+    
+    /**
+     * Stamp of one document. Every write increments the version, so the version
+     * alone identifies the representation; documents written before modification
+     * tracking have no {@code updatedAt} and fall back to their creation time.
+     */
+    public static ResourceStamp ofDocument(Long version, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        LocalDateTime modified = updatedAt != null ? updatedAt : createdAt;
+        return new ResourceStamp(String.valueOf(version),
+                modified != null ? modified.atZone(ZoneId.systemDefault()).toInstant() : null);
+    }
+    
+    /**
+     * Stamp of a list, digested from the id and version of every member so that
+     * writes, inserts and deletes all change it. Lists carry no modification time:
+     * a delete does not move the latest {@code updatedAt}.
+     */
+    public static <T> ResourceStamp ofList(List<T> documents, Function<T, String> id, Function<T, Long> version) {
+        MessageDigest digest = sha256();
+        documents.stream()
+                .sorted(Comparator.comparing(id))
+                .forEach(document -> digest.update((id.apply(document) + ':' + version.apply(document) + '\n')
+                        .getBytes(StandardCharsets.UTF_8)));
+        return new ResourceStamp(HexFormat.of().formatHex(digest.digest(), 0, 16), null);
+    }
+    
+    public String getEtag() {
+        return etag;
+    }
+    
+    /**
+     * Last modification time, or {@code null} when the resource has none.
+     */
+    public Instant getLastModified() {
+        return lastModified;
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.Task;
+
+/**
+ * One operation of a batch task request.
+ * <ul>
+ *   <li>{@code CREATE}: {@code columnId} and {@code task}</li>
+ *   <li>{@code UPDATE}: {@code id} and {@code task}</li>
+ *   <li>{@code MOVE}: {@code id}, {@code columnId} and optionally one of
+ *       {@code afterId} or {@code beforeId} (a task of the target column to land
+ *       next to; appended when neither is given)</li>
+ *   <li>{@code DELETE}: {@code id}</li>
+ * </ul>
+ */
+public class TaskBatchOperation {
+    
+    public enum Type {
+        CREATE,
+        UPDATE,
+        MOVE,
+        DELETE
+    }
+    
+    private Type type;
+    private String id;
+    private String columnId;
+    private String afterId;
+    private String beforeId;
+    private Task task;
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public void setType(Type type) {
+        this.type = type;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public void setColumnId(String columnId) {
+        this.columnId = columnId;
+    }
+    
+    public String getAfterId() {
+        return afterId;
+    }
+    
+    public void setAfterId(String afterId) {
+        this.afterId = afterId;
+    }
+    
+    public String getBeforeId() {
+        return beforeId;
+    }
+    
+    public void setBeforeId(String beforeId) {
+        this.beforeId = beforeId;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+    
+    public void setTask(Task task) {
+        this.task = task;
+    }
+}
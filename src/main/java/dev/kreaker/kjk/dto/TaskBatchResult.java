@@ -0,0 +1,57 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.Task;
+
+/**
+ * Outcome of one operation of a batch task request, reported at the index of
+ * the operation in the request.
+ */
+public class TaskBatchResult {
+    
+    public enum Status {
+        OK,
+        FAILED
+    }
+    
+    private final int index;
+    private final Status status;
+    private final String id;
+    private final Task task;
+    private final String error;
+    
+    private TaskBatchResult(int index, Status status, String id, Task task, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.task = task;
+        this.error = error;
+    }
+    
+    public static TaskBatchResult ok(int index, String id, Task task) {
+        return new TaskBatchResult(index, Status.OK, id, task, null);
+    }
+    
+    public static TaskBatchResult failed(int index, String id, String error) {
+        return new TaskBatchResult(index, Status.FAILED, id, null, error);
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+    
+    public String getError() {
+        return error;
+    }
+}
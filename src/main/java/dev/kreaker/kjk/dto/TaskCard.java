@@ -0,0 +1,65 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.Task;
+
+import java.time.LocalDateTime;
+
+/**
+ * What a task card on the board shows: a task without its description. Used as
+ * a repository projection, so only these fields are read from Mongo.
+ */
+public class TaskCard {
+    
+    private final String id;
+    private final String title;
+    private final Task.Priority priority;
+    private final String color;
+    private final LocalDateTime dueDate;
+    private final Long position;
+    private final String columnId;
+    private final String boardId;
+    
+    public TaskCard(String id, String title, Task.Priority priority, String color, LocalDateTime dueDate,
+                    Long position, String columnId, String boardId) {
+        this.id = id;
+        this.title = title;
+        this.priority = priority;
+        this.color = color;
+        this.dueDate = dueDate;
+        this.position = position;
+        this.columnId = columnId;
+        this.boardId = boardId;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public Task.Priority getPriority() {
+        return priority;
+    }
+    
+    public String getColor() {
+        return color;
+    }
+    
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+    
+    public Long getPosition() {
+        return position;
+    }
+    
+    public String getColumnId() {
+        return columnId;
+    }
+    
+    public String getBoardId() {
+        return boardId;
+    }
+}
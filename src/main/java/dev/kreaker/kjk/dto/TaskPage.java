@@ -0,0 +1,30 @@
+package dev.kreaker.kjk.dto;
+
+import dev.kreaker.kjk.model.Task;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated task listing.
+ */
+public class TaskPage {
+    
+    private final List<Task> items;
+    private final String nextCursor;
+    
+    public TaskPage(List<Task> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<Task> getItems() {
+        return items;
+    }
+    
+    /**
+     * Cursor to pass as {@code after} for the next page; {@code null} on the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,61 @@
+package dev.kreaker.kjk.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of task search hits, best match first, with the facet counts of all
+ * matching tasks.
+ */
+public class TaskSearchResult {
+    
+    private final List<TaskCard> hits;
+    private final long total;
+    private final int page;
+    private final int size;
+    private final Map<String, Long> priorityFacets;
+    private final Map<String, Long> columnFacets;
+    
+    public TaskSearchResult(List<TaskCard> hits, long total, int page, int size,
+                            Map<String, Long> priorityFacets, Map<String, Long> columnFacets) {
+        this.hits = hits;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.priorityFacets = priorityFacets;
+        this.columnFacets = columnFacets;
+    }
+    
+    public List<TaskCard> getHits() {
+        return hits;
+    }
+    
+    /**
+     * Number of matching tasks over all pages.
+     */
+    public long getTotal() {
+        return total;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Matching tasks per {@link dev.kreaker.kjk.model.Task.Priority} name.
+     */
+    public Map<String, Long> getPriorityFacets() {
+        return priorityFacets;
+    }
+    
+    /**
+     * Matching tasks per column id, largest first.
+     */
+    public Map<String, Long> getColumnFacets() {
+        return columnFacets;
+    }
+}
@@ -0,0 +1,176 @@
+package dev.kreaker.kjk.embedded;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Documents of one table by id, with an optional index ordered by
+ * {@code (position, id)} per scope (the column of a task, the board of a column)
+ * and an optional id index per group (the board of a task). Stored documents are
+ * never modified: a change puts a new document in place of the old one.
+ */
+final class Documents<T> {
+
+    /** Sorts after every id, for range probes. */
+    private static final String MAX_ID = "\uffff";
+
+    private final Function<T, String> idOf;
+    private final Function<T, String> scopeOf;
+    private final Function<T, Long> positionOf;
+    private final Function<T, String> groupOf;
+    private final BiFunction<Long, String, T> probe;
+    private final Map<String, T> byId = new HashMap<>();
+    private final Map<String, NavigableSet<T>> byScope = new HashMap<>();
+    private final Map<String, Set<String>> byGroup = new HashMap<>();
+    private final Comparator<T> order;
+
+    /**
+     * @param scopeOf    scope of a document, or {@code null} for no ordered index
+     * @param positionOf position within the scope
+     * @param groupOf    group of a document, or {@code null} for no group index
+     * @param probe      creates a key-only document for range lookups
+     */
+    Documents(Function<T, String> idOf, Function<T, String> scopeOf, Function<T, Long> positionOf,
+              Function<T, String> groupOf, BiFunction<Long, String, T> probe) {
+        this.idOf = idOf;
+        this.scopeOf = scopeOf;
+        this.positionOf = positionOf;
+        this.groupOf = groupOf;
+        this.probe = probe;
+        this.order = positionOf == null ? null
+                : Comparator.comparing(positionOf, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(idOf);
+    }
+
+    T get(String id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    Collection<T> all() {
+        return Collections.unmodifiableCollection(byId.values());
+    }
+
+    /**
+     * Stores a document in place of the one with the same id; returns the replaced one.
+     */
+    T put(T document) {
+        T previous = remove(idOf.apply(document));
+        byId.put(idOf.apply(document), document);
+        if (scopeOf != null) {
+            byScope.computeIfAbsent(scopeOf.apply(document), scope -> new TreeSet<>(order)).add(document);
+        }
+        if (groupOf != null) {
+            byGroup.computeIfAbsent(groupOf.apply(document), group -> new LinkedHashSet<>())
+                    .add(idOf.apply(document));
+        }
+        return previous;
+    }
+
+    T remove(String id) {
+        T existing = byId.remove(id);
+        if (existing == null) {
+            return null;
+        }
+        if (scopeOf != null) {
+            String scope = scopeOf.apply(existing);
+            NavigableSet<T> documents = byScope.get(scope);
+            if (documents != null && documents.remove(existing) && documents.isEmpty()) {
+                byScope.remove(scope);
+            }
+        }
+        if (groupOf != null) {
+            String group = groupOf.apply(existing);
+            Set<String> ids = byGroup.get(group);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                byGroup.remove(group);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Documents of a scope in {@code (position, id)} order; not to be modified.
+     */
+    NavigableSet<T> scope(String scope) {
+        NavigableSet<T> documents = byScope.get(scope);
+        return documents != null ? Collections.unmodifiableNavigableSet(documents) : Collections.emptyNavigableSet();
+    }
+
+    /**
+     * Ids of the documents of a group; not to be modified.
+     */
+    Set<String> group(String group) {
+        Set<String> ids = byGroup.get(group);
+        return ids != null ? Collections.unmodifiableSet(ids) : Set.of();
+    }
+
+    Set<String> groups() {
+        return Collections.unmodifiableSet(byGroup.keySet());
+    }
+
+    /**
+     * Documents of a scope positioned strictly between two ranks, either of which
+     * may be {@code null} for an open end.
+     */
+    NavigableSet<T> between(String scope, Long previous, Long next) {
+        NavigableSet<T> range = scope(scope);
+        if (previous != null) {
+            range = range.tailSet(probe.apply(previous, MAX_ID), false);
+        }
+        if (next != null) {
+            range = range.headSet(probe.apply(next, ""), false);
+        }
+        return range;
+    }
+
+    Long positionAfter(String scope, String excludedId, long position) {
+        return firstPosition(scope(scope).tailSet(probe.apply(position, MAX_ID), false), excludedId);
+    }
+
+    Long positionBefore(String scope, String excludedId, long position) {
+        return firstPosition(scope(scope).headSet(probe.apply(position, ""), false).descendingSet(), excludedId);
+    }
+
+    Long lastPosition(String scope, String excludedId) {
+        for (Iterator<T> it = scope(scope).descendingIterator(); it.hasNext(); ) {
+            T document = it.next();
+            if (!idOf.apply(document).equals(excludedId)) {
+                return positionOf.apply(document);
+            }
+        }
+        return null;
+    }
+
+    long countBetween(String scope, String excludedId, Long previous, Long next) {
+        long count = 0;
+        for (T document : between(scope, previous, next)) {
+            if (!idOf.apply(document).equals(excludedId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Long firstPosition(Iterable<T> documents, String excludedId) {
+        for (T document : documents) {
+            if (!idOf.apply(document).equals(excludedId)) {
+                return positionOf.apply(document);
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return byId.size();
+    }
+}
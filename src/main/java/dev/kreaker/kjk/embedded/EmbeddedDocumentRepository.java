@@ -0,0 +1,85 @@
+package dev.kreaker.kjk.embedded;
+
+import dev.kreaker.kjk.repository.DocumentRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link DocumentRepository} methods that follow from the ones each embedded
+ * repository implements over its table: the batch variants loop over the
+ * single-document ones and {@link #deleteAll()} removes every document
+ * {@link #findAll()} returns. Subclasses override a batch variant where it must
+ * run as one write.
+ */
+abstract class EmbeddedDocumentRepository<T> implements DocumentRepository<T> {
+
+    private final Class<?> repositoryType;
+
+    EmbeddedDocumentRepository(Class<?> repositoryType) {
+        this.repositoryType = repositoryType;
+    }
+
+    abstract String idOf(T document);
+
+    @Override
+    public boolean existsById(String id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        List<T> found = new ArrayList<>();
+        for (String id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        for (S entity : entities) {
+            saved.add(save(entity));
+        }
+        return saved;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        for (S entity : entities) {
+            inserted.add(insert(entity));
+        }
+        return inserted;
+    }
+
+    @Override
+    public long count() {
+        return findAll().size();
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        for (String id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        for (T entity : entities) {
+            delete(entity);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        deleteAllById(findAll().stream().map(this::idOf).toList());
+    }
+
+    @Override
+    public String toString() {
+        return repositoryType.getSimpleName() + " (embedded)";
+    }
+}
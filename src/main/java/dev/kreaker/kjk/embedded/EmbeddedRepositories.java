@@ -0,0 +1,1418 @@
+package dev.kreaker.kjk.embedded;
+
+import dev.kreaker.kjk.dto.TaskCard;
+import dev.kreaker.kjk.dto.TaskSearchResult;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.PositionCounter;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardChangeRepository;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.BoardRepository;
+import dev.kreaker.kjk.repository.BoardStatsRepository;
+import dev.kreaker.kjk.repository.DocumentRepository;
+import dev.kreaker.kjk.repository.PositionCounterRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import dev.kreaker.kjk.repository.TaskWrite;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The repository interfaces implemented over an {@link EmbeddedStore}, one class
+ * per interface implementing every method the interface, its custom fragment
+ * and {@link DocumentRepository} declare. Behaviour follows the Mongo
+ * repositories: saves and partial updates bump {@code @Version} fields and fail
+ * with {@link OptimisticLockingFailureException} on a stale version, unique
+ * indexes (board name, column name per board, change sequence per board) fail
+ * with {@link DuplicateKeyException}, and every read returns fresh copies the
+ * caller may modify.
+ * <p>
+ * Text search matches whole words of the title (weighted 3) and description
+ * without stemming or stop words, scanning the candidate tasks.
+ */
+public final class EmbeddedRepositories {
+
+    /** Documents read per lock acquisition by the streaming queries. */
+    private static final int STREAM_CHUNK = 1000;
+
+    /** Column buckets returned with a search, largest first. */
+    private static final int MAX_COLUMN_FACETS = 50;
+
+    private static final Comparator<LocalDateTime> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final EmbeddedStore store;
+
+    private final Versioned<Task> taskTable;
+    private final Versioned<BoardColumn> columnTable;
+    private final Versioned<Board> boardTable;
+
+    private final TaskRepository taskRepository;
+    private final BoardColumnRepository columnRepository;
+    private final BoardRepository boardRepository;
+    private final PositionCounterRepository counterRepository;
+    private final BoardStatsRepository statsRepository;
+    private final BoardChangeRepository changeRepository;
+
+    public EmbeddedRepositories(EmbeddedStore store) {
+        this.store = store;
+        this.taskTable = new Versioned<>(Table.TASK, store.tasks, Task::getId, Task::setId, Task::getVersion,
+                Task::setVersion, Task::setUpdatedAt, EmbeddedRepositories::copyOf, task -> { });
+        this.columnTable = new Versioned<>(Table.COLUMN, store.columns, BoardColumn::getId, BoardColumn::setId,
+                BoardColumn::getVersion, BoardColumn::setVersion, BoardColumn::setUpdatedAt,
+                EmbeddedRepositories::copyOf, this::requireUniqueColumnName);
+        this.boardTable = new Versioned<>(Table.BOARD, store.boards, Board::getId, Board::setId, Board::getVersion,
+                Board::setVersion, Board::setUpdatedAt, EmbeddedRepositories::copyOf, this::requireUniqueBoardName);
+        this.taskRepository = new EmbeddedTaskRepository();
+        this.columnRepository = new EmbeddedColumnRepository();
+        this.boardRepository = new EmbeddedBoardRepository();
+        this.counterRepository = new EmbeddedCounterRepository();
+        this.statsRepository = new EmbeddedStatsRepository();
+        this.changeRepository = new EmbeddedChangeRepository();
+    }
+
+    public TaskRepository taskRepository() {
+        return taskRepository;
+    }
+
+    public BoardColumnRepository columnRepository() {
+        return columnRepository;
+    }
+
+    public BoardRepository boardRepository() {
+        return boardRepository;
+    }
+
+    public PositionCounterRepository counterRepository() {
+        return counterRepository;
+    }
+
+    public BoardStatsRepository statsRepository() {
+        return statsRepository;
+    }
+
+    public BoardChangeRepository changeRepository() {
+        return changeRepository;
+    }
+
+    private final class EmbeddedTaskRepository extends VersionedRepository<Task> implements TaskRepository {
+
+        private EmbeddedTaskRepository() {
+            super(TaskRepository.class, taskTable);
+        }
+
+        @Override
+        public List<Task> findByColumnId(String columnId) {
+            return store.read(() -> copies(store.tasks.scope(columnId)));
+        }
+
+        @Override
+        public List<Task> findByColumnIdOrderByPosition(String columnId) {
+            return findByColumnId(columnId);
+        }
+
+        @Override
+        public List<Task> findByBoardId(String boardId) {
+            return store.read(() -> tasksOfBoard(boardId));
+        }
+
+        @Override
+        public long countByBoardId(String boardId) {
+            return store.read(() -> (long) store.tasks.group(boardId).size());
+        }
+
+        @Override
+        public List<TaskCard> findCardsByBoardIdOrderByColumnIdAscPositionAsc(String boardId) {
+            return store.read(() -> {
+                List<Task> tasks = tasksOfBoard(boardId);
+                tasks.sort(Comparator.comparing(Task::getColumnId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Task::getPosition, Comparator.nullsFirst(Comparator.naturalOrder())));
+                return tasks.stream().map(EmbeddedRepositories::cardOf).toList();
+            });
+        }
+
+        @Override
+        public List<Task> findByColumnIdInOrderByPosition(Collection<String> columnIds) {
+            return store.read(() -> {
+                List<Task> found = new ArrayList<>();
+                for (String columnId : new TreeSet<>(columnIds)) {
+                    found.addAll(copies(store.tasks.scope(columnId)));
+                }
+                found.sort(Comparator.comparing(Task::getPosition, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId));
+                return found;
+            });
+        }
+
+        @Override
+        public List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end) {
+            return store.read(() -> scanTasks(dueBetween(start, end), null));
+        }
+
+        @Override
+        public List<Task> findByPriority(Task.Priority priority) {
+            return store.read(() -> scanTasks(task -> task.getPriority() == priority, null));
+        }
+
+        @Override
+        public List<Task> findByPriorityOrderByCreatedAtDesc(Task.Priority priority) {
+            return store.read(() -> scanTasks(task -> task.getPriority() == priority, newestFirst()));
+        }
+
+        @Override
+        public Stream<Task> streamByColumnIdOrderByPosition(String columnId) {
+            return streamColumns(List.of(columnId), task -> true);
+        }
+
+        @Override
+        public Stream<Task> streamByPriorityOrderByCreatedAtDesc(Task.Priority priority) {
+            return findByPriorityOrderByCreatedAtDesc(priority).stream();
+        }
+
+        @Override
+        public Stream<Task> streamByDueDateBetweenOrderByDueDate(LocalDateTime start, LocalDateTime end) {
+            return store.read(() -> scanTasks(dueBetween(start, end),
+                    Comparator.comparing(Task::getDueDate).thenComparing(Task::getId))).stream();
+        }
+
+        @Override
+        public Stream<Task> streamByBoardIdOrderByColumnIdAscPositionAsc(String boardId) {
+            return streamBoard(boardId);
+        }
+
+        @Override
+        public Stream<Task> streamStatsFieldsByBoardId(String boardId) {
+            return streamBoard(boardId);
+        }
+
+        @Override
+        public Optional<Task> findStampById(String id) {
+            return findById(id);
+        }
+
+        @Override
+        public List<Task> findStampsByColumnId(String columnId) {
+            return findByColumnId(columnId);
+        }
+
+        @Override
+        public List<Task> findStampsByBoardId(String boardId) {
+            return findByBoardId(boardId);
+        }
+
+        @Override
+        public Long findPositionAfter(String columnId, String excludedTaskId, long position) {
+            return store.read(() -> store.tasks.positionAfter(columnId, excludedTaskId, position));
+        }
+
+        @Override
+        public Long findPositionBefore(String columnId, String excludedTaskId, long position) {
+            return store.read(() -> store.tasks.positionBefore(columnId, excludedTaskId, position));
+        }
+
+        @Override
+        public Long findLastPosition(String columnId, String excludedTaskId) {
+            return store.read(() -> store.tasks.lastPosition(columnId, excludedTaskId));
+        }
+
+        @Override
+        public boolean updatePosition(String taskId, Long expectedVersion, String boardId, String columnId,
+                                      long position) {
+            return store.write(transaction -> taskTable.update(transaction, taskId, expectedVersion, task -> {
+                task.setBoardId(boardId);
+                task.setColumnId(columnId);
+                task.setPosition(position);
+                task.setUpdatedAt(LocalDateTime.now());
+            }));
+        }
+
+        @Override
+        public boolean updateDetails(Task details) {
+            return store.write(transaction -> taskTable.update(transaction, details.getId(), details.getVersion(),
+                    task -> {
+                        task.setTitle(details.getTitle());
+                        task.setDescription(details.getDescription());
+                        task.setPriority(details.getPriority());
+                        task.setColor(details.getColor());
+                        task.setDueDate(details.getDueDate());
+                        task.setUpdatedAt(details.getUpdatedAt());
+                    }));
+        }
+
+        @Override
+        public long countBetween(String columnId, String excludedTaskId, Long previous, Long next) {
+            return store.read(() -> store.tasks.countBetween(columnId, excludedTaskId, previous, next));
+        }
+
+        @Override
+        public void bulkSetPositions(Map<String, Long> positions) {
+            store.write(transaction -> {
+                taskTable.setPositions(transaction, positions, Task::setPosition);
+                return null;
+            });
+        }
+
+        @Override
+        public boolean removeById(String id) {
+            return store.write(transaction -> {
+                if (store.tasks.get(id) == null) {
+                    return false;
+                }
+                transaction.delete(Table.TASK, id);
+                return true;
+            });
+        }
+
+        @Override
+        public long removeByColumnIdIn(Collection<String> columnIds) {
+            return store.write(transaction -> {
+                long removed = 0;
+                for (String columnId : columnIds) {
+                    for (Task task : new ArrayList<>(store.tasks.scope(columnId))) {
+                        transaction.delete(Table.TASK, task.getId());
+                        removed++;
+                    }
+                }
+                return removed;
+            });
+        }
+
+        @Override
+        public TaskSearchResult search(String text, Task.Priority priority, LocalDateTime dueBefore, String boardId,
+                                       int page, int size) {
+            return store.read(() -> EmbeddedRepositories.this.search(text, priority, dueBefore, boardId, page, size));
+        }
+
+        @Override
+        public List<Task> findColumnPage(String columnId, Long afterPosition, String afterId, int limit) {
+            return store.read(() -> {
+                Iterable<Task> tail = store.tasks.scope(columnId);
+                if (afterId != null) {
+                    tail = store.tasks.scope(columnId).tailSet(probeTask(afterPosition, afterId), false);
+                }
+                return limited(tail, limit);
+            });
+        }
+
+        @Override
+        public List<Task> findPriorityPage(Task.Priority priority, LocalDateTime afterCreatedAt, String afterId,
+                                           int limit) {
+            Predicate<Task> filter = task -> task.getPriority() == priority && (afterId == null
+                    || NULLS_FIRST.compare(task.getCreatedAt(), afterCreatedAt) < 0
+                    || (Objects.equals(task.getCreatedAt(), afterCreatedAt) && task.getId().compareTo(afterId) < 0));
+            return store.read(() -> limited(scanTasks(filter, newestFirst()), limit));
+        }
+
+        @Override
+        public List<Task> findDuePage(LocalDateTime start, LocalDateTime end, LocalDateTime afterDueDate,
+                                      String afterId, int limit) {
+            Predicate<Task> filter = dueBetween(start, end).and(task -> afterId == null
+                    || task.getDueDate().isAfter(afterDueDate)
+                    || (task.getDueDate().isEqual(afterDueDate) && task.getId().compareTo(afterId) > 0));
+            return store.read(() -> limited(scanTasks(filter,
+                    Comparator.comparing(Task::getDueDate).thenComparing(Task::getId)), limit));
+        }
+
+        @Override
+        public Map<Integer, String> bulkApply(List<TaskWrite> writes) {
+            return store.write(transaction -> EmbeddedRepositories.this.bulkApply(transaction, writes));
+        }
+    }
+
+    private final class EmbeddedColumnRepository extends VersionedRepository<BoardColumn>
+            implements BoardColumnRepository {
+
+        private EmbeddedColumnRepository() {
+            super(BoardColumnRepository.class, columnTable);
+        }
+
+        @Override
+        public List<BoardColumn> findByBoardIdOrderByPosition(String boardId) {
+            return store.read(() -> copies(store.columns.scope(boardId)));
+        }
+
+        @Override
+        public List<BoardColumn> findByBoardId(String boardId) {
+            return findByBoardIdOrderByPosition(boardId);
+        }
+
+        @Override
+        public List<BoardColumn> findLayoutByBoardId(String boardId) {
+            return findByBoardIdOrderByPosition(boardId);
+        }
+
+        @Override
+        public List<BoardColumn> findLayoutByIdIn(Collection<String> ids) {
+            return findAllById(ids);
+        }
+
+        @Override
+        public boolean existsByBoardIdAndName(String boardId, String name) {
+            return store.read(() -> store.columns.scope(boardId).stream()
+                    .anyMatch(column -> Objects.equals(column.getName(), name)));
+        }
+
+        @Override
+        public Long findPositionAfter(String boardId, String excludedColumnId, long position) {
+            return store.read(() -> store.columns.positionAfter(boardId, excludedColumnId, position));
+        }
+
+        @Override
+        public Long findPositionBefore(String boardId, String excludedColumnId, long position) {
+            return store.read(() -> store.columns.positionBefore(boardId, excludedColumnId, position));
+        }
+
+        @Override
+        public Long findLastPosition(String boardId, String excludedColumnId) {
+            return store.read(() -> store.columns.lastPosition(boardId, excludedColumnId));
+        }
+
+        @Override
+        public boolean updatePosition(String columnId, Long expectedVersion, long position) {
+            return store.write(transaction -> columnTable.update(transaction, columnId, expectedVersion, column -> {
+                column.setPosition(position);
+                column.setUpdatedAt(LocalDateTime.now());
+            }));
+        }
+
+        @Override
+        public boolean updateDetails(BoardColumn details) {
+            return store.write(transaction -> columnTable.update(transaction, details.getId(), details.getVersion(),
+                    column -> {
+                        column.setName(details.getName());
+                        column.setColor(details.getColor());
+                        column.setUpdatedAt(details.getUpdatedAt());
+                    }));
+        }
+
+        @Override
+        public long countBetween(String boardId, String excludedColumnId, Long previous, Long next) {
+            return store.read(() -> store.columns.countBetween(boardId, excludedColumnId, previous, next));
+        }
+
+        @Override
+        public void bulkSetPositions(Map<String, Long> positions) {
+            store.write(transaction -> {
+                columnTable.setPositions(transaction, positions, BoardColumn::setPosition);
+                return null;
+            });
+        }
+
+        @Override
+        public boolean removeById(String id) {
+            return store.write(transaction -> {
+                if (store.columns.get(id) == null) {
+                    return false;
+                }
+                transaction.delete(Table.COLUMN, id);
+                return true;
+            });
+        }
+
+        @Override
+        public long removeByBoardId(String boardId) {
+            return store.write(transaction -> {
+                List<BoardColumn> removed = new ArrayList<>(store.columns.scope(boardId));
+                removed.forEach(column -> transaction.delete(Table.COLUMN, column.getId()));
+                return (long) removed.size();
+            });
+        }
+
+        @Override
+        public Map<String, Long> countByBoardIdIn(Collection<String> boardIds) {
+            return store.read(() -> {
+                Map<String, Long> counts = new HashMap<>();
+                for (String boardId : boardIds) {
+                    int count = store.columns.scope(boardId).size();
+                    if (count > 0) {
+                        counts.put(boardId, (long) count);
+                    }
+                }
+                return counts;
+            });
+        }
+    }
+
+    private final class EmbeddedBoardRepository extends VersionedRepository<Board> implements BoardRepository {
+
+        private EmbeddedBoardRepository() {
+            super(BoardRepository.class, boardTable);
+        }
+
+        @Override
+        public List<Board> findAllByOrderByCreatedAtDesc() {
+            return store.read(() -> {
+                List<Board> boards = copies(store.boards.all());
+                boards.sort(Comparator.comparing(Board::getCreatedAt, NULLS_FIRST).reversed());
+                return boards;
+            });
+        }
+
+        @Override
+        public boolean existsByName(String name) {
+            return store.read(() -> store.boardIdsByName.containsKey(name));
+        }
+
+        @Override
+        public Optional<Board> findHeaderById(String id) {
+            return findById(id);
+        }
+
+        @Override
+        public List<Board> findAllHeaders() {
+            return findAllByOrderByCreatedAtDesc();
+        }
+    }
+
+    private final class EmbeddedCounterRepository extends EmbeddedDocumentRepository<PositionCounter>
+            implements PositionCounterRepository {
+
+        private EmbeddedCounterRepository() {
+            super(PositionCounterRepository.class);
+        }
+
+        @Override
+        String idOf(PositionCounter counter) {
+            return counter.getId();
+        }
+
+        @Override
+        public Optional<PositionCounter> findById(String id) {
+            return store.read(() -> Optional.ofNullable(store.counters.get(id))
+                    .map(last -> new PositionCounter(id, last)));
+        }
+
+        @Override
+        public List<PositionCounter> findAll() {
+            return store.read(() -> store.counters.entrySet().stream()
+                    .map(counter -> new PositionCounter(counter.getKey(), counter.getValue()))
+                    .toList());
+        }
+
+        @Override
+        public <S extends PositionCounter> S save(S counter) {
+            return store.write(transaction -> put(transaction, counter));
+        }
+
+        @Override
+        public <S extends PositionCounter> S insert(S counter) {
+            return store.write(transaction -> {
+                if (counter.getId() != null && store.counters.containsKey(counter.getId())) {
+                    throw new DuplicateKeyException("Position counter " + counter.getId() + " already exists");
+                }
+                return put(transaction, counter);
+            });
+        }
+
+        @Override
+        public void delete(PositionCounter counter) {
+            deleteById(counter.getId());
+        }
+
+        @Override
+        public Long increment(String id, long delta) {
+            return store.write(transaction -> {
+                Long last = store.counters.get(id);
+                if (last == null) {
+                    return null;
+                }
+                long next = last + delta;
+                transaction.put(Table.COUNTER, id, next);
+                return next;
+            });
+        }
+
+        @Override
+        public long seed(String id, Long floor, long delta) {
+            return store.write(transaction -> {
+                long next = Math.max(store.counters.getOrDefault(id, 0L), floor != null ? floor : 0L) + delta;
+                transaction.put(Table.COUNTER, id, next);
+                return next;
+            });
+        }
+
+        @Override
+        public void raise(String id, long floor) {
+            store.write(transaction -> {
+                Long last = store.counters.get(id);
+                if (last != null && last < floor) {
+                    transaction.put(Table.COUNTER, id, floor);
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public void deleteById(String id) {
+            store.write(transaction -> {
+                if (store.counters.containsKey(id)) {
+                    transaction.delete(Table.COUNTER, id);
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public void deleteAllById(Iterable<? extends String> ids) {
+            store.write(transaction -> {
+                for (String id : ids) {
+                    if (store.counters.containsKey(id)) {
+                        transaction.delete(Table.COUNTER, id);
+                    }
+                }
+                return null;
+            });
+        }
+
+        private <S extends PositionCounter> S put(EmbeddedStore.Transaction transaction, S counter) {
+            if (counter.getLast() == null) {
+                throw new IllegalArgumentException("Position counter " + counter.getId() + " has no last rank");
+            }
+            if (counter.getId() == null) {
+                counter.setId(new ObjectId().toHexString());
+            }
+            transaction.put(Table.COUNTER, counter.getId(), counter.getLast());
+            return counter;
+        }
+    }
+
+    private final class EmbeddedStatsRepository extends EmbeddedDocumentRepository<BoardStats>
+            implements BoardStatsRepository {
+
+        private EmbeddedStatsRepository() {
+            super(BoardStatsRepository.class);
+        }
+
+        @Override
+        String idOf(BoardStats stats) {
+            return stats.getId();
+        }
+
+        @Override
+        public Optional<BoardStats> findById(String id) {
+            return store.read(() -> Optional.ofNullable(store.stats.get(id)).map(EmbeddedRepositories::copyOf));
+        }
+
+        @Override
+        public List<BoardStats> findAll() {
+            return store.read(() -> store.stats.values().stream().map(EmbeddedRepositories::copyOf).toList());
+        }
+
+        @Override
+        public List<BoardStats> findAllById(Iterable<String> ids) {
+            return store.read(() -> {
+                List<BoardStats> found = new ArrayList<>();
+                for (String id : ids) {
+                    BoardStats stats = store.stats.get(id);
+                    if (stats != null) {
+                        found.add(copyOf(stats));
+                    }
+                }
+                return found;
+            });
+        }
+
+        /**
+         * Versioned like the Mongo save: inserts when {@code stats} carries no
+         * version, otherwise replaces the document only at that version. Documents
+         * written before statistics were versioned have none and are replaced by
+         * an unversioned save.
+         */
+        @Override
+        public <S extends BoardStats> S save(S stats) {
+            return store.write(transaction -> {
+                BoardStats stored = store.stats.get(stats.getId());
+                if (stats.getVersion() == null && stored != null && stored.getVersion() != null) {
+                    throw new DuplicateKeyException("Statistics already exist for board " + stats.getId());
+                }
+                if (stats.getVersion() != null
+                        && (stored == null || !stats.getVersion().equals(stored.getVersion()))) {
+                    throw new OptimisticLockingFailureException("Statistics of board " + stats.getId()
+                            + " changed since version " + stats.getVersion());
+                }
+                stats.setVersion(stats.getVersion() == null ? 0L : stats.getVersion() + 1);
+                transaction.put(Table.STATS, stats.getId(), copyOf(stats));
+                return stats;
+            });
+        }
+
+        @Override
+        public <S extends BoardStats> S insert(S stats) {
+            return store.write(transaction -> {
+                if (store.stats.containsKey(stats.getId())) {
+                    throw new DuplicateKeyException("Statistics already exist for board " + stats.getId());
+                }
+                if (stats.getVersion() == null) {
+                    stats.setVersion(0L);
+                }
+                transaction.put(Table.STATS, stats.getId(), copyOf(stats));
+                return stats;
+            });
+        }
+
+        @Override
+        public void delete(BoardStats stats) {
+            store.write(transaction -> {
+                BoardStats stored = store.stats.get(stats.getId());
+                if (stored == null || !Objects.equals(stored.getVersion(), stats.getVersion())) {
+                    throw new OptimisticLockingFailureException("Statistics of board " + stats.getId()
+                            + " were modified or removed concurrently");
+                }
+                transaction.delete(Table.STATS, stats.getId());
+                return null;
+            });
+        }
+
+        @Override
+        public void deleteById(String id) {
+            store.write(transaction -> {
+                if (store.stats.containsKey(id)) {
+                    transaction.delete(Table.STATS, id);
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public boolean increment(String boardId, Map<String, Long> deltas) {
+            return store.write(transaction -> {
+                BoardStats stored = store.stats.get(boardId);
+                if (stored == null) {
+                    return false;
+                }
+                BoardStats stats = copyOf(stored);
+                deltas.forEach((path, change) -> {
+                    String[] parts = path.split("\\.", 2);
+                    switch (parts[0]) {
+                        case "columnCount" -> stats.setColumnCount(stats.getColumnCount() + change);
+                        case "taskCount" -> stats.setTaskCount(stats.getTaskCount() + change);
+                        case "byColumn" -> stats.getByColumn().merge(parts[1], change, Long::sum);
+                        case "byPriority" -> stats.getByPriority().merge(parts[1], change, Long::sum);
+                        case "dueByDay" -> stats.getDueByDay().merge(parts[1], change, Long::sum);
+                        default -> throw new IllegalArgumentException("Unknown statistic: " + path);
+                    }
+                });
+                stats.setVersion(stats.getVersion() == null ? 1L : stats.getVersion() + 1);
+                transaction.put(Table.STATS, stats.getId(), stats);
+                return true;
+            });
+        }
+    }
+
+    private final class EmbeddedChangeRepository extends EmbeddedDocumentRepository<BoardChange>
+            implements BoardChangeRepository {
+
+        private EmbeddedChangeRepository() {
+            super(BoardChangeRepository.class);
+        }
+
+        @Override
+        String idOf(BoardChange change) {
+            return change.getId();
+        }
+
+        @Override
+        public Optional<BoardChange> findById(String id) {
+            return store.read(() -> Optional.ofNullable(store.changesById.get(id)).map(EmbeddedRepositories::copyOf));
+        }
+
+        @Override
+        public List<BoardChange> findAll() {
+            return store.read(() -> store.changesById.values().stream().map(EmbeddedRepositories::copyOf).toList());
+        }
+
+        /**
+         * Replaces the change with the same id, if any; another change at the same
+         * sequence number of the board is a duplicate key.
+         */
+        @Override
+        public <S extends BoardChange> S save(S change) {
+            return store.write(transaction -> put(transaction, change));
+        }
+
+        @Override
+        public <S extends BoardChange> S insert(S change) {
+            return store.write(transaction -> {
+                if (change.getId() != null && store.changesById.containsKey(change.getId())) {
+                    throw new DuplicateKeyException("Change " + change.getId() + " already exists");
+                }
+                return put(transaction, change);
+            });
+        }
+
+        @Override
+        public void delete(BoardChange change) {
+            deleteById(change.getId());
+        }
+
+        @Override
+        public void deleteById(String id) {
+            store.write(transaction -> {
+                if (store.changesById.containsKey(id)) {
+                    transaction.delete(Table.CHANGE, id);
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public List<BoardChange> findByBoardIdAndSeqGreaterThanOrderBySeqAsc(String boardId, long seq, Limit limit) {
+            return store.read(() -> {
+                NavigableMap<Long, BoardChange> board = store.changesByBoard.get(boardId);
+                if (board == null) {
+                    return List.of();
+                }
+                List<BoardChange> found = new ArrayList<>();
+                for (BoardChange change : board.tailMap(seq, false).values()) {
+                    if (limit.isLimited() && found.size() >= limit.max()) {
+                        break;
+                    }
+                    found.add(copyOf(change));
+                }
+                return found;
+            });
+        }
+
+        @Override
+        public Optional<BoardChange> findFirstByBoardIdOrderBySeqAsc(String boardId) {
+            return store.read(() -> Optional.ofNullable(store.changesByBoard.get(boardId))
+                    .filter(board -> !board.isEmpty())
+                    .map(board -> copyOf(board.firstEntry().getValue())));
+        }
+
+        @Override
+        public long nextSeq(String boardId) {
+            return store.write(transaction -> {
+                long next = store.changeHeads.getOrDefault(boardId, 0L) + 1;
+                transaction.put(Table.CHANGE_HEAD, boardId, next);
+                return next;
+            });
+        }
+
+        @Override
+        public long currentSeq(String boardId) {
+            return store.read(() -> store.changeHeads.getOrDefault(boardId, 0L));
+        }
+
+        @Override
+        public long removeByBoardId(String boardId) {
+            return store.write(transaction -> {
+                NavigableMap<Long, BoardChange> board = store.changesByBoard.get(boardId);
+                List<BoardChange> removed = board != null ? new ArrayList<>(board.values()) : List.of();
+                removed.forEach(change -> transaction.delete(Table.CHANGE, change.getId()));
+                if (store.changeHeads.containsKey(boardId)) {
+                    transaction.delete(Table.CHANGE_HEAD, boardId);
+                }
+                return (long) removed.size();
+            });
+        }
+
+        private <S extends BoardChange> S put(EmbeddedStore.Transaction transaction, S change) {
+            if (change.getId() == null) {
+                change.setId(new ObjectId().toHexString());
+            }
+            NavigableMap<Long, BoardChange> board = store.changesByBoard.get(change.getBoardId());
+            BoardChange atSeq = board != null ? board.get(change.getSeq()) : null;
+            if (atSeq != null && !atSeq.getId().equals(change.getId())) {
+                throw new DuplicateKeyException("Change " + change.getSeq() + " of board " + change.getBoardId()
+                        + " already exists");
+            }
+            transaction.put(Table.CHANGE, change.getId(), copyOf(change));
+            return change;
+        }
+    }
+
+    /**
+     * The {@code CrudRepository} methods of a versioned document type.
+     */
+    private abstract class VersionedRepository<T> extends EmbeddedDocumentRepository<T> {
+
+        private final Versioned<T> table;
+
+        private VersionedRepository(Class<?> repositoryType, Versioned<T> table) {
+            super(repositoryType);
+            this.table = table;
+        }
+
+        @Override
+        String idOf(T document) {
+            return table.idOf.apply(document);
+        }
+
+        @Override
+        public Optional<T> findById(String id) {
+            return store.read(() -> Optional.ofNullable(table.documents.get(id)).map(table.copyOf));
+        }
+
+        @Override
+        public boolean existsById(String id) {
+            return store.read(() -> table.documents.get(id) != null);
+        }
+
+        @Override
+        public List<T> findAll() {
+            return store.read(() -> table.documents.all().stream().map(table.copyOf).toList());
+        }
+
+        @Override
+        public long count() {
+            return store.read(() -> (long) table.documents.all().size());
+        }
+
+        @Override
+        public List<T> findAllById(Iterable<String> ids) {
+            return store.read(() -> {
+                List<T> found = new ArrayList<>();
+                for (String id : ids) {
+                    T document = table.documents.get(id);
+                    if (document != null) {
+                        found.add(table.copyOf.apply(document));
+                    }
+                }
+                return found;
+            });
+        }
+
+        @Override
+        public <S extends T> S save(S document) {
+            store.write(transaction -> table.save(transaction, document));
+            return document;
+        }
+
+        @Override
+        public <S extends T> List<S> saveAll(Iterable<S> documents) {
+            return store.write(transaction -> {
+                List<S> saved = new ArrayList<>();
+                for (S document : documents) {
+                    table.save(transaction, document);
+                    saved.add(document);
+                }
+                return saved;
+            });
+        }
+
+        @Override
+        public <S extends T> S insert(S document) {
+            store.write(transaction -> table.insert(transaction, document));
+            return document;
+        }
+
+        @Override
+        public <S extends T> List<S> insert(Iterable<S> documents) {
+            return store.write(transaction -> {
+                List<S> inserted = new ArrayList<>();
+                for (S document : documents) {
+                    table.insert(transaction, document);
+                    inserted.add(document);
+                }
+                return inserted;
+            });
+        }
+
+        @Override
+        public void delete(T document) {
+            store.write(transaction -> {
+                T stored = table.documents.get(table.idOf.apply(document));
+                if (stored == null
+                        || !Objects.equals(table.versionOf.apply(stored), table.versionOf.apply(document))) {
+                    throw new OptimisticLockingFailureException("Document " + table.idOf.apply(document)
+                            + " was modified or removed concurrently");
+                }
+                transaction.delete(table.table, table.idOf.apply(document));
+                return null;
+            });
+        }
+
+        @Override
+        public void deleteById(String id) {
+            store.write(transaction -> {
+                if (table.documents.get(id) != null) {
+                    transaction.delete(table.table, id);
+                }
+                return null;
+            });
+        }
+    }
+
+    private Map<Integer, String> bulkApply(EmbeddedStore.Transaction transaction, List<TaskWrite> writes) {
+        Map<Integer, String> errors = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < writes.size(); i++) {
+            TaskWrite write = writes.get(i);
+            Task task = write.getTask();
+            Task stored = store.tasks.get(write.getId());
+            switch (write.getKind()) {
+                case INSERT -> {
+                    if (task.getId() != null && stored != null) {
+                        errors.put(i, "Duplicate task id: " + task.getId());
+                    } else {
+                        taskTable.insert(transaction, task);
+                    }
+                }
+                case UPDATE -> {
+                    String stale = staleWrite(write, stored);
+                    if (stale != null) {
+                        errors.put(i, stale);
+                    } else {
+                        Task updated = copyOf(stored);
+                        updated.setTitle(task.getTitle());
+                        updated.setDescription(task.getDescription());
+                        updated.setPriority(task.getPriority());
+                        updated.setColor(task.getColor());
+                        updated.setDueDate(task.getDueDate());
+                        taskTable.replace(transaction, updated, now);
+                    }
+                }
+                case PLACE -> {
+                    String stale = staleWrite(write, stored);
+                    if (stale != null) {
+                        errors.put(i, stale);
+                    } else {
+                        Task placed = copyOf(stored);
+                        placed.setBoardId(task.getBoardId());
+                        placed.setColumnId(task.getColumnId());
+                        placed.setPosition(task.getPosition());
+                        taskTable.replace(transaction, placed, now);
+                    }
+                }
+                case DELETE -> {
+                    if (stored != null) {
+                        transaction.delete(Table.TASK, write.getId());
+                    }
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Why a versioned bulk write cannot apply to {@code stored}, or {@code null}
+     * when it can.
+     */
+    private static String staleWrite(TaskWrite write, Task stored) {
+        if (stored == null) {
+            return "Task not found with id: " + write.getId();
+        }
+        if (!Objects.equals(stored.getVersion(), write.getTask().getVersion())) {
+            return "Task was modified concurrently: " + write.getId();
+        }
+        return null;
+    }
+
+    private TaskSearchResult search(String text, Task.Priority priority, LocalDateTime dueBefore, String boardId,
+                                    int page, int size) {
+        Set<String> terms = text != null ? terms(text) : null;
+        Iterable<Task> candidates = boardId != null
+                ? store.tasks.group(boardId).stream().map(store.tasks::get).toList()
+                : store.tasks.all();
+        record Hit(Task task, int score) {
+        }
+        List<Hit> hits = new ArrayList<>();
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        Map<String, Long> byColumn = new HashMap<>();
+        for (Task task : candidates) {
+            if (priority != null && task.getPriority() != priority) {
+                continue;
+            }
+            if (dueBefore != null && (task.getDueDate() == null || !task.getDueDate().isBefore(dueBefore))) {
+                continue;
+            }
+            int score = 0;
+            if (terms != null) {
+                score = 3 * matches(task.getTitle(), terms) + matches(task.getDescription(), terms);
+                if (score == 0) {
+                    continue;
+                }
+            }
+            hits.add(new Hit(task, score));
+            if (task.getPriority() != null) {
+                byPriority.merge(task.getPriority().name(), 1L, Long::sum);
+            }
+            if (task.getColumnId() != null) {
+                byColumn.merge(task.getColumnId(), 1L, Long::sum);
+            }
+        }
+        Comparator<Hit> order = terms != null
+                ? Comparator.comparingInt(Hit::score).reversed().thenComparing(hit -> hit.task().getId())
+                : Comparator.comparing((Hit hit) -> hit.task().getCreatedAt(), NULLS_FIRST)
+                        .thenComparing(hit -> hit.task().getId()).reversed();
+        hits.sort(order);
+        long from = Math.min((long) page * size, hits.size());
+        List<TaskCard> cards = hits.subList((int) from, (int) Math.min(from + size, hits.size())).stream()
+                .map(hit -> cardOf(hit.task()))
+                .toList();
+        Map<String, Long> columnFacets = new LinkedHashMap<>();
+        byColumn.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(MAX_COLUMN_FACETS)
+                .forEach(entry -> columnFacets.put(entry.getKey(), entry.getValue()));
+        return new TaskSearchResult(cards, hits.size(), page, size, byPriority, columnFacets);
+    }
+
+    private static Set<String> terms(String text) {
+        Set<String> terms = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private static int matches(String field, Set<String> terms) {
+        if (field == null || field.isEmpty()) {
+            return 0;
+        }
+        int matches = 0;
+        for (String word : field.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (terms.contains(word)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private List<Task> tasksOfBoard(String boardId) {
+        List<Task> found = new ArrayList<>();
+        for (String id : store.tasks.group(boardId)) {
+            found.add(copyOf(store.tasks.get(id)));
+        }
+        return found;
+    }
+
+    private List<Task> scanTasks(Predicate<Task> filter, Comparator<Task> order) {
+        List<Task> found = new ArrayList<>();
+        for (Task task : store.tasks.all()) {
+            if (filter.test(task)) {
+                found.add(task);
+            }
+        }
+        if (order != null) {
+            found.sort(order);
+        }
+        return copies(found);
+    }
+
+    private static Predicate<Task> dueBetween(LocalDateTime start, LocalDateTime end) {
+        return task -> task.getDueDate() != null && task.getDueDate().isAfter(start) && task.getDueDate().isBefore(end);
+    }
+
+    private static Comparator<Task> newestFirst() {
+        return Comparator.comparing(Task::getCreatedAt, NULLS_FIRST).thenComparing(Task::getId).reversed();
+    }
+
+    /**
+     * Tasks of a board grouped by column in position order, read
+     * {@link #STREAM_CHUNK} at a time so that only one chunk is held at once.
+     */
+    private Stream<Task> streamBoard(String boardId) {
+        List<String> columnIds = store.read(() -> {
+            TreeSet<String> ids = new TreeSet<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+            for (String id : store.tasks.group(boardId)) {
+                ids.add(store.tasks.get(id).getColumnId());
+            }
+            return new ArrayList<>(ids);
+        });
+        return streamColumns(columnIds, task -> boardId.equals(task.getBoardId()));
+    }
+
+    private Stream<Task> streamColumns(List<String> columnIds, Predicate<Task> filter) {
+        Iterator<Task> tasks = new Iterator<>() {
+            private int column;
+            private Task last;
+            private Iterator<Task> chunk = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!chunk.hasNext()) {
+                    if (column >= columnIds.size()) {
+                        return false;
+                    }
+                    List<Task> page = new ArrayList<>(STREAM_CHUNK);
+                    Task examined = store.read(() -> {
+                        Iterable<Task> tail = last == null
+                                ? store.tasks.scope(columnIds.get(column))
+                                : store.tasks.scope(columnIds.get(column)).tailSet(last, false);
+                        Task seen = null;
+                        for (Task task : tail) {
+                            seen = task;
+                            if (filter.test(task)) {
+                                page.add(copyOf(task));
+                            }
+                            if (page.size() == STREAM_CHUNK) {
+                                break;
+                            }
+                        }
+                        return seen;
+                    });
+                    if (examined == null) {
+                        column++;
+                        last = null;
+                    } else {
+                        last = examined;
+                        chunk = page.iterator();
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public Task next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(tasks, Spliterator.ORDERED), false);
+    }
+
+    private List<Task> limited(Iterable<Task> tasks, int limit) {
+        List<Task> found = new ArrayList<>(Math.max(0, limit));
+        for (Task task : tasks) {
+            if (found.size() >= limit) {
+                break;
+            }
+            found.add(copyOf(task));
+        }
+        return found;
+    }
+
+    private void requireUniqueBoardName(Board board) {
+        String existing = store.boardIdsByName.get(board.getName());
+        if (existing != null && !existing.equals(board.getId())) {
+            throw new DuplicateKeyException("Board with name '" + board.getName() + "' already exists");
+        }
+    }
+
+    private void requireUniqueColumnName(BoardColumn column) {
+        for (BoardColumn sibling : store.columns.scope(column.getBoardId())) {
+            if (Objects.equals(sibling.getName(), column.getName()) && !sibling.getId().equals(column.getId())) {
+                throw new DuplicateKeyException("Column '" + column.getName() + "' already exists on board "
+                        + column.getBoardId());
+            }
+        }
+    }
+
+    private static Task probeTask(Long position, String id) {
+        Task probe = new Task();
+        probe.setId(id);
+        probe.setPosition(position);
+        return probe;
+    }
+
+    private static TaskCard cardOf(Task task) {
+        return new TaskCard(task.getId(), task.getTitle(), task.getPriority(), task.getColor(), task.getDueDate(),
+                task.getPosition(), task.getColumnId(), task.getBoardId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> copies(Collection<T> documents) {
+        List<T> copies = new ArrayList<>(documents.size());
+        for (T document : documents) {
+            copies.add((T) switch (document) {
+                case Task task -> copyOf(task);
+                case BoardColumn column -> copyOf(column);
+                case Board board -> copyOf(board);
+                default -> throw new IllegalArgumentException("Not a stored document: " + document);
+            });
+        }
+        return copies;
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task(task.getTitle(), task.getDescription());
+        copy.setId(task.getId());
+        copy.setPosition(task.getPosition());
+        copy.setPriority(task.getPriority());
+        copy.setColor(task.getColor());
+        copy.setDueDate(task.getDueDate());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        copy.setColumnId(task.getColumnId());
+        copy.setBoardId(task.getBoardId());
+        copy.setVersion(task.getVersion());
+        return copy;
+    }
+
+    private static BoardColumn copyOf(BoardColumn column) {
+        BoardColumn copy = new BoardColumn(column.getName(), column.getPosition());
+        copy.setId(column.getId());
+        copy.setColor(column.getColor());
+        copy.setCreatedAt(column.getCreatedAt());
+        copy.setUpdatedAt(column.getUpdatedAt());
+        copy.setBoardId(column.getBoardId());
+        copy.setVersion(column.getVersion());
+        return copy;
+    }
+
+    private static Board copyOf(Board board) {
+        Board copy = new Board(board.getName(), board.getDescription());
+        copy.setId(board.getId());
+        copy.setCreatedAt(board.getCreatedAt());
+        copy.setUpdatedAt(board.getUpdatedAt());
+        copy.setVersion(board.getVersion());
+        return copy;
+    }
+
+    private static BoardStats copyOf(BoardStats stats) {
+        BoardStats copy = new BoardStats(stats.getId());
+        copy.setColumnCount(stats.getColumnCount());
+        copy.setTaskCount(stats.getTaskCount());
+        copy.setByColumn(new HashMap<>(stats.getByColumn()));
+        copy.setByPriority(new HashMap<>(stats.getByPriority()));
+        copy.setDueByDay(new HashMap<>(stats.getDueByDay()));
+        copy.setReconciledAt(stats.getReconciledAt());
+        copy.setVersion(stats.getVersion());
+        return copy;
+    }
+
+    private static BoardChange copyOf(BoardChange change) {
+        BoardChange copy = new BoardChange(change.getBoardId(), change.getSeq(), change.getType(),
+                change.getEntityId());
+        copy.setId(change.getId());
+        copy.setRecordedAt(change.getRecordedAt());
+        return copy;
+    }
+
+    /**
+     * Saves, inserts and version-checked updates of one document type, applied
+     * the way the Mongo mapping applies them: a document without a version is
+     * inserted at version 0, one with a version replaces the stored document if
+     * that is still at the same version, and every write stamps {@code updatedAt}.
+     */
+    private static final class Versioned<T> {
+
+        private final Table table;
+        private final Documents<T> documents;
+        private final Function<T, String> idOf;
+        private final BiConsumer<T, String> assignId;
+        private final Function<T, Long> versionOf;
+        private final BiConsumer<T, Long> assignVersion;
+        private final BiConsumer<T, LocalDateTime> touch;
+        private final Function<T, T> copyOf;
+        private final Consumer<T> checkUnique;
+
+        private Versioned(Table table, Documents<T> documents, Function<T, String> idOf,
+                          BiConsumer<T, String> assignId, Function<T, Long> versionOf,
+                          BiConsumer<T, Long> assignVersion, BiConsumer<T, LocalDateTime> touch,
+                          Function<T, T> copyOf, Consumer<T> checkUnique) {
+            this.table = table;
+            this.documents = documents;
+            this.idOf = idOf;
+            this.assignId = assignId;
+            this.versionOf = versionOf;
+            this.assignVersion = assignVersion;
+            this.touch = touch;
+            this.copyOf = copyOf;
+            this.checkUnique = checkUnique;
+        }
+
+        T save(EmbeddedStore.Transaction transaction, T document) {
+            if (versionOf.apply(document) == null) {
+                return insert(transaction, document);
+            }
+            T stored = documents.get(idOf.apply(document));
+            if (stored == null || !Objects.equals(versionOf.apply(stored), versionOf.apply(document))) {
+                throw new OptimisticLockingFailureException("Document " + idOf.apply(document) + " with version "
+                        + versionOf.apply(document) + " was modified or removed concurrently");
+            }
+            assignVersion.accept(document, versionOf.apply(document) + 1);
+            touch.accept(document, LocalDateTime.now());
+            put(transaction, document);
+            return document;
+        }
+
+        T insert(EmbeddedStore.Transaction transaction, T document) {
+            if (idOf.apply(document) == null) {
+                assignId.accept(document, new ObjectId().toHexString());
+            } else if (documents.get(idOf.apply(document)) != null) {
+                throw new DuplicateKeyException("Document " + idOf.apply(document) + " already exists");
+            }
+            if (versionOf.apply(document) == null) {
+                assignVersion.accept(document, 0L);
+            }
+            touch.accept(document, LocalDateTime.now());
+            put(transaction, document);
+            return document;
+        }
+
+        /**
+         * Applies {@code change} to a copy of the stored document if it is still at
+         * {@code expectedVersion}, bumping the version.
+         */
+        boolean update(EmbeddedStore.Transaction transaction, String id, Long expectedVersion, Consumer<T> change) {
+            T stored = documents.get(id);
+            if (stored == null || !Objects.equals(versionOf.apply(stored), expectedVersion)) {
+                return false;
+            }
+            T updated = copyOf.apply(stored);
+            change.accept(updated);
+            assignVersion.accept(updated, nextVersion(updated));
+            put(transaction, updated);
+            return true;
+        }
+
+        /**
+         * Stores an updated copy unconditionally, bumping the version.
+         */
+        void replace(EmbeddedStore.Transaction transaction, T updated, LocalDateTime now) {
+            touch.accept(updated, now);
+            assignVersion.accept(updated, nextVersion(updated));
+            put(transaction, updated);
+        }
+
+        void setPositions(EmbeddedStore.Transaction transaction, Map<String, Long> positions,
+                          BiConsumer<T, Long> assignPosition) {
+            LocalDateTime now = LocalDateTime.now();
+            positions.forEach((id, position) -> {
+                T stored = documents.get(id);
+                if (stored != null) {
+                    T moved = copyOf.apply(stored);
+                    assignPosition.accept(moved, position);
+                    replace(transaction, moved, now);
+                }
+            });
+        }
+
+        private Long nextVersion(T document) {
+            Long version = versionOf.apply(document);
+            return version == null ? 0L : version + 1;
+        }
+
+        private void put(EmbeddedStore.Transaction transaction, T document) {
+            checkUnique.accept(document);
+            transaction.put(table, idOf.apply(document), copyOf.apply(document));
+        }
+    }
+}
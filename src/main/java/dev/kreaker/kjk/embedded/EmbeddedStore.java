@@ -0,0 +1,383 @@
+package dev.kreaker.kjk.embedded;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.Task;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-process storage engine behind the {@code embedded} profile. Everything is
+ * held in memory, indexed by id, tasks by column (ordered by position) and by
+ * board, columns by board (ordered by position). Durability comes from an
+ * append-only {@link OperationLog} of every change plus periodic snapshots;
+ * opening a store loads the latest snapshot through memory mappings and replays
+ * the log written after it.
+ * <p>
+ * Reads run concurrently under a read lock. A write applies its changes under
+ * the write lock, queues them to the log in the same order, and with
+ * {@code sync} waits for the log's next {@code fsync} after releasing the lock.
+ * A write that fails halfway is rolled back before anything is logged.
+ */
+public final class EmbeddedStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedStore.class);
+
+    /** How long change log entries are kept, like the TTL index of {@link BoardChange}. */
+    static final Duration CHANGE_RETENTION = Duration.ofDays(7);
+
+    final Documents<Board> boards = new Documents<>(Board::getId, null, null, null, null);
+    final Map<String, String> boardIdsByName = new HashMap<>();
+    final Documents<BoardColumn> columns = new Documents<>(BoardColumn::getId, BoardColumn::getBoardId,
+            BoardColumn::getPosition, null, (position, id) -> {
+                BoardColumn probe = new BoardColumn(null, position);
+                probe.setId(id);
+                return probe;
+            });
+    final Documents<Task> tasks = new Documents<>(Task::getId, Task::getColumnId, Task::getPosition,
+            Task::getBoardId, (position, id) -> {
+                Task probe = new Task();
+                probe.setId(id);
+                probe.setPosition(position);
+                return probe;
+            });
+    final Map<String, Long> counters = new HashMap<>();
+    final Map<String, BoardStats> stats = new HashMap<>();
+    final Map<String, BoardChange> changesById = new HashMap<>();
+    final Map<String, NavigableMap<Long, BoardChange>> changesByBoard = new HashMap<>();
+    final Map<String, Long> changeHeads = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object snapshotLock = new Object();
+    private final Path directory;
+    private final boolean sync;
+    private final OperationCodec codec = new OperationCodec();
+    private OperationLog operationLog;
+    private boolean dirty;
+    private boolean closed;
+
+    private EmbeddedStore(Path directory, boolean sync) {
+        this.directory = directory;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it if needed, and recovers its
+     * contents. A torn write at the end of the log, left by a crash, is discarded.
+     *
+     * @param sync whether writes wait for their log entry to be synced to disk
+     */
+    public static EmbeddedStore open(Path directory, boolean sync, MeterRegistry meterRegistry) throws IOException {
+        Files.createDirectories(directory);
+        StoreFiles.deleteTemporary(directory);
+        EmbeddedStore store = new EmbeddedStore(directory, sync);
+        long segment = store.recover();
+        store.operationLog = new OperationLog(directory, segment, sync, meterRegistry);
+        return store;
+    }
+
+    /**
+     * Change applied under the write lock. Puts and deletes take effect at once and
+     * are logged together when the change returns.
+     */
+    final class Transaction {
+
+        private final List<Operation> operations = new ArrayList<>();
+        private final List<Operation> undo = new ArrayList<>();
+
+        void put(Table table, String id, Object document) {
+            record(new Operation(table, id, document));
+        }
+
+        void delete(Table table, String id) {
+            record(new Operation(table, id, null));
+        }
+
+        private void record(Operation operation) {
+            Object previous = apply(operation);
+            operations.add(operation);
+            undo.add(new Operation(operation.table(), operation.id(), previous));
+        }
+
+        private void rollback() {
+            for (int i = undo.size() - 1; i >= 0; i--) {
+                apply(undo.get(i));
+            }
+        }
+    }
+
+    <R> R read(Supplier<R> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    <R> R write(Function<Transaction, R> change) {
+        CompletableFuture<Void> logged;
+        R result;
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The embedded store is closed");
+            }
+            Transaction transaction = new Transaction();
+            try {
+                result = change.apply(transaction);
+                if (transaction.operations.isEmpty()) {
+                    return result;
+                }
+                logged = operationLog.append(Frames.frame(codec.encode(transaction.operations)));
+            } catch (RuntimeException | Error e) {
+                transaction.rollback();
+                throw e;
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (sync) {
+            try {
+                logged.join();
+            } catch (CompletionException e) {
+                throw new DataAccessResourceFailureException("Writing the embedded store log failed", e.getCause());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Writes a snapshot of the current contents and deletes the log segments and
+     * snapshots it supersedes. Writers are only blocked while the document
+     * references are copied; the snapshot itself is written without the lock.
+     * Does nothing if nothing changed since the last snapshot.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            if (read(() -> closed)) {
+                return;
+            }
+            expireChanges(LocalDateTime.now().minus(CHANGE_RETENTION));
+            long number;
+            CompletableFuture<Void> rotated;
+            Iterator<List<Operation>> frames;
+            lock.writeLock().lock();
+            try {
+                if (closed || !dirty) {
+                    return;
+                }
+                rotated = operationLog.rotate();
+                number = operationLog.segment();
+                frames = capture();
+                dirty = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                rotated.join();
+                SnapshotFile.write(directory, number, frames, codec, sync);
+            } catch (CompletionException | IOException | UncheckedIOException e) {
+                lock.writeLock().lock();
+                try {
+                    // The next snapshot has to cover this one's changes again
+                    dirty = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e instanceof IOException io ? io : new IOException("Snapshot " + number + " failed", e);
+            }
+            StoreFiles.deleteBefore(directory, StoreFiles.SNAPSHOT, number);
+            StoreFiles.deleteBefore(directory, StoreFiles.LOG, number);
+            log.debug("Wrote embedded store snapshot {}", number);
+        }
+    }
+
+    /**
+     * Takes a final snapshot, so the next start has no log to replay, and stops
+     * the log.
+     */
+    @Override
+    public void close() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Final snapshot of the embedded store failed; the log will be replayed on the next start", e);
+        }
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        operationLog.close();
+    }
+
+    /**
+     * Applies one operation to the in-memory tables and returns the document it
+     * replaced or removed.
+     */
+    private Object apply(Operation operation) {
+        String id = operation.id();
+        Object document = operation.document();
+        return switch (operation.table()) {
+            case BOARD -> {
+                Board previous = document != null ? boards.put((Board) document) : boards.remove(id);
+                if (previous != null) {
+                    boardIdsByName.remove(previous.getName(), id);
+                }
+                if (document != null) {
+                    boardIdsByName.put(((Board) document).getName(), id);
+                }
+                yield previous;
+            }
+            case COLUMN -> document != null ? columns.put((BoardColumn) document) : columns.remove(id);
+            case TASK -> document != null ? tasks.put((Task) document) : tasks.remove(id);
+            case COUNTER -> document != null ? counters.put(id, (Long) document) : counters.remove(id);
+            case STATS -> document != null ? stats.put(id, (BoardStats) document) : stats.remove(id);
+            case CHANGE -> {
+                BoardChange previous = changesById.remove(id);
+                if (previous != null) {
+                    NavigableMap<Long, BoardChange> board = changesByBoard.get(previous.getBoardId());
+                    board.remove(previous.getSeq());
+                    if (board.isEmpty()) {
+                        changesByBoard.remove(previous.getBoardId());
+                    }
+                }
+                if (document != null) {
+                    BoardChange change = (BoardChange) document;
+                    changesById.put(id, change);
+                    changesByBoard.computeIfAbsent(change.getBoardId(), board -> new TreeMap<>())
+                            .put(change.getSeq(), change);
+                }
+                yield previous;
+            }
+            case CHANGE_HEAD -> document != null ? changeHeads.put(id, (Long) document) : changeHeads.remove(id);
+        };
+    }
+
+    private void expireChanges(LocalDateTime cutoff) {
+        write(transaction -> {
+            List<String> expired = new ArrayList<>();
+            for (BoardChange change : changesById.values()) {
+                if (change.getRecordedAt() != null && change.getRecordedAt().isBefore(cutoff)) {
+                    expired.add(change.getId());
+                }
+            }
+            expired.forEach(id -> transaction.delete(Table.CHANGE, id));
+            return null;
+        });
+    }
+
+    /**
+     * Copies the document references of every table, which is safe because stored
+     * documents are never modified, and returns them as snapshot frames.
+     */
+    private Iterator<List<Operation>> capture() {
+        List<Board> boardList = new ArrayList<>(boards.all());
+        List<BoardColumn> columnList = new ArrayList<>(columns.all());
+        List<Task> taskList = new ArrayList<>(tasks.all());
+        Map<String, Long> counterMap = new HashMap<>(counters);
+        Map<String, BoardStats> statsMap = new HashMap<>(stats);
+        List<BoardChange> changeList = new ArrayList<>(changesById.values());
+        Map<String, Long> headMap = new HashMap<>(changeHeads);
+
+        Iterator<Operation> operations = Stream.of(
+                boardList.stream().map(board -> new Operation(Table.BOARD, board.getId(), board)),
+                columnList.stream().map(column -> new Operation(Table.COLUMN, column.getId(), column)),
+                taskList.stream().map(task -> new Operation(Table.TASK, task.getId(), task)),
+                counterMap.entrySet().stream().map(e -> new Operation(Table.COUNTER, e.getKey(), e.getValue())),
+                statsMap.entrySet().stream().map(e -> new Operation(Table.STATS, e.getKey(), e.getValue())),
+                changeList.stream().map(change -> new Operation(Table.CHANGE, change.getId(), change)),
+                headMap.entrySet().stream().map(e -> new Operation(Table.CHANGE_HEAD, e.getKey(), e.getValue())))
+                .reduce(Stream::concat)
+                .orElseGet(Stream::empty)
+                .iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return operations.hasNext();
+            }
+
+            @Override
+            public List<Operation> next() {
+                if (!operations.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Operation> frame = new ArrayList<>(SnapshotFile.OPERATIONS_PER_FRAME);
+                while (operations.hasNext() && frame.size() < SnapshotFile.OPERATIONS_PER_FRAME) {
+                    frame.add(operations.next());
+                }
+                return frame;
+            }
+        };
+    }
+
+    /**
+     * Loads the latest snapshot and replays the log segments written after it;
+     * returns the number of the segment to continue the log in.
+     */
+    private long recover() throws IOException {
+        List<Long> snapshots = StoreFiles.numbers(directory, StoreFiles.SNAPSHOT);
+        long from = 0;
+        if (!snapshots.isEmpty()) {
+            from = snapshots.get(snapshots.size() - 1);
+            SnapshotFile.load(StoreFiles.path(directory, StoreFiles.SNAPSHOT, from), codec, this::apply);
+        }
+        List<Long> segments = StoreFiles.numbers(directory, StoreFiles.LOG).stream()
+                .filter(number -> number >= from)
+                .toList();
+        long next = from;
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = StoreFiles.path(directory, StoreFiles.LOG, segments.get(i));
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long end = Frames.read(channel, 0, payload -> codec.decode(payload).forEach(this::apply));
+                if (end < channel.size()) {
+                    if (i < segments.size() - 1) {
+                        throw new IOException("Embedded store log segment is corrupt: " + segment);
+                    }
+                    log.warn("Discarding {} bytes of an incomplete write at the end of {}",
+                            channel.size() - end, segment);
+                    channel.truncate(end);
+                    channel.force(true);
+                }
+                dirty |= channel.size() > 0;
+            }
+            next = segments.get(i) + 1;
+        }
+        log.info("Opened embedded store in {}: {} boards, {} columns, {} tasks", directory, boards.size(),
+                columns.size(), tasks.size());
+        return next;
+    }
+}
@@ -0,0 +1,84 @@
+package dev.kreaker.kjk.embedded;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * Length- and checksum-prefixed records, the unit of both the operation log and
+ * the snapshots: {@code [int length][int crc32c][payload]}. Files are read
+ * through memory-mapped windows, so loading does not copy them through a heap
+ * buffer first.
+ */
+final class Frames {
+
+    static final int HEADER_BYTES = 8;
+
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    private Frames() {
+    }
+
+    /**
+     * Receives the payload of each valid frame.
+     */
+    @FunctionalInterface
+    interface PayloadHandler {
+        void accept(byte[] payload) throws IOException;
+    }
+
+    static ByteBuffer frame(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt(checksum(payload));
+        buffer.put(payload);
+        return buffer.flip();
+    }
+
+    /**
+     * Hands the payloads of consecutive valid frames from {@code start} to
+     * {@code handler} and returns the offset after the last valid one. Reading
+     * stops at the end of the file or at the first torn or corrupt frame.
+     */
+    static long read(FileChannel channel, long start, PayloadHandler handler) throws IOException {
+        long size = channel.size();
+        long position = start;
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+        while (size - position >= HEADER_BYTES) {
+            if (window == null || position + HEADER_BYTES > windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_BYTES, size - position));
+            }
+            int offset = (int) (position - windowStart);
+            int length = window.getInt(offset);
+            int expected = window.getInt(offset + 4);
+            if (length < 0 || length > size - position - HEADER_BYTES) {
+                return position;
+            }
+            if (position + HEADER_BYTES + length > windowStart + window.limit()) {
+                // The frame runs past the window; remap starting at the frame
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.max(Math.min(WINDOW_BYTES, size - position), HEADER_BYTES + (long) length));
+                offset = 0;
+            }
+            byte[] payload = new byte[length];
+            window.get(offset + HEADER_BYTES, payload);
+            if (checksum(payload) != expected) {
+                return position;
+            }
+            handler.accept(payload);
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,8 @@
+package dev.kreaker.kjk.embedded;
+
+/**
+ * One logged change: the new state of a document, or its removal when
+ * {@code document} is {@code null}.
+ */
+record Operation(Table table, String id, Object document) {
+}
@@ -0,0 +1,81 @@
+package dev.kreaker.kjk.embedded;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes groups of operations as Smile: an array of {@code [table, id, document]}
+ * triples. Unknown fields are skipped when reading, so documents written by a
+ * newer version of the model still load.
+ */
+final class OperationCodec {
+
+    private final ObjectMapper mapper = new SmileMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    byte[] encode(List<Operation> operations) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + operations.size() * 192);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Operation operation : operations) {
+                generator.writeStartArray();
+                generator.writeString(operation.table().code());
+                generator.writeString(operation.id());
+                if (operation.document() == null) {
+                    generator.writeNull();
+                } else {
+                    mapper.writeValue(generator, operation.document());
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    List<Operation> decode(byte[] payload) throws IOException {
+        List<Operation> operations = new ArrayList<>();
+        try (JsonParser parser = mapper.getFactory().createParser(payload)) {
+            expect(parser, JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                Table table = Table.ofCode(nextString(parser));
+                String id = nextString(parser);
+                JsonToken token = parser.nextToken();
+                Object document = token == JsonToken.VALUE_NULL
+                        ? null
+                        : mapper.readValue(parser, table.documentType());
+                expect(parser, JsonToken.END_ARRAY);
+                operations.add(new Operation(table, id, document));
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IOException("Malformed operation group at " + parser.currentLocation());
+            }
+        }
+        return operations;
+    }
+
+    private static String nextString(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.VALUE_STRING);
+        return parser.getText();
+    }
+
+    private static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.nextToken() != expected) {
+            throw new IOException("Expected " + expected + " at " + parser.currentLocation());
+        }
+    }
+}
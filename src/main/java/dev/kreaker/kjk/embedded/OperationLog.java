@@ -0,0 +1,214 @@
+package dev.kreaker.kjk.embedded;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only log of operation groups, split into numbered segments
+ * ({@code log-<n>.kjk}). Appends are queued and written by one thread, which
+ * takes whatever has queued up since its last write, writes it in one go and
+ * syncs it to disk with a single {@code fsync}: concurrent writers share the cost
+ * of a sync instead of paying one each (group commit).
+ * <p>
+ * Callers append in the order the changes were applied, under the store's write
+ * lock, and wait on the returned future after releasing it. Once a write fails
+ * the log refuses further appends.
+ */
+final class OperationLog implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(OperationLog.class);
+
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final boolean sync;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final DistributionSummary batchSizes;
+    private final Timer syncs;
+    private long segment;
+    private FileChannel channel;
+    private volatile IOException failure;
+
+    private sealed interface Entry permits Append, Rotate, Stop {
+    }
+
+    private record Append(ByteBuffer frame, CompletableFuture<Void> written) implements Entry {
+    }
+
+    private record Rotate(long segment, CompletableFuture<Void> rotated) implements Entry {
+    }
+
+    private record Stop(CompletableFuture<Void> stopped) implements Entry {
+    }
+
+    OperationLog(Path directory, long segment, boolean sync, MeterRegistry meterRegistry) throws IOException {
+        this.directory = directory;
+        this.sync = sync;
+        this.segment = segment;
+        this.channel = open(segment);
+        this.batchSizes = DistributionSummary.builder("kjk.embedded.log.batch")
+                .description("Operation groups written per log write, and per fsync when syncing")
+                .register(meterRegistry);
+        this.syncs = Timer.builder("kjk.embedded.log.sync")
+                .description("Time spent writing and syncing one batch of the operation log")
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, "embedded-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a frame; the future completes once it is written, and synced to disk
+     * when syncing is enabled.
+     */
+    CompletableFuture<Void> append(ByteBuffer frame) {
+        requireHealthy();
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        queue.add(new Append(frame, written));
+        return written;
+    }
+
+    /**
+     * Starts a new segment after everything queued so far; the future completes
+     * once the previous segment is complete on disk.
+     */
+    CompletableFuture<Void> rotate() {
+        requireHealthy();
+        segment++;
+        CompletableFuture<Void> rotated = new CompletableFuture<>();
+        queue.add(new Rotate(segment, rotated));
+        return rotated;
+    }
+
+    /**
+     * The segment that appends queued from now on go to.
+     */
+    long segment() {
+        return segment;
+    }
+
+    @Override
+    public void close() {
+        CompletableFuture<Void> stopped = new CompletableFuture<>();
+        queue.add(new Stop(stopped));
+        stopped.join();
+    }
+
+    private void requireHealthy() {
+        if (failure != null) {
+            throw new UncheckedIOException("The embedded store log is unavailable after a failed write", failure);
+        }
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        List<CompletableFuture<Void>> unsynced = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            long started = System.nanoTime();
+            int appended = 0;
+            for (Entry entry : batch) {
+                try {
+                    switch (entry) {
+                        case Append append -> {
+                            if (failure != null) {
+                                throw failure;
+                            }
+                            while (append.frame().hasRemaining()) {
+                                channel.write(append.frame());
+                            }
+                            unsynced.add(append.written());
+                            appended++;
+                        }
+                        case Rotate rotate -> {
+                            flush(unsynced);
+                            channel.close();
+                            channel = open(rotate.segment());
+                            rotate.rotated().complete(null);
+                        }
+                        case Stop stop -> {
+                            flush(unsynced);
+                            channel.close();
+                            stop.stopped().complete(null);
+                            return;
+                        }
+                    }
+                } catch (IOException e) {
+                    if (failure == null) {
+                        log.error("Writing the embedded store log failed; further writes are refused", e);
+                        failure = e;
+                    }
+                    unsynced.forEach(written -> written.completeExceptionally(e));
+                    unsynced.clear();
+                    switch (entry) {
+                        case Append append -> append.written().completeExceptionally(e);
+                        case Rotate rotate -> rotate.rotated().completeExceptionally(e);
+                        case Stop stop -> {
+                            stop.stopped().complete(null);
+                            return;
+                        }
+                    }
+                }
+            }
+            try {
+                flush(unsynced);
+            } catch (IOException e) {
+                if (failure == null) {
+                    log.error("Syncing the embedded store log failed; further writes are refused", e);
+                    failure = e;
+                }
+                unsynced.forEach(written -> written.completeExceptionally(e));
+                unsynced.clear();
+            }
+            if (appended > 0) {
+                batchSizes.record(appended);
+                syncs.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<CompletableFuture<Void>> unsynced) throws IOException {
+        if (unsynced.isEmpty()) {
+            return;
+        }
+        if (sync) {
+            channel.force(false);
+        }
+        unsynced.forEach(written -> written.complete(null));
+        unsynced.clear();
+    }
+
+    private FileChannel open(long number) throws IOException {
+        FileChannel opened = FileChannel.open(StoreFiles.path(directory, StoreFiles.LOG, number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (sync) {
+            // Make the new file itself durable, not just its contents
+            StoreFiles.forceDirectory(directory);
+        }
+        return opened;
+    }
+}
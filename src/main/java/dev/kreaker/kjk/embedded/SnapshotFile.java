@@ -0,0 +1,93 @@
+package dev.kreaker.kjk.embedded;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Full copy of the store: a header frame, frames of up to
+ * {@link #OPERATIONS_PER_FRAME} operations, and an empty operation group as the
+ * trailer. Snapshots are written to a temporary file, synced and renamed into
+ * place, so a snapshot that exists is complete; they are loaded through memory
+ * mappings.
+ */
+final class SnapshotFile {
+
+    static final int OPERATIONS_PER_FRAME = 1000;
+
+    private static final byte[] MAGIC = "kjk-snapshot-1".getBytes(StandardCharsets.US_ASCII);
+
+    private SnapshotFile() {
+    }
+
+    static void write(Path directory, long number, Iterator<List<Operation>> frames, OperationCodec codec,
+                      boolean sync) throws IOException {
+        Path target = StoreFiles.path(directory, StoreFiles.SNAPSHOT, number);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, MAGIC);
+            while (frames.hasNext()) {
+                List<Operation> operations = frames.next();
+                if (!operations.isEmpty()) {
+                    write(channel, codec.encode(operations));
+                }
+            }
+            write(channel, codec.encode(List.of()));
+            if (sync) {
+                channel.force(false);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        if (sync) {
+            StoreFiles.forceDirectory(directory);
+        }
+    }
+
+    /**
+     * Hands every operation of a snapshot to {@code apply}.
+     *
+     * @throws IOException if the snapshot is not a complete snapshot file
+     */
+    static void load(Path file, OperationCodec codec, Consumer<Operation> apply) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            boolean[] state = new boolean[2]; // header seen, trailer seen
+            long end = Frames.read(channel, 0, payload -> {
+                if (!state[0]) {
+                    if (!Arrays.equals(payload, MAGIC)) {
+                        throw new IOException("Not a snapshot: " + file);
+                    }
+                    state[0] = true;
+                    return;
+                }
+                if (state[1]) {
+                    throw new IOException("Data after the end of snapshot " + file);
+                }
+                List<Operation> operations = codec.decode(payload);
+                if (operations.isEmpty()) {
+                    state[1] = true;
+                }
+                operations.forEach(apply);
+            });
+            if (!state[1] || end != channel.size()) {
+                throw new IOException("Snapshot is incomplete or corrupt: " + file);
+            }
+        }
+    }
+
+    private static void write(FileChannel channel, byte[] payload) throws IOException {
+        ByteBuffer frame = Frames.frame(payload);
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+}
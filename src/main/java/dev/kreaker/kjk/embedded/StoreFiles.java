@@ -0,0 +1,82 @@
+package dev.kreaker.kjk.embedded;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Naming of the files in the store directory: log segments {@code log-<n>.kjk}
+ * and snapshots {@code snapshot-<n>.kjk}, where a snapshot holds everything
+ * logged before segment {@code n}.
+ */
+final class StoreFiles {
+
+    static final String LOG = "log";
+    static final String SNAPSHOT = "snapshot";
+
+    private static final Pattern NUMBERED = Pattern.compile("(log|snapshot)-(\\d{16})\\.kjk");
+
+    private StoreFiles() {
+    }
+
+    static Path path(Path directory, String kind, long number) {
+        return directory.resolve(String.format("%s-%016d.kjk", kind, number));
+    }
+
+    /**
+     * Numbers of the files of one kind, ascending.
+     */
+    static List<Long> numbers(Path directory, String kind) throws IOException {
+        List<Long> numbers = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = NUMBERED.matcher(file.getFileName().toString());
+                if (matcher.matches() && matcher.group(1).equals(kind)) {
+                    numbers.add(Long.parseLong(matcher.group(2)));
+                }
+            });
+        }
+        numbers.sort(null);
+        return numbers;
+    }
+
+    /**
+     * Deletes the files of one kind numbered below {@code number}.
+     */
+    static void deleteBefore(Path directory, String kind, long number) throws IOException {
+        for (long older : numbers(directory, kind)) {
+            if (older < number) {
+                Files.deleteIfExists(path(directory, kind, older));
+            }
+        }
+    }
+
+    static void deleteTemporary(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes renames and newly created files in the directory durable. Not
+     * supported on every platform, where file contents are still synced.
+     */
+    static void forceDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing here
+        }
+    }
+}
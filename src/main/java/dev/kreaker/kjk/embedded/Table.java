@@ -0,0 +1,49 @@
+package dev.kreaker.kjk.embedded;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.Task;
+
+/**
+ * The document kinds the embedded store holds. The codes are written to the log
+ * and the snapshots, so they must never change.
+ */
+enum Table {
+
+    BOARD("b", Board.class),
+    COLUMN("c", BoardColumn.class),
+    TASK("t", Task.class),
+    /** Position counters; the document is the last handed-out rank. */
+    COUNTER("p", Long.class),
+    STATS("s", BoardStats.class),
+    CHANGE("l", BoardChange.class),
+    /** Change log heads per board; the document is the last sequence number. */
+    CHANGE_HEAD("h", Long.class);
+
+    private final String code;
+    private final Class<?> documentType;
+
+    Table(String code, Class<?> documentType) {
+        this.code = code;
+        this.documentType = documentType;
+    }
+
+    String code() {
+        return code;
+    }
+
+    Class<?> documentType() {
+        return documentType;
+    }
+
+    static Table ofCode(String code) {
+        for (Table table : values()) {
+            if (table.code.equals(code)) {
+                return table;
+            }
+        }
+        throw new IllegalStateException("Unknown table code in the embedded store: " + code);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.kreaker.kjk.event;
+
+/**
+ * Change to a column or task of a board, published by the services after the
+ * change has been written. Serialized as-is as the delta pushed to board viewers.
+ */
+public class BoardChangeEvent {
+    
+    public enum Type {
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_MOVED,
+        TASK_DELETED,
+        COLUMN_CREATED,
+        COLUMN_UPDATED,
+        COLUMN_MOVED,
+        COLUMN_DELETED,
+        /** Positions of a whole column (entityId) or of the board's columns were respread. */
+        POSITIONS_REBALANCED
+    }
+    
+    private final Type type;
+    private final String boardId;
+    private final String entityId;
+    private final Object data;
+    
+    public BoardChangeEvent(Type type, String boardId, String entityId, Object data) {
+        this.type = type;
+        this.boardId = boardId;
+        this.entityId = entityId;
+        this.data = data;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public String getBoardId() {
+        return boardId;
+    }
+    
+    public String getEntityId() {
+        return entityId;
+    }
+    
+    /**
+     * Current state of the changed task or column; {@code null} for deletions.
+     */
+    public Object getData() {
+        return data;
+    }
+}
@@ -0,0 +1,181 @@
+package dev.kreaker.kjk.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans {@link BoardChangeEvent}s out to the server-sent event streams of a board.
+ * <p>
+ * Publishing only enqueues: every subscriber has its own bounded queue, drained
+ * by a shared writer pool, so a slow client never blocks the service thread or the
+ * other viewers. A subscriber whose queue overflows is disconnected and reloads
+ * the board when its {@code EventSource} reconnects. Idle subscribers hold no
+ * thread and an empty queue.
+ */
+@Component
+public class BoardEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardEventBroadcaster.class);
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService writers;
+
+    @Autowired
+    public BoardEventBroadcaster(ObjectMapper objectMapper,
+                                 @Value("${kjk.events.timeout:PT30M}") Duration timeout,
+                                 @Value("${kjk.events.queue-capacity:256}") int queueCapacity,
+                                 @Value("${kjk.events.max-subscribers:10000}") int maxSubscribers,
+                                 @Value("${kjk.events.writer-threads:4}") int writerThreads) {
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "board-events-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers a new stream for the board.
+     *
+     * @throws IllegalStateException when the subscriber limit has been reached
+     */
+    public SseEmitter subscribe(String boardId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many board event subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(boardId, emitter, new LinkedBlockingQueue<>(queueCapacity));
+        subscribers.computeIfAbsent(boardId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    @EventListener
+    public void onBoardChange(BoardChangeEvent event) {
+        if (event.getBoardId() == null) {
+            return;
+        }
+        Set<Subscriber> boardSubscribers = subscribers.get(event.getBoardId());
+        if (boardSubscribers == null || boardSubscribers.isEmpty()) {
+            return;
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to serialize {} for board {}", event.getType(), event.getBoardId(), e);
+            return;
+        }
+        for (Subscriber subscriber : boardSubscribers) {
+            enqueue(subscriber, SseEmitter.event().data(payload, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${kjk.events.heartbeat:PT30S}")
+    public void heartbeat() {
+        for (Set<Subscriber> boardSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : boardSubscribers) {
+                enqueue(subscriber, SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        if (!subscriber.queue.offer(message)) {
+            // The client cannot keep up; drop it so it resynchronizes on reconnect
+            subscriber.emitter.complete();
+            remove(subscriber);
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder message;
+            while ((message = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    remove(subscriber);
+                    subscriber.queue.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.boardId, (id, boardSubscribers) -> {
+            boardSubscribers.remove(subscriber);
+            return boardSubscribers.isEmpty() ? null : boardSubscribers;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        private final String boardId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(String boardId, SseEmitter emitter, BlockingQueue<SseEmitter.SseEventBuilder> queue) {
+            this.boardId = boardId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
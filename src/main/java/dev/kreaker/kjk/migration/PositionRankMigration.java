@@ -0,0 +1,58 @@
+package dev.kreaker.kjk.migration;
+
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.service.PositionRebalancer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts dense integer positions written by earlier versions into sparse
+ * {@code long} ranks. Documents still holding a 32-bit integer position mark the
+ * columns and boards that need to be respread; the migration is a no-op once
+ * every position has been rewritten.
+ */
+@Component
+@Order(10)
+@Profile("!embedded")
+public class PositionRankMigration implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(PositionRankMigration.class);
+    
+    private static final int BSON_INT32 = 16;
+    
+    private final MongoTemplate mongoTemplate;
+    private final PositionRebalancer rebalancer;
+    
+    @Autowired
+    public PositionRankMigration(MongoTemplate mongoTemplate, PositionRebalancer rebalancer) {
+        this.mongoTemplate = mongoTemplate;
+        this.rebalancer = rebalancer;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        Query legacyPositions = Query.query(Criteria.where("position").type(BSON_INT32));
+        
+        List<String> columnIds = mongoTemplate.findDistinct(legacyPositions, "columnId", Task.class, String.class);
+        columnIds.forEach(rebalancer::rebalanceColumn);
+        
+        List<String> boardIds = mongoTemplate.findDistinct(legacyPositions, "boardId", BoardColumn.class, String.class);
+        boardIds.forEach(rebalancer::rebalanceBoard);
+        
+        if (!columnIds.isEmpty() || !boardIds.isEmpty()) {
+            log.info("Migrated positions to sparse ranks in {} columns and {} boards", columnIds.size(), boardIds.size());
+        }
+    }
+}
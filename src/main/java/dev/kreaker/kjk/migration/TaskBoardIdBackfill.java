@@ -0,0 +1,58 @@
+package dev.kreaker.kjk.migration;
+
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Copies {@code boardId} from the owning column onto tasks created before the
+ * field was denormalized. One multi-document update is issued per column; tasks
+ * whose column no longer exists are left untouched.
+ */
+@Component
+@Order(20)
+@Profile("!embedded")
+public class TaskBoardIdBackfill implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(TaskBoardIdBackfill.class);
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Autowired
+    public TaskBoardIdBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        Criteria missingBoardId = Criteria.where("boardId").exists(false);
+        List<String> columnIds = mongoTemplate.findDistinct(Query.query(missingBoardId), "columnId", Task.class, String.class);
+        if (columnIds.isEmpty()) {
+            return;
+        }
+        
+        Query columnsQuery = Query.query(Criteria.where("_id").in(columnIds));
+        columnsQuery.fields().include("boardId");
+        
+        long updated = 0;
+        for (BoardColumn column : mongoTemplate.find(columnsQuery, BoardColumn.class)) {
+            Query tasksQuery = Query.query(Criteria.where("columnId").is(column.getId()).and("boardId").exists(false));
+            updated += mongoTemplate.updateMulti(tasksQuery, Update.update("boardId", column.getBoardId()), Task.class)
+                    .getModifiedCount();
+        }
+        log.info("Backfilled boardId on {} tasks", updated);
+    }
+}
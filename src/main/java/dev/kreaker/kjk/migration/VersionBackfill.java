@@ -0,0 +1,56 @@
+package dev.kreaker.kjk.migration;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sets {@code version: 0} on documents stored before the mapping gained a
+ * {@code @Version} property. Without it, a versioned {@code save} would treat
+ * those documents as new and try to insert them again. Runs before the other
+ * data migrations.
+ */
+@Component
+@Order(5)
+@Profile("!embedded")
+public class VersionBackfill implements ApplicationRunner {
+    
+    private static final Logger log = LoggerFactory.getLogger(VersionBackfill.class);
+    
+    private static final List<Class<?>> VERSIONED_DOCUMENTS = List.of(Board.class, BoardColumn.class, Task.class,
+            BoardStats.class);
+    
+    private final MongoTemplate mongoTemplate;
+    
+    @Autowired
+    public VersionBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        Query unversioned = Query.query(Criteria.where("version").exists(false));
+        for (Class<?> documentType : VERSIONED_DOCUMENTS) {
+            long updated = mongoTemplate.updateMulti(unversioned, Update.update("version", 0L), documentType)
+                    .getModifiedCount();
+            if (updated > 0) {
+                log.info("Backfilled version on {} {} documents", updated, mongoTemplate.getCollectionName(documentType));
+            }
+        }
+    }
+}
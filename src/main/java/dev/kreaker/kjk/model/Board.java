@@ -2,6 +2,9 @@ package dev.kreaker.kjk.model;
 
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import jakarta.validation.constraints.NotBlank;
@@ -18,6 +21,7 @@ public class Board {
     
     @NotBlank(message = "Board name is required")
     @Size(max = 100, message = "Board name must not exceed 100 characters")
+    @Indexed(name = "name", unique = true)
     private String name;
     
     @Size(max = 500, message = "Description must not exceed 500 characters")
@@ -25,8 +29,12 @@ public class Board {
     
     private LocalDateTime createdAt;
     
+    @LastModifiedDate
     private LocalDateTime updatedAt;
     
+    @Version
+    private Long version;
+    
     @DBRef
     private List<BoardColumn> columns = new ArrayList<>();
     
@@ -102,4 +110,12 @@ public class Board {
         columns.remove(column);
         column.setBoardId(null);
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package dev.kreaker.kjk.model;
+
+import dev.kreaker.kjk.event.BoardChangeEvent;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a board's change log: which task or column changed and how,
+ * numbered by a per-board sequence that only grows. Entries carry no state; the
+ * changes feed reads the current documents. Entries expire after seven days.
+ */
+@Document(collection = "board_changes")
+@CompoundIndex(name = "board_seq", def = "{ 'boardId': 1, 'seq': 1 }", unique = true)
+public class BoardChange {
+    
+    @Id
+    private String id;
+    
+    private String boardId;
+    
+    private long seq;
+    
+    private BoardChangeEvent.Type type;
+    
+    private String entityId;
+    
+    @Indexed(name = "recorded_at_ttl", expireAfter = "7d")
+    private LocalDateTime recordedAt;
+    
+    public BoardChange() {
+    }
+    
+    public BoardChange(String boardId, long seq, BoardChangeEvent.Type type, String entityId) {
+        this.boardId = boardId;
+        this.seq = seq;
+        this.type = type;
+        this.entityId = entityId;
+        this.recordedAt = LocalDateTime.now();
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getBoardId() {
+        return boardId;
+    }
+    
+    public void setBoardId(String boardId) {
+        this.boardId = boardId;
+    }
+    
+    public long getSeq() {
+        return seq;
+    }
+    
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+    
+    public BoardChangeEvent.Type getType() {
+        return type;
+    }
+    
+    public void setType(BoardChangeEvent.Type type) {
+        this.type = type;
+    }
+    
+    public String getEntityId() {
+        return entityId;
+    }
+    
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+    
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+    
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -2,6 +2,10 @@ package dev.kreaker.kjk.model;
 
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +15,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "board_columns")
+@CompoundIndexes({
+    @CompoundIndex(name = "board_position", def = "{ 'boardId': 1, 'position': 1 }"),
+    @CompoundIndex(name = "board_name", def = "{ 'boardId': 1, 'name': 1 }", unique = true)
+})
 public class BoardColumn {
     
     @Id
@@ -20,17 +28,21 @@ public class BoardColumn {
     @Size(max = 100, message = "Column name must not exceed 100 characters")
     private String name;
     
-    private Integer position;
+    private Long position;
     
     @Size(max = 7, message = "Color must be a valid hex color")
     private String color = "#3498db";
     
     private LocalDateTime createdAt;
     
+    @LastModifiedDate
     private LocalDateTime updatedAt;
     
     private String boardId;
     
+    @Version
+    private Long version;
+    
     @DBRef
     private List<Task> tasks = new ArrayList<>();
     
@@ -38,7 +50,7 @@ public class BoardColumn {
         this.createdAt = LocalDateTime.now();
     }
     
-    public BoardColumn(String name, Integer position) {
+    public BoardColumn(String name, Long position) {
         this();
         this.name = name;
         this.position = position;
@@ -65,11 +77,11 @@ public class BoardColumn {
         this.name = name;
     }
     
-    public Integer getPosition() {
+    public Long getPosition() {
         return position;
     }
     
-    public void setPosition(Integer position) {
+    public void setPosition(Long position) {
         this.position = position;
     }
     
@@ -122,4 +134,12 @@ public class BoardColumn {
         tasks.remove(task);
         task.setColumnId(null);
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package dev.kreaker.kjk.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column and task counts of one board, kept up to date with {@code $inc} on every
+ * column create and delete and every task write, and rebuilt from the board's
+ * documents by the periodic reconciliation. The id is the board id. Due dates are
+ * counted per day ({@code yyyy-MM-dd}), so the overdue count can be derived at
+ * read time without touching the tasks.
+ * <p>
+ * Every increment bumps {@code version}, so a rebuild only replaces the document
+ * when nothing changed it since the rebuild started counting.
+ */
+@Document(collection = "board_stats")
+public class BoardStats {
+    
+    @Id
+    private String id;
+    
+    private long columnCount;
+    
+    private long taskCount;
+    
+    private Map<String, Long> byColumn = new HashMap<>();
+    
+    private Map<String, Long> byPriority = new HashMap<>();
+    
+    private Map<String, Long> dueByDay = new HashMap<>();
+    
+    private LocalDateTime reconciledAt;
+    
+    @Version
+    private Long version;
+    
+    public BoardStats() {
+    }
+    
+    public BoardStats(String id) {
+        this.id = id;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public long getColumnCount() {
+        return columnCount;
+    }
+    
+    public void setColumnCount(long columnCount) {
+        this.columnCount = columnCount;
+    }
+    
+    public long getTaskCount() {
+        return taskCount;
+    }
+    
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+    
+    /**
+     * Task count per column id.
+     */
+    public Map<String, Long> getByColumn() {
+        return byColumn;
+    }
+    
+    public void setByColumn(Map<String, Long> byColumn) {
+        this.byColumn = byColumn;
+    }
+    
+    /**
+     * Task count per {@link Task.Priority} name.
+     */
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+    
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+    
+    /**
+     * Task count per due day; tasks without a due date are not counted.
+     */
+    public Map<String, Long> getDueByDay() {
+        return dueByDay;
+    }
+    
+    public void setDueByDay(Map<String, Long> dueByDay) {
+        this.dueByDay = dueByDay;
+    }
+    
+    /**
+     * Tasks due on a day before {@code today}: a task is overdue from the day after
+     * its due date, whatever the time of day it carries.
+     */
+    public long countOverdue(LocalDate today) {
+        long overdue = 0;
+        for (Map.Entry<String, Long> day : dueByDay.entrySet()) {
+            if (LocalDate.parse(day.getKey()).isBefore(today)) {
+                overdue += day.getValue();
+            }
+        }
+        return overdue;
+    }
+    
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+    
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.kreaker.kjk.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Highest rank handed out for appends in one scope (the tasks of a column or the
+ * columns of a board). Never lower than the highest position stored in the scope.
+ */
+@Document(collection = "position_counters")
+public class PositionCounter {
+    
+    @Id
+    private String id;
+    
+    private Long last;
+    
+    public PositionCounter() {
+    }
+    
+    public PositionCounter(String id, Long last) {
+        this.id = id;
+        this.last = last;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Long getLast() {
+        return last;
+    }
+    
+    public void setLast(Long last) {
+        this.last = last;
+    }
+}
@@ -2,12 +2,23 @@ package dev.kreaker.kjk.model;
 
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Document(collection = "tasks")
+@CompoundIndexes({
+    @CompoundIndex(name = "column_position_id", def = "{ 'columnId': 1, 'position': 1, '_id': 1 }"),
+    @CompoundIndex(name = "board_column_position", def = "{ 'boardId': 1, 'columnId': 1, 'position': 1 }"),
+    @CompoundIndex(name = "priority_created_id", def = "{ 'priority': 1, 'createdAt': -1, '_id': -1 }"),
+    @CompoundIndex(name = "due_date_id", def = "{ 'dueDate': 1, '_id': 1 }")
+})
 public class Task {
     
     @Id
@@ -15,12 +26,14 @@ public class Task {
     
     @NotBlank(message = "Task title is required")
     @Size(max = 200, message = "Task title must not exceed 200 characters")
+    @TextIndexed(weight = 3)
     private String title;
     
     @Size(max = 1000, message = "Description must not exceed 1000 characters")
+    @TextIndexed
     private String description;
     
-    private Integer position;
+    private Long position;
     
     private Priority priority = Priority.MEDIUM;
     
@@ -31,10 +44,16 @@ public class Task {
     
     private LocalDateTime createdAt;
     
+    @LastModifiedDate
     private LocalDateTime updatedAt;
     
     private String columnId;
     
+    private String boardId;
+    
+    @Version
+    private Long version;
+    
     public enum Priority {
         LOW("Low"),
         MEDIUM("Medium"),
@@ -91,11 +110,11 @@ public class Task {
         this.description = description;
     }
     
-    public Integer getPosition() {
+    public Long getPosition() {
         return position;
     }
     
-    public void setPosition(Integer position) {
+    public void setPosition(Long position) {
         this.position = position;
     }
     
@@ -146,4 +165,20 @@ public class Task {
     public void setColumnId(String columnId) {
         this.columnId = columnId;
     }
+    
+    public String getBoardId() {
+        return boardId;
+    }
+    
+    public void setBoardId(String boardId) {
+        this.boardId = boardId;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package dev.kreaker.kjk.reactive;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Bridges the blocking services into the reactive handlers. Writes keep going
+ * through the blocking services so rank allocation, cache eviction and change
+ * events stay in one place; the call runs on the bounded elastic scheduler so it
+ * never holds a request thread.
+ */
+final class BlockingCalls {
+    
+    private BlockingCalls() {
+    }
+    
+    static <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    static Mono<Void> run(Runnable runnable) {
+        return Mono.fromRunnable(runnable).subscribeOn(Schedulers.boundedElastic()).then();
+    }
+}
@@ -0,0 +1,81 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.controller.BoardColumnController;
+import dev.kreaker.kjk.controller.BoardController;
+import dev.kreaker.kjk.controller.ConditionalGet;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.service.ResourceStamps;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link BoardColumnController}, active with the {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveBoardColumnController {
+    
+    private final ReactiveBoardColumnService columnService;
+    
+    @Autowired
+    public ReactiveBoardColumnController(ReactiveBoardColumnService columnService) {
+        this.columnService = columnService;
+    }
+    
+    @GetMapping("/boards/{boardId}/columns")
+    public Mono<ResponseEntity<List<BoardColumn>>> getColumnsByBoardId(@PathVariable String boardId,
+                                                                        WebRequest request) {
+        return ConditionalGet.respond(request, columnService.getColumnsStamp(boardId),
+                () -> columnService.getColumnsByBoardId(boardId).collectList(), ResourceStamps::ofColumns);
+    }
+    
+    @GetMapping("/columns/{id}")
+    public Mono<ResponseEntity<BoardColumn>> getColumnById(@PathVariable String id, WebRequest request) {
+        return ConditionalGet.respond(request, columnService.getColumnStamp(id),
+                () -> columnService.getColumnById(id), ResourceStamps::of);
+    }
+    
+    @PostMapping("/boards/{boardId}/columns")
+    public Mono<ResponseEntity<?>> createColumn(@PathVariable String boardId, @Valid @RequestBody BoardColumn column) {
+        return columnService.createColumn(boardId, column)
+                .<ResponseEntity<?>>map(createdColumn -> ResponseEntity.status(HttpStatus.CREATED).body(createdColumn))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @PutMapping("/columns/{id}")
+    public Mono<ResponseEntity<?>> updateColumn(@PathVariable String id, @Valid @RequestBody BoardColumn columnDetails) {
+        return columnService.updateColumn(id, columnDetails)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @DeleteMapping("/columns/{id}")
+    public Mono<ResponseEntity<?>> deleteColumn(@PathVariable String id) {
+        return columnService.deleteColumn(id)
+                .<ResponseEntity<?>>thenReturn(ResponseEntity.ok(new BoardController.SuccessResponse("Column deleted successfully")))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @PutMapping("/columns/{id}/move")
+    public Mono<ResponseEntity<?>> moveColumn(@PathVariable String id,
+                                              @RequestBody BoardColumnController.MoveColumnRequest request) {
+        return Mono.fromRunnable(request::requireAnchors)
+                .then(columnService.moveColumn(id, request.getAfterColumnId(), request.getBeforeColumnId()))
+                .<ResponseEntity<?>>thenReturn(ResponseEntity.ok(new BoardController.SuccessResponse("Column moved successfully")))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    private ResponseEntity<?> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+    }
+}
@@ -0,0 +1,30 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.model.BoardColumn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive column reads. The {@code tasks} DBRef is always projected out because
+ * the reactive driver cannot resolve DBRefs.
+ */
+@Repository
+@Profile("reactive")
+public interface ReactiveBoardColumnRepository extends ReactiveMongoRepository<BoardColumn, String> {
+    
+    @Query(value = "{ 'boardId': ?0 }", fields = "{ 'tasks': 0 }", sort = "{ 'position': 1 }")
+    Flux<BoardColumn> findLayoutByBoardId(String boardId);
+    
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'tasks': 0 }")
+    Mono<BoardColumn> findLayoutById(String id);
+    
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    Mono<BoardColumn> findStampById(String id);
+    
+    @Query(value = "{ 'boardId': ?0 }", fields = "{ 'version': 1 }")
+    Flux<BoardColumn> findStampsByBoardId(String boardId);
+}
@@ -0,0 +1,60 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.dto.ResourceStamp;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.service.BoardColumnService;
+import dev.kreaker.kjk.service.ResourceStamps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveBoardColumnService {
+    
+    private final ReactiveBoardColumnRepository columnRepository;
+    private final BoardColumnService columnService;
+    
+    @Autowired
+    public ReactiveBoardColumnService(ReactiveBoardColumnRepository columnRepository,
+                                      BoardColumnService columnService) {
+        this.columnRepository = columnRepository;
+        this.columnService = columnService;
+    }
+    
+    public Flux<BoardColumn> getColumnsByBoardId(String boardId) {
+        return columnRepository.findLayoutByBoardId(boardId);
+    }
+    
+    public Mono<BoardColumn> getColumnById(String id) {
+        return columnRepository.findLayoutById(id);
+    }
+    
+    public Mono<ResourceStamp> getColumnsStamp(String boardId) {
+        return columnRepository.findStampsByBoardId(boardId).collectList()
+                .map(ResourceStamps::ofColumns);
+    }
+    
+    public Mono<ResourceStamp> getColumnStamp(String id) {
+        return columnRepository.findStampById(id)
+                .map(ResourceStamps::of);
+    }
+    
+    public Mono<BoardColumn> createColumn(String boardId, BoardColumn column) {
+        return BlockingCalls.call(() -> columnService.createColumn(boardId, column));
+    }
+    
+    public Mono<BoardColumn> updateColumn(String id, BoardColumn columnDetails) {
+        return BlockingCalls.call(() -> columnService.updateColumn(id, columnDetails));
+    }
+    
+    public Mono<Void> deleteColumn(String id) {
+        return BlockingCalls.run(() -> columnService.deleteColumn(id));
+    }
+    
+    public Mono<Void> moveColumn(String columnId, String afterColumnId, String beforeColumnId) {
+        return BlockingCalls.run(() -> columnService.moveColumn(columnId, afterColumnId, beforeColumnId));
+    }
+}
@@ -0,0 +1,112 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.controller.BoardController;
+import dev.kreaker.kjk.controller.ConditionalGet;
+import dev.kreaker.kjk.dto.BoardStatsView;
+import dev.kreaker.kjk.dto.BoardSummary;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.service.ResourceStamps;
+import dev.kreaker.kjk.service.VersionConflictException;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link BoardController}, active with the {@code reactive} profile.
+ */
+@RestController
+@RequestMapping("/api/boards")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveBoardController {
+    
+    private final ReactiveBoardService boardService;
+    
+    @Autowired
+    public ReactiveBoardController(ReactiveBoardService boardService) {
+        this.boardService = boardService;
+    }
+    
+    @GetMapping
+    public Mono<ResponseEntity<List<BoardSummary>>> getAllBoards() {
+        return boardService.getBoardSummaries().map(ResponseEntity::ok);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Board>> getBoardById(@PathVariable String id, WebRequest request) {
+        return ConditionalGet.respond(request, boardService.getBoardStamp(id),
+                () -> boardService.getBoardById(id), ResourceStamps::of);
+    }
+    
+    @GetMapping("/{id}/stats")
+    public Mono<ResponseEntity<BoardStatsView>> getBoardStats(@PathVariable String id) {
+        return boardService.getBoardStats(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{id}/changes")
+    public Mono<ResponseEntity<?>> getBoardChanges(@PathVariable String id,
+                                                   @RequestParam(required = false) String since) {
+        return boardService.getBoardChanges(id, since)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(errorResponse(e, "")));
+    }
+    
+    @GetMapping("/{id}/snapshot")
+    public Mono<ResponseEntity<Board>> getBoardSnapshot(@PathVariable String id) {
+        return boardService.getBoardSnapshot(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping
+    public Mono<ResponseEntity<?>> createBoard(@Valid @RequestBody Board board) {
+        return boardService.createBoard(board)
+                .<ResponseEntity<?>>map(createdBoard -> ResponseEntity.status(HttpStatus.CREATED).body(createdBoard))
+                .onErrorResume(ReactiveBoardController::isHandledHere, e -> Mono.just(errorResponse(e, "Failed to create board: ")));
+    }
+    
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateBoard(@PathVariable String id, @Valid @RequestBody Board boardDetails) {
+        return boardService.updateBoard(id, boardDetails)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(ReactiveBoardController::isHandledHere, e -> Mono.just(errorResponse(e, "Failed to update board: ")));
+    }
+    
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deleteBoard(@PathVariable String id) {
+        return boardService.deleteBoard(id)
+                .<ResponseEntity<?>>thenReturn(ResponseEntity.ok(new BoardController.SuccessResponse("Board deleted successfully")))
+                .onErrorResume(ReactiveBoardController::isHandledHere, e -> Mono.just(errorResponse(e, "Failed to delete board: ")));
+    }
+    
+    @GetMapping("/{id}/exists")
+    public Mono<ResponseEntity<Boolean>> boardExists(@PathVariable String id) {
+        return boardService.boardExists(id).map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Version conflicts are left to {@code GlobalExceptionHandler}, which answers 409.
+     */
+    private static boolean isHandledHere(Throwable e) {
+        return !(e instanceof VersionConflictException || e instanceof OptimisticLockingFailureException);
+    }
+    
+    private ResponseEntity<?> errorResponse(Throwable e, String prefix) {
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new BoardController.ErrorResponse(prefix + e.getMessage()));
+    }
+}
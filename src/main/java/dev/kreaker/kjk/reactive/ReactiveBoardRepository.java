@@ -0,0 +1,27 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.model.Board;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive board reads. The {@code columns} DBRef is always projected out because
+ * the reactive driver cannot resolve DBRefs.
+ */
+@Repository
+@Profile("reactive")
+public interface ReactiveBoardRepository extends ReactiveMongoRepository<Board, String> {
+    
+    @Query(value = "{}", fields = "{ 'columns': 0 }", sort = "{ 'createdAt': -1 }")
+    Flux<Board> findAllHeaders();
+    
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'columns': 0 }")
+    Mono<Board> findHeaderById(String id);
+    
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    Mono<Board> findStampById(String id);
+}
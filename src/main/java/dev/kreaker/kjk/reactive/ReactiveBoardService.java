@@ -0,0 +1,122 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.dto.BoardChanges;
+import dev.kreaker.kjk.dto.BoardStatsView;
+import dev.kreaker.kjk.dto.BoardSummary;
+import dev.kreaker.kjk.dto.ResourceStamp;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.service.BoardChangeLog;
+import dev.kreaker.kjk.service.BoardService;
+import dev.kreaker.kjk.service.BoardStatsService;
+import dev.kreaker.kjk.service.ResourceStamps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBoardService {
+    
+    private final ReactiveBoardRepository boardRepository;
+    private final ReactiveBoardColumnRepository columnRepository;
+    private final ReactiveTaskRepository taskRepository;
+    private final BoardService boardService;
+    private final BoardStatsService boardStatsService;
+    private final BoardChangeLog changeLog;
+    
+    @Autowired
+    public ReactiveBoardService(ReactiveBoardRepository boardRepository,
+                                ReactiveBoardColumnRepository columnRepository,
+                                ReactiveTaskRepository taskRepository, BoardService boardService,
+                                BoardStatsService boardStatsService, BoardChangeLog changeLog) {
+        this.boardRepository = boardRepository;
+        this.columnRepository = columnRepository;
+        this.taskRepository = taskRepository;
+        this.boardService = boardService;
+        this.boardStatsService = boardStatsService;
+        this.changeLog = changeLog;
+    }
+    
+    public Flux<Board> getAllBoards() {
+        return boardRepository.findAllHeaders();
+    }
+    
+    /**
+     * Delegates to {@link BoardService#getBoardSummaries}, whose counts are read
+     * from the board statistics through the blocking repositories.
+     */
+    public Mono<List<BoardSummary>> getBoardSummaries() {
+        return BlockingCalls.call(boardService::getBoardSummaries);
+    }
+    
+    public Mono<BoardStatsView> getBoardStats(String id) {
+        return BlockingCalls.call(() -> boardStatsService.getStats(id).orElse(null));
+    }
+    
+    public Mono<BoardChanges> getBoardChanges(String id, String since) {
+        return BlockingCalls.call(() -> changeLog.getChanges(id, since).orElse(null));
+    }
+    
+    public Mono<Board> getBoardById(String id) {
+        return boardRepository.findHeaderById(id);
+    }
+    
+    public Mono<ResourceStamp> getBoardStamp(String id) {
+        return boardRepository.findStampById(id)
+                .map(ResourceStamps::of);
+    }
+    
+    /**
+     * Same shape as {@link BoardService#getBoardSnapshot}; the header and the column
+     * layout are read concurrently, then the tasks of all columns in one query.
+     */
+    public Mono<Board> getBoardSnapshot(String id) {
+        return Mono.zip(boardRepository.findHeaderById(id), columnRepository.findLayoutByBoardId(id).collectList())
+                .flatMap(headerAndColumns -> {
+                    Board board = headerAndColumns.getT1();
+                    List<BoardColumn> columns = headerAndColumns.getT2();
+                    Map<String, BoardColumn> columnsById = new LinkedHashMap<>();
+                    for (BoardColumn column : columns) {
+                        column.setTasks(new ArrayList<>());
+                        columnsById.put(column.getId(), column);
+                    }
+                    board.setColumns(columns);
+                    
+                    if (columnsById.isEmpty()) {
+                        return Mono.just(board);
+                    }
+                    return taskRepository.findByColumnIdInOrderByPosition(columnsById.keySet())
+                            .doOnNext(task -> {
+                                BoardColumn column = columnsById.get(task.getColumnId());
+                                if (column != null) {
+                                    column.getTasks().add(task);
+                                }
+                            })
+                            .then(Mono.just(board));
+                });
+    }
+    
+    public Mono<Board> createBoard(Board board) {
+        return BlockingCalls.call(() -> boardService.createBoard(board));
+    }
+    
+    public Mono<Board> updateBoard(String id, Board boardDetails) {
+        return BlockingCalls.call(() -> boardService.updateBoard(id, boardDetails));
+    }
+    
+    public Mono<Void> deleteBoard(String id) {
+        return BlockingCalls.run(() -> boardService.deleteBoard(id));
+    }
+    
+    public Mono<Boolean> boardExists(String id) {
+        return boardRepository.existsById(id);
+    }
+}
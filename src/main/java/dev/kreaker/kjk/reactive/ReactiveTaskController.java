@@ -0,0 +1,180 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.controller.BoardController;
+import dev.kreaker.kjk.controller.ConditionalGet;
+import dev.kreaker.kjk.controller.TaskController;
+import dev.kreaker.kjk.dto.TaskCard;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.service.ResourceStamps;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link TaskController}, active with the {@code reactive} profile.
+ * NDJSON variants return a {@link Flux} that is written document by document.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveTaskController {
+    
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    
+    private final ReactiveTaskService taskService;
+    
+    @Autowired
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+    
+    @GetMapping("/columns/{columnId}/tasks")
+    public Mono<ResponseEntity<?>> getTasksByColumnId(
+            @PathVariable String columnId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            WebRequest request) {
+        if (limit == null && after == null) {
+            return ConditionalGet.respond(request, taskService.getColumnTasksStamp(columnId),
+                    () -> taskService.getTasksByColumnId(columnId).collectList(), ResourceStamps::ofTasks)
+                    .<ResponseEntity<?>>map(response -> response);
+        }
+        return taskService.getTasksByColumnId(columnId, after, pageLimit(limit))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @GetMapping(value = "/columns/{columnId}/tasks", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamTasksByColumnId(@PathVariable String columnId) {
+        return taskService.getTasksByColumnId(columnId);
+    }
+    
+    @GetMapping("/boards/{boardId}/tasks")
+    public Mono<ResponseEntity<List<Task>>> getTasksByBoardId(@PathVariable String boardId, WebRequest request) {
+        return ConditionalGet.respond(request, taskService.getBoardTasksStamp(boardId),
+                () -> taskService.getTasksByBoardId(boardId).collectList(), ResourceStamps::ofTasks);
+    }
+    
+    @GetMapping("/boards/{boardId}/cards")
+    public Mono<ResponseEntity<List<TaskCard>>> getCardsByBoardId(@PathVariable String boardId, WebRequest request) {
+        return ConditionalGet.respond(request, taskService.getBoardTasksStamp(boardId),
+                () -> taskService.getBoardCards(boardId).collectList());
+    }
+    
+    @GetMapping("/tasks/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable String id, WebRequest request) {
+        return ConditionalGet.respond(request, taskService.getTaskStamp(id), () -> taskService.getTaskById(id),
+                ResourceStamps::of);
+    }
+    
+    @PostMapping("/columns/{columnId}/tasks")
+    public Mono<ResponseEntity<?>> createTask(@PathVariable String columnId, @Valid @RequestBody Task task) {
+        return taskService.createTask(columnId, task)
+                .<ResponseEntity<?>>map(createdTask -> ResponseEntity.status(HttpStatus.CREATED).body(createdTask))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @PutMapping("/tasks/{id}")
+    public Mono<ResponseEntity<?>> updateTask(@PathVariable String id, @Valid @RequestBody Task taskDetails) {
+        return taskService.updateTask(id, taskDetails)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @DeleteMapping("/tasks/{id}")
+    public Mono<ResponseEntity<?>> deleteTask(@PathVariable String id) {
+        return taskService.deleteTask(id)
+                .<ResponseEntity<?>>thenReturn(ResponseEntity.ok(new BoardController.SuccessResponse("Task deleted successfully")))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @PutMapping("/tasks/{id}/move")
+    public Mono<ResponseEntity<?>> moveTask(@PathVariable String id, @RequestBody TaskController.MoveTaskRequest request) {
+        return Mono.fromRunnable(request::requireAnchors)
+                .then(taskService.moveTask(id, request.getNewColumnId(), request.getAfterTaskId(),
+                        request.getBeforeTaskId()))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @PostMapping("/tasks/batch")
+    public Mono<ResponseEntity<?>> applyBatch(@RequestBody TaskController.TaskBatchRequest request) {
+        return taskService.applyBatch(request.getOperations())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @GetMapping("/tasks/priority/{priority}")
+    public Mono<ResponseEntity<?>> getTasksByPriority(
+            @PathVariable Task.Priority priority,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        if (limit == null && after == null) {
+            return taskService.getTasksByPriority(priority).collectList().<ResponseEntity<?>>map(ResponseEntity::ok);
+        }
+        return taskService.getTasksByPriority(priority, after, pageLimit(limit))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @GetMapping(value = "/tasks/priority/{priority}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamTasksByPriority(@PathVariable Task.Priority priority) {
+        return taskService.streamTasksByPriority(priority);
+    }
+    
+    @GetMapping("/tasks/due")
+    public Mono<ResponseEntity<?>> getTasksDueBetween(
+            @RequestParam LocalDateTime start,
+            @RequestParam LocalDateTime end,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        if (limit == null && after == null) {
+            return taskService.getTasksDueBetween(start, end).collectList().<ResponseEntity<?>>map(ResponseEntity::ok);
+        }
+        return taskService.getTasksDueBetween(start, end, after, pageLimit(limit))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @GetMapping("/search")
+    public Mono<ResponseEntity<?>> searchTasks(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Task.Priority priority,
+            @RequestParam(required = false) LocalDateTime dueBefore,
+            @RequestParam(required = false) String boardId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return taskService.searchTasks(q, priority, dueBefore, boardId, page, size)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(badRequest(e)));
+    }
+    
+    @GetMapping(value = "/tasks/due", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamTasksDueBetween(@RequestParam LocalDateTime start, @RequestParam LocalDateTime end) {
+        return taskService.streamTasksDueBetween(start, end);
+    }
+    
+    @GetMapping("/boards/{boardId}/tasks/count")
+    public Mono<ResponseEntity<Long>> getTaskCountByBoardId(@PathVariable String boardId) {
+        return taskService.getTaskCountByBoardId(boardId).map(ResponseEntity::ok);
+    }
+    
+    private int pageLimit(Integer limit) {
+        return limit != null ? limit : DEFAULT_PAGE_SIZE;
+    }
+    
+    private ResponseEntity<?> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new BoardController.ErrorResponse(e.getMessage()));
+    }
+}
@@ -0,0 +1,45 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.dto.TaskCard;
+import dev.kreaker.kjk.model.Task;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+@Profile("reactive")
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String> {
+    
+    Flux<Task> findByColumnIdOrderByPosition(String columnId);
+    
+    Flux<Task> findByColumnIdInOrderByPosition(Collection<String> columnIds);
+    
+    Flux<Task> findByBoardId(String boardId);
+    
+    Flux<TaskCard> findCardsByBoardIdOrderByColumnIdAscPositionAsc(String boardId);
+    
+    Mono<Long> countByBoardId(String boardId);
+    
+    Flux<Task> findByPriority(Task.Priority priority);
+    
+    Flux<Task> findByPriorityOrderByCreatedAtDesc(Task.Priority priority);
+    
+    Flux<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
+    
+    Flux<Task> findByDueDateBetweenOrderByDueDate(LocalDateTime start, LocalDateTime end);
+    
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    Mono<Task> findStampById(String id);
+    
+    @Query(value = "{ 'columnId': ?0 }", fields = "{ 'version': 1 }")
+    Flux<Task> findStampsByColumnId(String columnId);
+    
+    @Query(value = "{ 'boardId': ?0 }", fields = "{ 'version': 1 }")
+    Flux<Task> findStampsByBoardId(String boardId);
+}
@@ -0,0 +1,132 @@
+package dev.kreaker.kjk.reactive;
+
+import dev.kreaker.kjk.dto.ResourceStamp;
+import dev.kreaker.kjk.dto.TaskBatchOperation;
+import dev.kreaker.kjk.dto.TaskBatchResult;
+import dev.kreaker.kjk.dto.TaskCard;
+import dev.kreaker.kjk.dto.TaskPage;
+import dev.kreaker.kjk.dto.TaskSearchResult;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.service.ResourceStamps;
+import dev.kreaker.kjk.service.TaskBatchService;
+import dev.kreaker.kjk.service.TaskService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Task reads go straight to the reactive driver; keyset pages and writes are
+ * delegated to {@link TaskService} and {@link TaskBatchService}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+    
+    private final ReactiveTaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    
+    @Autowired
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository, TaskService taskService,
+                               TaskBatchService taskBatchService) {
+        this.taskRepository = taskRepository;
+        this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+    }
+    
+    public Flux<Task> getTasksByColumnId(String columnId) {
+        return taskRepository.findByColumnIdOrderByPosition(columnId);
+    }
+    
+    public Mono<Task> getTaskById(String id) {
+        return taskRepository.findById(id);
+    }
+    
+    public Flux<Task> getTasksByBoardId(String boardId) {
+        return taskRepository.findByBoardId(boardId);
+    }
+    
+    public Mono<ResourceStamp> getTaskStamp(String id) {
+        return taskRepository.findStampById(id)
+                .map(ResourceStamps::of);
+    }
+    
+    public Mono<ResourceStamp> getColumnTasksStamp(String columnId) {
+        return taskRepository.findStampsByColumnId(columnId).collectList()
+                .map(ResourceStamps::ofTasks);
+    }
+    
+    /**
+     * Stamp of the tasks of a board, shared by the full tasks and the card listing.
+     */
+    public Mono<ResourceStamp> getBoardTasksStamp(String boardId) {
+        return taskRepository.findStampsByBoardId(boardId).collectList()
+                .map(ResourceStamps::ofTasks);
+    }
+    
+    public Flux<TaskCard> getBoardCards(String boardId) {
+        return taskRepository.findCardsByBoardIdOrderByColumnIdAscPositionAsc(boardId);
+    }
+    
+    public Flux<Task> getTasksByPriority(Task.Priority priority) {
+        return taskRepository.findByPriority(priority);
+    }
+    
+    public Flux<Task> getTasksDueBetween(LocalDateTime start, LocalDateTime end) {
+        return taskRepository.findByDueDateBetween(start, end);
+    }
+    
+    public Flux<Task> streamTasksByPriority(Task.Priority priority) {
+        return taskRepository.findByPriorityOrderByCreatedAtDesc(priority);
+    }
+    
+    public Flux<Task> streamTasksDueBetween(LocalDateTime start, LocalDateTime end) {
+        return taskRepository.findByDueDateBetweenOrderByDueDate(start, end);
+    }
+    
+    public Mono<Long> getTaskCountByBoardId(String boardId) {
+        return taskRepository.countByBoardId(boardId);
+    }
+    
+    public Mono<TaskPage> getTasksByColumnId(String columnId, String after, int limit) {
+        return BlockingCalls.call(() -> taskService.getTasksByColumnId(columnId, after, limit));
+    }
+    
+    public Mono<TaskPage> getTasksByPriority(Task.Priority priority, String after, int limit) {
+        return BlockingCalls.call(() -> taskService.getTasksByPriority(priority, after, limit));
+    }
+    
+    public Mono<TaskPage> getTasksDueBetween(LocalDateTime start, LocalDateTime end, String after, int limit) {
+        return BlockingCalls.call(() -> taskService.getTasksDueBetween(start, end, after, limit));
+    }
+    
+    public Mono<TaskSearchResult> searchTasks(String query, Task.Priority priority, LocalDateTime dueBefore,
+                                              String boardId, int page, int size) {
+        return BlockingCalls.call(() -> taskService.searchTasks(query, priority, dueBefore, boardId, page, size));
+    }
+    
+    public Mono<Task> createTask(String columnId, Task task) {
+        return BlockingCalls.call(() -> taskService.createTask(columnId, task));
+    }
+    
+    public Mono<Task> updateTask(String id, Task taskDetails) {
+        return BlockingCalls.call(() -> taskService.updateTask(id, taskDetails));
+    }
+    
+    public Mono<Void> deleteTask(String id) {
+        return BlockingCalls.run(() -> taskService.deleteTask(id));
+    }
+    
+    public Mono<Task> moveTask(String taskId, String newColumnId, String afterTaskId, String beforeTaskId) {
+        return BlockingCalls.call(() -> taskService.moveTask(taskId, newColumnId, afterTaskId, beforeTaskId));
+    }
+    
+    public Mono<List<TaskBatchResult>> applyBatch(List<TaskBatchOperation> operations) {
+        return BlockingCalls.call(() -> taskBatchService.apply(operations));
+    }
+}
@@ -0,0 +1,19 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.BoardChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BoardChangeRepository extends DocumentRepository<BoardChange>, BoardChangeRepositoryCustom {
+    
+    List<BoardChange> findByBoardIdAndSeqGreaterThanOrderBySeqAsc(String boardId, long seq, Limit limit);
+    
+    /**
+     * Oldest entry of the board still retained.
+     */
+    Optional<BoardChange> findFirstByBoardIdOrderBySeqAsc(String boardId);
+}
@@ -0,0 +1,25 @@
+package dev.kreaker.kjk.repository;
+
+/**
+ * Sequence numbers of the board change logs, kept in {@code board_change_heads}
+ * (one document per board, id = board id).
+ */
+public interface BoardChangeRepositoryCustom {
+    
+    /**
+     * Atomically advances the board's sequence and returns the new value; the
+     * first call for a board returns 1.
+     */
+    long nextSeq(String boardId);
+    
+    /**
+     * The last sequence number handed out for the board, 0 when none.
+     */
+    long currentSeq(String boardId);
+    
+    /**
+     * Removes the log entries and the sequence of a board with one {@code deleteMany}
+     * and one {@code deleteOne}. Returns the number of entries removed.
+     */
+    long removeByBoardId(String boardId);
+}
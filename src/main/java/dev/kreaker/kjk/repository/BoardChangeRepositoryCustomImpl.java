@@ -0,0 +1,46 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.BoardChange;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class BoardChangeRepositoryCustomImpl implements BoardChangeRepositoryCustom {
+    
+    private static final String HEADS = "board_change_heads";
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public BoardChangeRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public long nextSeq(String boardId) {
+        // An upsert on _id is retried by the server when two first calls race
+        Document head = mongoTemplate.findAndModify(headOf(boardId), new Update().inc("seq", 1L),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Document.class, HEADS);
+        return ((Number) head.get("seq")).longValue();
+    }
+    
+    @Override
+    public long currentSeq(String boardId) {
+        Document head = mongoTemplate.findOne(headOf(boardId), Document.class, HEADS);
+        return head != null ? ((Number) head.get("seq")).longValue() : 0;
+    }
+    
+    @Override
+    public long removeByBoardId(String boardId) {
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("boardId").is(boardId)), BoardChange.class)
+                .getDeletedCount();
+        mongoTemplate.remove(headOf(boardId), HEADS);
+        return removed;
+    }
+    
+    private static Query headOf(String boardId) {
+        return Query.query(Criteria.where("_id").is(boardId));
+    }
+}
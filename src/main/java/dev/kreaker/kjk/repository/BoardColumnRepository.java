@@ -1,15 +1,15 @@
 package dev.kreaker.kjk.repository;
 
 import dev.kreaker.kjk.model.BoardColumn;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BoardColumnRepository extends MongoRepository<BoardColumn, String> {
+public interface BoardColumnRepository extends DocumentRepository<BoardColumn>, BoardColumnRepositoryCustom {
     
     List<BoardColumn> findByBoardIdOrderByPosition(String boardId);
     
@@ -18,7 +18,11 @@ public interface BoardColumnRepository extends MongoRepository<BoardColumn, Stri
     @Query("{ 'boardId': ?0 }")
     List<BoardColumn> findByBoardId(String boardId);
     
-    boolean existsByBoardIdAndName(String boardId, String name);
+    @Query(value = "{ 'boardId': ?0 }", fields = "{ 'tasks': 0 }", sort = "{ 'position': 1 }")
+    List<BoardColumn> findLayoutByBoardId(String boardId);
+    
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = "{ 'tasks': 0 }")
+    List<BoardColumn> findLayoutByIdIn(Collection<String> ids);
     
-    void deleteByBoardId(String boardId);
+    boolean existsByBoardIdAndName(String boardId, String name);
 }
\ No newline at end of file
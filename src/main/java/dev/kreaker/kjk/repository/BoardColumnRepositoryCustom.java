@@ -0,0 +1,80 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.BoardColumn;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Position-oriented queries and partial updates for columns that cannot be
+ * expressed as derived queries.
+ */
+public interface BoardColumnRepositoryCustom {
+    
+    /**
+     * Returns the lowest position in a board above {@code position}, ignoring
+     * {@code excludedColumnId} (may be {@code null}), or {@code null} when there is none.
+     * One seek on the {@code {boardId, position}} index, however long the board.
+     */
+    Long findPositionAfter(String boardId, String excludedColumnId, long position);
+    
+    /**
+     * Returns the highest position in a board below {@code position}, ignoring
+     * {@code excludedColumnId} (may be {@code null}), or {@code null} when there is none.
+     */
+    Long findPositionBefore(String boardId, String excludedColumnId, long position);
+    
+    /**
+     * Returns the highest position in a board ignoring {@code excludedColumnId},
+     * or {@code null} when the board has no columns.
+     */
+    Long findLastPosition(String boardId, String excludedColumnId);
+    
+    /**
+     * Sets the position of a single column without rewriting the document, provided
+     * it is still at {@code expectedVersion}; bumps the version.
+     *
+     * @return whether the column was updated
+     */
+    boolean updatePosition(String columnId, Long expectedVersion, long position);
+    
+    /**
+     * Sets the name and color of a column, provided it is still at its loaded
+     * version; bumps the version.
+     *
+     * @return whether the column was updated
+     */
+    boolean updateDetails(BoardColumn column);
+    
+    /**
+     * Counts the columns of a board positioned strictly between two ranks, either of
+     * which may be {@code null} for an open end, ignoring {@code excludedColumnId}.
+     */
+    long countBetween(String boardId, String excludedColumnId, Long previous, Long next);
+    
+    /**
+     * Sets the position of many columns in one unordered bulk write, touching only
+     * the {@code position} and {@code version} fields. Keys are column ids.
+     */
+    void bulkSetPositions(Map<String, Long> positions);
+    
+    /**
+     * Deletes one column and reports whether this call removed it; of concurrent
+     * deletes of the same column exactly one returns {@code true}.
+     */
+    boolean removeById(String id);
+    
+    /**
+     * Deletes every column of a board with one server-side {@code deleteMany},
+     * without loading them first.
+     *
+     * @return the number of columns deleted
+     */
+    long removeByBoardId(String boardId);
+    
+    /**
+     * Counts the columns of each board in one grouped aggregation. Boards without
+     * columns are absent from the result.
+     */
+    Map<String, Long> countByBoardIdIn(Collection<String> boardIds);
+}
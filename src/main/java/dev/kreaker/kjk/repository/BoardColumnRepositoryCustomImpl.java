@@ -0,0 +1,138 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.BoardColumn;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BoardColumnRepositoryCustomImpl implements BoardColumnRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public BoardColumnRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public Long findPositionAfter(String boardId, String excludedColumnId, long position) {
+        return findNeighbour(siblingsOf(boardId, excludedColumnId).addCriteria(Criteria.where("position").gt(position)),
+                Sort.Direction.ASC);
+    }
+    
+    @Override
+    public Long findPositionBefore(String boardId, String excludedColumnId, long position) {
+        return findNeighbour(siblingsOf(boardId, excludedColumnId).addCriteria(Criteria.where("position").lt(position)),
+                Sort.Direction.DESC);
+    }
+    
+    @Override
+    public Long findLastPosition(String boardId, String excludedColumnId) {
+        Query query = siblingsOf(boardId, excludedColumnId)
+                .with(Sort.by(Sort.Direction.DESC, "position"))
+                .limit(1);
+        query.fields().include("position");
+        BoardColumn last = mongoTemplate.findOne(query, BoardColumn.class);
+        return last != null ? last.getPosition() : null;
+    }
+    
+    @Override
+    public boolean updatePosition(String columnId, Long expectedVersion, long position) {
+        Query query = Query.query(Criteria.where("_id").is(columnId).and("version").is(expectedVersion));
+        Update update = Update.update("position", position)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, BoardColumn.class).getMatchedCount() > 0;
+    }
+    
+    @Override
+    public boolean updateDetails(BoardColumn column) {
+        Query query = Query.query(Criteria.where("_id").is(column.getId()).and("version").is(column.getVersion()));
+        Update update = new Update()
+                .set("name", column.getName())
+                .set("color", column.getColor())
+                .set("updatedAt", column.getUpdatedAt())
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, BoardColumn.class).getMatchedCount() > 0;
+    }
+    
+    @Override
+    public long countBetween(String boardId, String excludedColumnId, Long previous, Long next) {
+        Query query = siblingsOf(boardId, excludedColumnId);
+        if (previous != null || next != null) {
+            Criteria range = Criteria.where("position");
+            if (previous != null) {
+                range = range.gt(previous);
+            }
+            if (next != null) {
+                range = range.lt(next);
+            }
+            query.addCriteria(range);
+        }
+        return mongoTemplate.count(query, BoardColumn.class);
+    }
+    
+    @Override
+    public void bulkSetPositions(Map<String, Long> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BoardColumn.class);
+        LocalDateTime now = LocalDateTime.now();
+        positions.forEach((id, position) ->
+                bulk.updateOne(Query.query(Criteria.where("_id").is(id)),
+                        Update.update("position", position).set("updatedAt", now).inc("version", 1)));
+        bulk.execute();
+    }
+    
+    @Override
+    public boolean removeById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), BoardColumn.class)
+                .getDeletedCount() == 1;
+    }
+    
+    @Override
+    public long removeByBoardId(String boardId) {
+        return mongoTemplate.remove(Query.query(Criteria.where("boardId").is(boardId)), BoardColumn.class)
+                .getDeletedCount();
+    }
+    
+    @Override
+    public Map<String, Long> countByBoardIdIn(Collection<String> boardIds) {
+        Map<String, Long> counts = new HashMap<>();
+        if (boardIds.isEmpty()) {
+            return counts;
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("boardId").in(boardIds)),
+                Aggregation.group("boardId").count().as("count"));
+        for (Document result : mongoTemplate.aggregate(aggregation, BoardColumn.class, Document.class)) {
+            counts.put(result.getString("_id"), ((Number) result.get("count")).longValue());
+        }
+        return counts;
+    }
+    
+    private Long findNeighbour(Query range, Sort.Direction direction) {
+        Query query = range.with(Sort.by(direction, "position")).limit(1);
+        query.fields().include("position");
+        BoardColumn neighbour = mongoTemplate.findOne(query, BoardColumn.class);
+        return neighbour != null ? neighbour.getPosition() : null;
+    }
+    
+    private Query siblingsOf(String boardId, String excludedColumnId) {
+        Criteria criteria = Criteria.where("boardId").is(boardId);
+        if (excludedColumnId != null) {
+            criteria = criteria.and("_id").ne(excludedColumnId);
+        }
+        return Query.query(criteria);
+    }
+}
@@ -1,18 +1,28 @@
 package dev.kreaker.kjk.repository;
 
 import dev.kreaker.kjk.model.Board;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BoardRepository extends MongoRepository<Board, String> {
+public interface BoardRepository extends DocumentRepository<Board> {
     
     List<Board> findAllByOrderByCreatedAtDesc();
     
     boolean existsByName(String name);
     
     Optional<Board> findById(String id);
+    
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'columns': 0 }")
+    Optional<Board> findHeaderById(String id);
+    
+    /**
+     * All boards, newest first, with only the fields the board list shows.
+     */
+    @Query(value = "{}", fields = "{ 'name': 1, 'description': 1, 'createdAt': 1, 'updatedAt': 1 }",
+           sort = "{ 'createdAt': -1 }")
+    List<Board> findAllHeaders();
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.BoardStats;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BoardStatsRepository extends DocumentRepository<BoardStats>, BoardStatsRepositoryCustom {
+}
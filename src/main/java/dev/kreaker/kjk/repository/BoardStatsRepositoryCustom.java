@@ -0,0 +1,19 @@
+package dev.kreaker.kjk.repository;
+
+import java.util.Map;
+
+/**
+ * Incremental updates of {@code board_stats}.
+ */
+public interface BoardStatsRepositoryCustom {
+    
+    /**
+     * Applies the deltas, keyed by field path (e.g. {@code byColumn.<columnId>}), to
+     * the statistics of a board with one {@code $inc}. Does not create missing
+     * statistics, which would start from zero instead of the board's tasks. Bumps
+     * the version.
+     *
+     * @return whether the board had statistics to update
+     */
+    boolean increment(String boardId, Map<String, Long> deltas);
+}
@@ -0,0 +1,28 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.BoardStats;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+
+public class BoardStatsRepositoryCustomImpl implements BoardStatsRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public BoardStatsRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public boolean increment(String boardId, Map<String, Long> deltas) {
+        Update update = new Update();
+        deltas.forEach(update::inc);
+        // Fails the version check of a rebuild that counted before this change
+        update.inc("version", 1);
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(boardId)), update, BoardStats.class)
+                .getMatchedCount() > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.kreaker.kjk.repository;
+
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.List;
+
+/**
+ * The Spring Data operations shared by the repositories: the CRUD methods plus
+ * Mongo's {@code insert}, which fails on an existing id instead of replacing the
+ * document. Deliberately narrower than {@code MongoRepository} (no paging or
+ * query by example, which nothing uses) so that every storage backend
+ * implements all of it.
+ */
+@NoRepositoryBean
+public interface DocumentRepository<T> extends ListCrudRepository<T, String> {
+    
+    <S extends T> S insert(S entity);
+    
+    <S extends T> List<S> insert(Iterable<S> entities);
+}
@@ -0,0 +1,8 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.PositionCounter;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PositionCounterRepository extends DocumentRepository<PositionCounter>, PositionCounterRepositoryCustom {
+}
@@ -0,0 +1,28 @@
+package dev.kreaker.kjk.repository;
+
+/**
+ * Atomic updates of {@code position_counters}; each call is a single findAndModify.
+ */
+public interface PositionCounterRepositoryCustom {
+    
+    /**
+     * Adds {@code delta} to an existing counter and returns the new value, or
+     * {@code null} when the counter does not exist yet.
+     */
+    Long increment(String id, long delta);
+    
+    /**
+     * Creates or advances a counter to {@code max(current, floor) + delta} and returns
+     * the new value. {@code floor} is the highest position stored in the scope
+     * ({@code null} when empty). Two concurrent seeds of a missing counter may fail
+     * with a {@link org.springframework.dao.DuplicateKeyException}; the loser retries
+     * with {@link #increment}.
+     */
+    long seed(String id, Long floor, long delta);
+    
+    /**
+     * Advances an existing counter to at least {@code floor}; a missing counter is
+     * left missing, since its first append seeds it from the stored positions.
+     */
+    void raise(String id, long floor);
+}
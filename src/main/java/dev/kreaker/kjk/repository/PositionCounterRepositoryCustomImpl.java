@@ -0,0 +1,54 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.PositionCounter;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+public class PositionCounterRepositoryCustomImpl implements PositionCounterRepositoryCustom {
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public PositionCounterRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public Long increment(String id, long delta) {
+        PositionCounter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id)),
+                new Update().inc("last", delta),
+                FindAndModifyOptions.options().returnNew(true),
+                PositionCounter.class);
+        return counter != null ? counter.getLast() : null;
+    }
+    
+    @Override
+    public long seed(String id, Long floor, long delta) {
+        // { $set: { last: { $add: [ { $max: [ { $ifNull: ["$last", 0] }, floor ] }, delta ] } } }
+        AggregationOperation advance = context -> new Document("$set", new Document("last",
+                new Document("$add", List.of(
+                        new Document("$max", List.of(new Document("$ifNull", List.of("$last", 0L)),
+                                floor != null ? floor : 0L)),
+                        delta))));
+        PositionCounter counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id)),
+                AggregationUpdate.from(List.of(advance)),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                PositionCounter.class);
+        return counter.getLast();
+    }
+    
+    @Override
+    public void raise(String id, long floor) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)), new Update().max("last", floor),
+                PositionCounter.class);
+    }
+}
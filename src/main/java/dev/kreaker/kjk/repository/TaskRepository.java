@@ -1,25 +1,67 @@
 package dev.kreaker.kjk.repository;
 
+import dev.kreaker.kjk.dto.TaskCard;
 import dev.kreaker.kjk.model.Task;
-import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends DocumentRepository<Task>, TaskRepositoryCustom {
     
     List<Task> findByColumnId(String columnId);
     
     List<Task> findByColumnIdOrderByPosition(String columnId);
     
+    List<Task> findByBoardId(String boardId);
+    
+    long countByBoardId(String boardId);
+    
+    /**
+     * Cards of a board, ordered by column and position; reads only the fields of
+     * {@link TaskCard}.
+     */
+    List<TaskCard> findCardsByBoardIdOrderByColumnIdAscPositionAsc(String boardId);
+    
+    List<Task> findByColumnIdInOrderByPosition(Collection<String> columnIds);
+    
     List<Task> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
     
     List<Task> findByPriority(Task.Priority priority);
     
     List<Task> findByPriorityOrderByCreatedAtDesc(Task.Priority priority);
     
-    void deleteByColumnId(String columnId);
+    Stream<Task> streamByColumnIdOrderByPosition(String columnId);
+    
+    Stream<Task> streamByPriorityOrderByCreatedAtDesc(Task.Priority priority);
+    
+    Stream<Task> streamByDueDateBetweenOrderByDueDate(LocalDateTime start, LocalDateTime end);
+    
+    /**
+     * Every task of a board, grouped by column in position order, read from a cursor.
+     */
+    Stream<Task> streamByBoardIdOrderByColumnIdAscPositionAsc(String boardId);
+    
+    /**
+     * Tasks of a board with only the fields the board statistics count.
+     */
+    @Query(value = "{ 'boardId': ?0 }", fields = "{ 'columnId': 1, 'priority': 1, 'dueDate': 1 }")
+    Stream<Task> streamStatsFieldsByBoardId(String boardId);
+    
+    /**
+     * A task with only the fields its cache validators are computed from.
+     */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'createdAt': 1, 'updatedAt': 1 }")
+    Optional<Task> findStampById(String id);
+    
+    @Query(value = "{ 'columnId': ?0 }", fields = "{ 'version': 1 }")
+    List<Task> findStampsByColumnId(String columnId);
+    
+    @Query(value = "{ 'boardId': ?0 }", fields = "{ 'version': 1 }")
+    List<Task> findStampsByBoardId(String boardId);
 }
\ No newline at end of file
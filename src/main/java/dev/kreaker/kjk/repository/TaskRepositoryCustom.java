@@ -0,0 +1,111 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.dto.TaskSearchResult;
+import dev.kreaker.kjk.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Position-oriented queries and partial updates for tasks that cannot be
+ * expressed as derived queries.
+ */
+public interface TaskRepositoryCustom {
+    
+    /**
+     * Returns the lowest position in a column above {@code position}, ignoring
+     * {@code excludedTaskId} (may be {@code null}), or {@code null} when there is none.
+     * One seek on the {@code {columnId, position}} index, however long the column.
+     */
+    Long findPositionAfter(String columnId, String excludedTaskId, long position);
+    
+    /**
+     * Returns the highest position in a column below {@code position}, ignoring
+     * {@code excludedTaskId} (may be {@code null}), or {@code null} when there is none.
+     */
+    Long findPositionBefore(String columnId, String excludedTaskId, long position);
+    
+    /**
+     * Returns the highest position in a column ignoring {@code excludedTaskId},
+     * or {@code null} when the column is empty.
+     */
+    Long findLastPosition(String columnId, String excludedTaskId);
+    
+    /**
+     * Sets the board, column and position of a single task without rewriting the
+     * document, provided it is still at {@code expectedVersion}; bumps the version.
+     *
+     * @return whether the task was updated
+     */
+    boolean updatePosition(String taskId, Long expectedVersion, String boardId, String columnId, long position);
+    
+    /**
+     * Sets the user-editable fields of a task, provided it is still at its loaded
+     * version; bumps the version.
+     *
+     * @return whether the task was updated
+     */
+    boolean updateDetails(Task task);
+    
+    /**
+     * Counts the tasks of a column positioned strictly between two ranks, either of
+     * which may be {@code null} for an open end, ignoring {@code excludedTaskId}.
+     */
+    long countBetween(String columnId, String excludedTaskId, Long previous, Long next);
+    
+    /**
+     * Sets the position of many tasks in one unordered bulk write, touching only
+     * the {@code position} and {@code version} fields. Keys are task ids.
+     */
+    void bulkSetPositions(Map<String, Long> positions);
+    
+    /**
+     * Deletes one task and reports whether this call removed it; of concurrent
+     * deletes of the same task exactly one returns {@code true}.
+     */
+    boolean removeById(String id);
+    
+    /**
+     * Deletes every task of the given columns with one server-side {@code deleteMany},
+     * without loading them first.
+     *
+     * @return the number of tasks deleted
+     */
+    long removeByColumnIdIn(Collection<String> columnIds);
+    
+    /**
+     * Full-text search over title and description, or all tasks when {@code text} is
+     * {@code null} (callers then pass a {@code boardId}), narrowed by the criteria
+     * that are not {@code null}. Returns one
+     * page ranked by text score (newest first without text) together with the
+     * facet counts per priority and column, in one aggregation.
+     */
+    TaskSearchResult search(String text, Task.Priority priority, LocalDateTime dueBefore, String boardId,
+                            int page, int size);
+    
+    /**
+     * Keyset page of a column ordered by {@code (position, id)}, starting after the
+     * given key ({@code null} for the first page).
+     */
+    List<Task> findColumnPage(String columnId, Long afterPosition, String afterId, int limit);
+    
+    /**
+     * Keyset page of tasks with a priority ordered by {@code (createdAt, id)} descending.
+     */
+    List<Task> findPriorityPage(Task.Priority priority, LocalDateTime afterCreatedAt, String afterId, int limit);
+    
+    /**
+     * Keyset page of tasks due in {@code [start, end]} ordered by {@code (dueDate, id)}.
+     */
+    List<Task> findDuePage(LocalDateTime start, LocalDateTime end, LocalDateTime afterDueDate, String afterId, int limit);
+    
+    /**
+     * Applies the writes in one unordered bulk operation. Updates and placements only
+     * apply over the version their task carries; one that finds the task changed or
+     * gone fails. Returns the error messages of the writes that failed, keyed by
+     * their index in {@code writes}.
+     */
+    Map<Integer, String> bulkApply(List<TaskWrite> writes);
+}
@@ -0,0 +1,345 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.dto.TaskCard;
+import dev.kreaker.kjk.dto.TaskSearchResult;
+import dev.kreaker.kjk.model.Task;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    
+    /** Column buckets returned with a search, largest first. */
+    private static final int MAX_COLUMN_FACETS = 50;
+    
+    private final MongoTemplate mongoTemplate;
+    
+    public TaskRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+    
+    @Override
+    public Long findPositionAfter(String columnId, String excludedTaskId, long position) {
+        return findNeighbour(siblingsOf(columnId, excludedTaskId).addCriteria(Criteria.where("position").gt(position)),
+                Sort.Direction.ASC);
+    }
+    
+    @Override
+    public Long findPositionBefore(String columnId, String excludedTaskId, long position) {
+        return findNeighbour(siblingsOf(columnId, excludedTaskId).addCriteria(Criteria.where("position").lt(position)),
+                Sort.Direction.DESC);
+    }
+    
+    @Override
+    public Long findLastPosition(String columnId, String excludedTaskId) {
+        Query query = siblingsOf(columnId, excludedTaskId)
+                .with(Sort.by(Sort.Direction.DESC, "position"))
+                .limit(1);
+        query.fields().include("position");
+        Task last = mongoTemplate.findOne(query, Task.class);
+        return last != null ? last.getPosition() : null;
+    }
+    
+    @Override
+    public boolean updatePosition(String taskId, Long expectedVersion, String boardId, String columnId, long position) {
+        Query query = Query.query(Criteria.where("_id").is(taskId).and("version").is(expectedVersion));
+        Update update = new Update()
+                .set("boardId", boardId)
+                .set("columnId", columnId)
+                .set("position", position)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, Task.class).getMatchedCount() > 0;
+    }
+    
+    @Override
+    public boolean updateDetails(Task task) {
+        Query query = Query.query(Criteria.where("_id").is(task.getId()).and("version").is(task.getVersion()));
+        Update update = new Update()
+                .set("title", task.getTitle())
+                .set("description", task.getDescription())
+                .set("priority", task.getPriority())
+                .set("color", task.getColor())
+                .set("dueDate", task.getDueDate())
+                .set("updatedAt", task.getUpdatedAt())
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, Task.class).getMatchedCount() > 0;
+    }
+    
+    @Override
+    public long countBetween(String columnId, String excludedTaskId, Long previous, Long next) {
+        Query query = siblingsOf(columnId, excludedTaskId);
+        if (previous != null || next != null) {
+            Criteria range = Criteria.where("position");
+            if (previous != null) {
+                range = range.gt(previous);
+            }
+            if (next != null) {
+                range = range.lt(next);
+            }
+            query.addCriteria(range);
+        }
+        return mongoTemplate.count(query, Task.class);
+    }
+    
+    @Override
+    public void bulkSetPositions(Map<String, Long> positions) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        LocalDateTime now = LocalDateTime.now();
+        positions.forEach((id, position) ->
+                bulk.updateOne(Query.query(Criteria.where("_id").is(id)),
+                        Update.update("position", position).set("updatedAt", now).inc("version", 1)));
+        bulk.execute();
+    }
+    
+    @Override
+    public boolean removeById(String id) {
+        return mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), Task.class).getDeletedCount() == 1;
+    }
+    
+    @Override
+    public long removeByColumnIdIn(Collection<String> columnIds) {
+        if (columnIds.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(Query.query(Criteria.where("columnId").in(columnIds)), Task.class)
+                .getDeletedCount();
+    }
+    
+    @Override
+    public TaskSearchResult search(String text, Task.Priority priority, LocalDateTime dueBefore, String boardId,
+                                   int page, int size) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        Document order;
+        if (text != null) {
+            // $text has to be the first stage
+            stages.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(text)));
+            order = new Document("score", -1).append("_id", 1);
+        } else {
+            order = new Document("createdAt", -1).append("_id", -1);
+        }
+        Criteria filter = new Criteria();
+        if (priority != null) {
+            filter.and("priority").is(priority);
+        }
+        if (dueBefore != null) {
+            filter.and("dueDate").lt(dueBefore);
+        }
+        if (boardId != null) {
+            filter.and("boardId").is(boardId);
+        }
+        if (priority != null || dueBefore != null || boardId != null) {
+            stages.add(Aggregation.match(filter));
+        }
+        if (text != null) {
+            stages.add(context -> new Document("$addFields",
+                    new Document("score", new Document("$meta", "textScore"))));
+        }
+        stages.add(context -> new Document("$facet", new Document()
+                .append("hits", List.of(
+                        new Document("$sort", order),
+                        new Document("$skip", (long) page * size),
+                        new Document("$limit", size),
+                        new Document("$project", new Document("description", 0))))
+                .append("total", List.of(new Document("$count", "count")))
+                .append("byPriority", List.of(countBy("$priority")))
+                .append("byColumn", List.of(countBy("$columnId"),
+                        new Document("$sort", new Document("count", -1)),
+                        new Document("$limit", MAX_COLUMN_FACETS)))));
+        
+        TypedAggregation<Task> aggregation = Aggregation.newAggregation(Task.class, stages);
+        Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return new TaskSearchResult(List.of(), 0, page, size, Map.of(), Map.of());
+        }
+        List<TaskCard> hits = result.getList("hits", Document.class).stream()
+                .map(hit -> mongoTemplate.getConverter().read(TaskCard.class, hit))
+                .toList();
+        List<Document> total = result.getList("total", Document.class);
+        long count = total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue();
+        return new TaskSearchResult(hits, count, page, size,
+                facetCounts(result.getList("byPriority", Document.class)),
+                facetCounts(result.getList("byColumn", Document.class)));
+    }
+    
+    private static Document countBy(String field) {
+        return new Document("$group", new Document("_id", field).append("count", new Document("$sum", 1)));
+    }
+    
+    private static Map<String, Long> facetCounts(List<Document> buckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : buckets) {
+            if (bucket.get("_id") != null) {
+                counts.put(bucket.get("_id").toString(), ((Number) bucket.get("count")).longValue());
+            }
+        }
+        return counts;
+    }
+    
+    @Override
+    public List<Task> findColumnPage(String columnId, Long afterPosition, String afterId, int limit) {
+        Criteria criteria = Criteria.where("columnId").is(columnId);
+        if (afterId != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("position").gt(afterPosition),
+                    Criteria.where("position").is(afterPosition).and("_id").gt(afterId));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "position", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Task.class);
+    }
+    
+    @Override
+    public List<Task> findPriorityPage(Task.Priority priority, LocalDateTime afterCreatedAt, String afterId, int limit) {
+        Criteria criteria = Criteria.where("priority").is(priority);
+        if (afterId != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("_id").lt(afterId));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Task.class);
+    }
+    
+    @Override
+    public List<Task> findDuePage(LocalDateTime start, LocalDateTime end, LocalDateTime afterDueDate,
+                                  String afterId, int limit) {
+        Criteria criteria = Criteria.where("dueDate").gt(start).lt(end);
+        if (afterId != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("dueDate").gt(afterDueDate),
+                    Criteria.where("dueDate").is(afterDueDate).and("_id").gt(afterId));
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "dueDate", "_id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Task.class);
+    }
+    
+    @Override
+    public Map<Integer, String> bulkApply(List<TaskWrite> writes) {
+        Map<Integer, String> errors = new HashMap<>();
+        if (writes.isEmpty()) {
+            return errors;
+        }
+        
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Task.class);
+        // Stored at millisecond precision; read back below to tell which versioned writes applied
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        int versioned = 0;
+        for (TaskWrite write : writes) {
+            Query byId = Query.query(Criteria.where("_id").is(write.getId()));
+            Task task = write.getTask();
+            if (write.getKind() == TaskWrite.Kind.UPDATE || write.getKind() == TaskWrite.Kind.PLACE) {
+                byId.addCriteria(Criteria.where("version").is(task.getVersion()));
+                versioned++;
+            }
+            switch (write.getKind()) {
+                case INSERT -> bulk.insert(task);
+                case UPDATE -> bulk.updateOne(byId, new Update()
+                        .set("title", task.getTitle())
+                        .set("description", task.getDescription())
+                        .set("priority", task.getPriority())
+                        .set("color", task.getColor())
+                        .set("dueDate", task.getDueDate())
+                        .set("updatedAt", now)
+                        .inc("version", 1));
+                case PLACE -> bulk.updateOne(byId, new Update()
+                        .set("boardId", task.getBoardId())
+                        .set("columnId", task.getColumnId())
+                        .set("position", task.getPosition())
+                        .set("updatedAt", now)
+                        .inc("version", 1));
+                case DELETE -> bulk.remove(byId);
+            }
+        }
+        
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error.getMessage());
+            }
+            result = e.getResult();
+        }
+        if (result.getMatchedCount() < versioned) {
+            reportStaleWrites(writes, now, errors);
+        }
+        return errors;
+    }
+    
+    /**
+     * The bulk result only counts the matched updates. Reads back the tasks of the
+     * versioned writes: one that is gone, or was last written by someone else,
+     * failed its version check (or was overwritten right after, which the caller
+     * has to reload for just the same).
+     */
+    private void reportStaleWrites(List<TaskWrite> writes, LocalDateTime now, Map<Integer, String> errors) {
+        List<String> ids = new ArrayList<>();
+        for (TaskWrite write : writes) {
+            if (write.getKind() == TaskWrite.Kind.UPDATE || write.getKind() == TaskWrite.Kind.PLACE) {
+                ids.add(write.getId());
+            }
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids));
+        query.fields().include("updatedAt");
+        Map<String, LocalDateTime> written = new HashMap<>();
+        for (Task task : mongoTemplate.find(query, Task.class)) {
+            written.put(task.getId(), task.getUpdatedAt());
+        }
+        for (int i = 0; i < writes.size(); i++) {
+            TaskWrite write = writes.get(i);
+            if (errors.containsKey(i)
+                    || (write.getKind() != TaskWrite.Kind.UPDATE && write.getKind() != TaskWrite.Kind.PLACE)) {
+                continue;
+            }
+            if (!written.containsKey(write.getId())) {
+                errors.put(i, "Task not found with id: " + write.getId());
+            } else if (!now.equals(written.get(write.getId()))) {
+                errors.put(i, "Task was modified concurrently: " + write.getId());
+            }
+        }
+    }
+    
+    private Long findNeighbour(Query range, Sort.Direction direction) {
+        Query query = range.with(Sort.by(direction, "position")).limit(1);
+        query.fields().include("position");
+        Task neighbour = mongoTemplate.findOne(query, Task.class);
+        return neighbour != null ? neighbour.getPosition() : null;
+    }
+    
+    private Query siblingsOf(String columnId, String excludedTaskId) {
+        Criteria criteria = Criteria.where("columnId").is(columnId);
+        if (excludedTaskId != null) {
+            criteria = criteria.and("_id").ne(excludedTaskId);
+        }
+        return Query.query(criteria);
+    }
+}
@@ -0,0 +1,58 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.model.Task;
+
+/**
+ * A single write of a task bulk operation, see {@link TaskRepositoryCustom#bulkApply}.
+ */
+public final class TaskWrite {
+    
+    public enum Kind {
+        /** Insert the task; its id must already be assigned. */
+        INSERT,
+        /** Set the editable fields (title, description, priority, color, due date). */
+        UPDATE,
+        /** Set board, column and position. */
+        PLACE,
+        /** Remove the task. */
+        DELETE
+    }
+    
+    private final Kind kind;
+    private final String id;
+    private final Task task;
+    
+    private TaskWrite(Kind kind, String id, Task task) {
+        this.kind = kind;
+        this.id = id;
+        this.task = task;
+    }
+    
+    public static TaskWrite insert(Task task) {
+        return new TaskWrite(Kind.INSERT, task.getId(), task);
+    }
+    
+    public static TaskWrite update(Task task) {
+        return new TaskWrite(Kind.UPDATE, task.getId(), task);
+    }
+    
+    public static TaskWrite place(Task task) {
+        return new TaskWrite(Kind.PLACE, task.getId(), task);
+    }
+    
+    public static TaskWrite delete(String id) {
+        return new TaskWrite(Kind.DELETE, id, null);
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+}
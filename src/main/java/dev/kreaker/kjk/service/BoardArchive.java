@@ -0,0 +1,283 @@
+package dev.kreaker.kjk.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.kreaker.kjk.config.CacheConfig;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.BoardRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a board as a gzipped NDJSON archive and imports such archives as new
+ * boards. An archive holds one {@code {"board": ...}} line, then one
+ * {@code {"column": ...}} line per column, then one {@code {"task": ...}} line
+ * per task.
+ * <p>
+ * Both directions stream: tasks are written from a Mongo cursor and read with a
+ * streaming parser into bulk inserts of {@link #IMPORT_CHUNK_SIZE}, so heap usage
+ * depends on the number of columns but not on the number of tasks. An export is
+ * not a point-in-time snapshot; writes landing while it runs may or may not be
+ * included.
+ */
+@Service
+public class BoardArchive {
+
+    /** Tasks inserted per {@code insertMany} during an import. */
+    public static final int IMPORT_CHUNK_SIZE = 1000;
+
+    private static final String BOARD = "board";
+    private static final String COLUMN = "column";
+    private static final String TASK = "task";
+
+    private final BoardRepository boardRepository;
+    private final BoardColumnRepository columnRepository;
+    private final TaskRepository taskRepository;
+    private final CascadeDeleter cascadeDeleter;
+    private final BoardStatsService boardStats;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BoardArchive(BoardRepository boardRepository, BoardColumnRepository columnRepository,
+                        TaskRepository taskRepository, CascadeDeleter cascadeDeleter,
+                        BoardStatsService boardStats, Validator validator, ObjectMapper objectMapper) {
+        this.boardRepository = boardRepository;
+        this.columnRepository = columnRepository;
+        this.taskRepository = taskRepository;
+        this.cascadeDeleter = cascadeDeleter;
+        this.boardStats = boardStats;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the archive of a board to {@code out}, which is left open.
+     *
+     * @throws IllegalArgumentException if the board does not exist
+     */
+    public void export(String boardId, OutputStream out) throws IOException {
+        Board board = boardRepository.findHeaderById(boardId)
+                .orElseThrow(() -> new IllegalArgumentException("Board not found with id: " + boardId));
+        board.setColumns(List.of());
+        List<BoardColumn> columns = columnRepository.findLayoutByBoardId(boardId);
+        Set<String> columnIds = columns.stream().map(BoardColumn::getId).collect(Collectors.toSet());
+
+        GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip);
+             Stream<Task> tasks = taskRepository.streamByBoardIdOrderByColumnIdAscPositionAsc(boardId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeLine(generator, BOARD, board);
+            for (BoardColumn column : columns) {
+                column.setTasks(List.of());
+                writeLine(generator, COLUMN, column);
+            }
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                // Tasks of a column that is being deleted would not import
+                if (columnIds.contains(task.getColumnId())) {
+                    writeLine(generator, TASK, task);
+                }
+            }
+            generator.flush();
+        }
+        gzip.finish();
+        out.flush();
+    }
+
+    /**
+     * Creates a new board from an archive, gzipped or plain, named {@code name} or
+     * as in the archive. Columns and tasks receive new ids and keep their order.
+     * Nothing is left behind if the archive turns out to be invalid.
+     *
+     * @throws IllegalArgumentException if the archive is malformed or invalid, or
+     *         the board name is taken
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOARDS, allEntries = true)
+    public Board importArchive(InputStream in, String name) throws IOException {
+        ObjectReader boardReader = readerFor(Board.class);
+        ObjectReader columnReader = readerFor(BoardColumn.class);
+        ObjectReader taskReader = readerFor(Task.class);
+
+        Board board = null;
+        Map<String, String> columnIds = new HashMap<>();
+        List<Task> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        boolean tasksStarted = false;
+        try (JsonParser parser = objectMapper.getFactory().createParser(decompressed(in))) {
+            while (parser.nextToken() != null) {
+                String kind = openLine(parser);
+                switch (kind) {
+                    case BOARD -> {
+                        if (board != null) {
+                            throw malformed(parser, "More than one board");
+                        }
+                        board = createBoard(boardReader.readValue(parser), name, parser);
+                    }
+                    case COLUMN -> {
+                        requireBoard(board, parser);
+                        if (tasksStarted) {
+                            throw malformed(parser, "Columns must precede tasks");
+                        }
+                        BoardColumn column = requireValid(columnReader.readValue(parser), parser);
+                        if (column.getId() == null || columnIds.containsKey(column.getId())) {
+                            throw malformed(parser, "Column without a unique id");
+                        }
+                        columnIds.put(column.getId(), createColumn(column, board).getId());
+                    }
+                    case TASK -> {
+                        requireBoard(board, parser);
+                        tasksStarted = true;
+                        Task task = requireValid(taskReader.readValue(parser), parser);
+                        String columnId = columnIds.get(task.getColumnId());
+                        if (columnId == null) {
+                            throw malformed(parser, "Task of unknown column " + task.getColumnId());
+                        }
+                        task.setId(null);
+                        task.setVersion(null);
+                        task.setColumnId(columnId);
+                        task.setBoardId(board.getId());
+                        chunk.add(task);
+                        if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                            taskRepository.insert(chunk);
+                            chunk.clear();
+                        }
+                    }
+                    default -> throw malformed(parser, "Unknown entry '" + kind + "'");
+                }
+                if (parser.nextToken() != JsonToken.END_OBJECT) {
+                    throw malformed(parser, "Expected one entry per line");
+                }
+            }
+            requireBoard(board, parser);
+            if (!chunk.isEmpty()) {
+                taskRepository.insert(chunk);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (board != null) {
+                boardRepository.deleteById(board.getId());
+                cascadeDeleter.deleteBoardContents(board.getId());
+            }
+            if (e instanceof JsonProcessingException parseError) {
+                throw new IllegalArgumentException("Malformed archive: " + parseError.getOriginalMessage(), e);
+            }
+            throw e;
+        }
+
+        boardStats.reconcile(board.getId());
+        return board;
+    }
+
+    private Board createBoard(Board archived, String name, JsonParser parser) {
+        Board board = new Board(name != null && !name.isBlank() ? name : archived.getName(),
+                archived.getDescription());
+        if (archived.getCreatedAt() != null) {
+            board.setCreatedAt(archived.getCreatedAt());
+        }
+        requireValid(board, parser);
+        if (boardRepository.existsByName(board.getName())) {
+            throw new IllegalArgumentException("Board with name '" + board.getName() + "' already exists");
+        }
+        try {
+            return boardRepository.insert(board);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("Board with name '" + board.getName() + "' already exists");
+        }
+    }
+
+    private BoardColumn createColumn(BoardColumn archived, Board board) {
+        archived.setId(null);
+        archived.setVersion(null);
+        archived.setTasks(new ArrayList<>());
+        archived.setBoardId(board.getId());
+        return columnRepository.insert(archived);
+    }
+
+    private ObjectReader readerFor(Class<?> type) {
+        // Tolerate fields added by newer versions of the exporting instance
+        return objectMapper.readerFor(type).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private static void writeLine(JsonGenerator generator, String kind, Object value) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(kind);
+        generator.writeObject(value);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Moves the parser from the start of a line to its value and returns the kind.
+     */
+    private static String openLine(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+            throw malformed(parser, "Expected an object with one entry");
+        }
+        String kind = parser.currentName();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw malformed(parser, "Expected an object for '" + kind + "'");
+        }
+        return kind;
+    }
+
+    private static InputStream decompressed(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean gzipped = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+        return gzipped ? new GZIPInputStream(buffered, 64 * 1024) : buffered;
+    }
+
+    private static void requireBoard(Board board, JsonParser parser) {
+        if (board == null) {
+            throw malformed(parser, "The archive must start with the board");
+        }
+    }
+
+    private <T> T requireValid(T value, JsonParser parser) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw malformed(parser, message);
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException malformed(JsonParser parser, String message) {
+        return new IllegalArgumentException(
+                "Invalid archive at line " + parser.currentLocation().getLineNr() + ": " + message);
+    }
+}
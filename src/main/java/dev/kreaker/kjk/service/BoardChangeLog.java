@@ -0,0 +1,210 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.dto.BoardChanges;
+import dev.kreaker.kjk.event.BoardChangeEvent;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardChangeRepository;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.BoardRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Records every {@link BoardChangeEvent} the services publish in the board's
+ * change log and serves the changes after a cursor, so clients that reconnect
+ * or poll fetch what changed instead of the whole board. Events raised under a
+ * scope lock are published after it is released (see
+ * {@link ScopeLocks#afterRelease}), so logging never extends the lock.
+ * <p>
+ * Sequence numbers are handed out before the entry is inserted, so a reader can
+ * briefly see a later entry without an earlier one. The feed stops at such a gap
+ * and picks up from it on the next call; a gap older than a few seconds belongs to
+ * a write that was never logged and is skipped.
+ */
+@Service
+public class BoardChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardChangeLog.class);
+
+    /** Log entries resolved per call; the response says when more are waiting. */
+    public static final int MAX_CHANGES = 1000;
+
+    private static final Duration GAP_GRACE = Duration.ofSeconds(5);
+
+    private final BoardChangeRepository changeRepository;
+    private final BoardRepository boardRepository;
+    private final BoardColumnRepository columnRepository;
+    private final TaskRepository taskRepository;
+
+    @Autowired
+    public BoardChangeLog(BoardChangeRepository changeRepository, BoardRepository boardRepository,
+                          BoardColumnRepository columnRepository, TaskRepository taskRepository) {
+        this.changeRepository = changeRepository;
+        this.boardRepository = boardRepository;
+        this.columnRepository = columnRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @EventListener
+    public void record(BoardChangeEvent event) {
+        if (event.getBoardId() == null) {
+            return;
+        }
+        try {
+            long seq = changeRepository.nextSeq(event.getBoardId());
+            changeRepository.insert(new BoardChange(event.getBoardId(), seq, event.getType(), event.getEntityId()));
+        } catch (RuntimeException e) {
+            // The write itself has happened; only delta clients miss it
+            log.warn("Unable to log {} of {} on board {}", event.getType(), event.getEntityId(),
+                    event.getBoardId(), e);
+        }
+    }
+
+    /**
+     * Changes of the board after {@code since}. Without a cursor, or with one older
+     * than the retained log, answers a reset carrying the current cursor; clients
+     * take that cursor before loading the snapshot so nothing falls in between.
+     *
+     * @return empty when the board does not exist
+     * @throws IllegalArgumentException when {@code since} is not a cursor of this board
+     */
+    public Optional<BoardChanges> getChanges(String boardId, String since) {
+        if (!boardRepository.existsById(boardId)) {
+            return Optional.empty();
+        }
+        long head = changeRepository.currentSeq(boardId);
+        if (since == null) {
+            return Optional.of(BoardChanges.reset(String.valueOf(head)));
+        }
+        long cursor = parseCursor(since);
+        if (cursor > head) {
+            throw new IllegalArgumentException("Unknown change cursor: " + since);
+        }
+        if (cursor < head && isExpired(boardId, cursor)) {
+            return Optional.of(BoardChanges.reset(String.valueOf(head)));
+        }
+
+        List<BoardChange> entries = cursor < head
+                ? changeRepository.findByBoardIdAndSeqGreaterThanOrderBySeqAsc(boardId, cursor,
+                        Limit.of(MAX_CHANGES + 1))
+                : List.of();
+        LocalDateTime settled = LocalDateTime.now().minus(GAP_GRACE);
+        List<BoardChange> applied = new ArrayList<>();
+        long last = cursor;
+        for (BoardChange entry : entries) {
+            if (applied.size() == MAX_CHANGES) {
+                break;
+            }
+            if (entry.getSeq() != last + 1 && entry.getRecordedAt().isAfter(settled)) {
+                // The missing entry may still be in flight
+                break;
+            }
+            applied.add(entry);
+            last = entry.getSeq();
+        }
+        boolean more = applied.size() == MAX_CHANGES && entries.size() > MAX_CHANGES;
+        return Optional.of(resolve(boardId, applied, String.valueOf(last), more));
+    }
+
+    /**
+     * Whether entries after {@code cursor} have already expired from the log.
+     */
+    private boolean isExpired(String boardId, long cursor) {
+        return changeRepository.findFirstByBoardIdOrderBySeqAsc(boardId)
+                .map(oldest -> cursor < oldest.getSeq() - 1)
+                .orElse(true);
+    }
+
+    /**
+     * Turns log entries into the current state of the entities they name. Only
+     * the last entry per entity matters; entities that are gone, or now belong to
+     * another board, become tombstones.
+     */
+    private BoardChanges resolve(String boardId, List<BoardChange> entries, String cursor, boolean more) {
+        Map<String, BoardChangeEvent.Type> taskChanges = new LinkedHashMap<>();
+        Map<String, BoardChangeEvent.Type> columnChanges = new LinkedHashMap<>();
+        Set<String> respreadColumnIds = new LinkedHashSet<>();
+        boolean respreadBoard = false;
+        for (BoardChange entry : entries) {
+            switch (entry.getType()) {
+                case TASK_CREATED, TASK_UPDATED, TASK_MOVED, TASK_DELETED ->
+                        taskChanges.put(entry.getEntityId(), entry.getType());
+                case COLUMN_CREATED, COLUMN_UPDATED, COLUMN_MOVED, COLUMN_DELETED ->
+                        columnChanges.put(entry.getEntityId(), entry.getType());
+                case POSITIONS_REBALANCED -> {
+                    if (boardId.equals(entry.getEntityId())) {
+                        respreadBoard = true;
+                    } else {
+                        respreadColumnIds.add(entry.getEntityId());
+                    }
+                }
+            }
+        }
+
+        Map<String, Task> tasks = new LinkedHashMap<>();
+        for (Task task : taskRepository.findAllById(live(taskChanges, BoardChangeEvent.Type.TASK_DELETED))) {
+            tasks.put(task.getId(), task);
+        }
+        if (!respreadColumnIds.isEmpty()) {
+            for (Task task : taskRepository.findByColumnIdInOrderByPosition(respreadColumnIds)) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        tasks.values().removeIf(task -> !boardId.equals(task.getBoardId()));
+
+        Map<String, BoardColumn> columns = new LinkedHashMap<>();
+        List<BoardColumn> changedColumns = respreadBoard
+                ? columnRepository.findLayoutByBoardId(boardId)
+                : columnRepository.findLayoutByIdIn(live(columnChanges, BoardChangeEvent.Type.COLUMN_DELETED));
+        for (BoardColumn column : changedColumns) {
+            if (boardId.equals(column.getBoardId())) {
+                columns.put(column.getId(), column);
+            }
+        }
+
+        List<String> deletedTaskIds = taskChanges.keySet().stream()
+                .filter(id -> !tasks.containsKey(id))
+                .toList();
+        List<String> deletedColumnIds = columnChanges.keySet().stream()
+                .filter(id -> !columns.containsKey(id))
+                .toList();
+        return new BoardChanges(cursor, more, new ArrayList<>(columns.values()), new ArrayList<>(tasks.values()),
+                deletedColumnIds, deletedTaskIds);
+    }
+
+    private static List<String> live(Map<String, BoardChangeEvent.Type> changes, BoardChangeEvent.Type deleted) {
+        return changes.entrySet().stream()
+                .filter(change -> change.getValue() != deleted)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static long parseCursor(String since) {
+        try {
+            long cursor = Long.parseLong(since);
+            if (cursor >= 0) {
+                return cursor;
+            }
+        } catch (NumberFormatException e) {
+            // Same answer as a negative cursor
+        }
+        throw new IllegalArgumentException("Invalid change cursor: " + since);
+    }
+}
@@ -1,30 +1,67 @@
 package dev.kreaker.kjk.service;
 
+import dev.kreaker.kjk.config.CacheConfig;
+import dev.kreaker.kjk.event.BoardChangeEvent;
 import dev.kreaker.kjk.model.Board;
 import dev.kreaker.kjk.model.BoardColumn;
 import dev.kreaker.kjk.repository.BoardColumnRepository;
 import dev.kreaker.kjk.repository.BoardRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 @Service
+@Timed(value = "kjk.service", histogram = true)
 public class BoardColumnService {
     
     private final BoardColumnRepository columnRepository;
     private final BoardRepository boardRepository;
+    private final PositionRebalancer rebalancer;
+    private final PositionAllocator positionAllocator;
+    private final ScopeLocks scopeLocks;
+    private final CascadeDeleter cascadeDeleter;
+    private final BoardStatsService boardStats;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistributionSummary moveWrites;
     
     @Autowired
-    public BoardColumnService(BoardColumnRepository columnRepository, BoardRepository boardRepository) {
+    public BoardColumnService(BoardColumnRepository columnRepository, BoardRepository boardRepository,
+                              PositionRebalancer rebalancer, PositionAllocator positionAllocator,
+                              ScopeLocks scopeLocks, CascadeDeleter cascadeDeleter,
+                              BoardStatsService boardStats, CacheManager cacheManager, ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
         this.columnRepository = columnRepository;
         this.boardRepository = boardRepository;
+        this.rebalancer = rebalancer;
+        this.positionAllocator = positionAllocator;
+        this.scopeLocks = scopeLocks;
+        this.cascadeDeleter = cascadeDeleter;
+        this.boardStats = boardStats;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.moveWrites = DistributionSummary.builder("kjk.move.documents.written")
+                .description("Documents written by one move, not counting inline rebalances")
+                .tag("entity", "column")
+                .register(meterRegistry);
     }
     
+    @Cacheable(cacheNames = CacheConfig.BOARD_COLUMNS, key = "#boardId")
     public List<BoardColumn> getColumnsByBoardId(String boardId) {
-        return columnRepository.findByBoardId(boardId);
+        return columnRepository.findByBoardIdOrderByPosition(boardId);
     }
     
+    @Cacheable(cacheNames = CacheConfig.COLUMN, key = "#id", unless = "#result == null")
     public Optional<BoardColumn> getColumnById(String id) {
         return columnRepository.findById(id);
     }
@@ -37,68 +74,195 @@ public class BoardColumnService {
             throw new IllegalArgumentException("Column with name '" + column.getName() + "' already exists in this board");
         }
         
-        // Set position to the end
-        List<BoardColumn> existingColumns = columnRepository.findByBoardId(boardId);
-        column.setPosition(existingColumns.size());
         column.setBoardId(boardId);
         
-        return columnRepository.save(column);
+        // Set position to the end, under the board lock like a rebalance
+        BoardColumn savedColumn = scopeLocks.inBoard(boardId, () -> {
+            column.setPosition(positionAllocator.appendToBoard(boardId,
+                    () -> columnRepository.findLastPosition(boardId, null)));
+            return columnRepository.save(column);
+        });
+        boardStats.recordColumns(boardId, 1);
+        evictColumnCaches(savedColumn);
+        publish(BoardChangeEvent.Type.COLUMN_CREATED, savedColumn);
+        return savedColumn;
     }
     
     public BoardColumn updateColumn(String id, BoardColumn columnDetails) {
-        BoardColumn column = columnRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + id));
-        
-        // Check if name is being changed and if new name already exists in the same board
-        if (!column.getName().equals(columnDetails.getName()) && 
-            columnRepository.existsByBoardIdAndName(column.getBoardId(), columnDetails.getName())) {
-            throw new IllegalArgumentException("Column with name '" + columnDetails.getName() + "' already exists in this board");
+        for (int attempt = 1; attempt <= VersionConflictException.MAX_ATTEMPTS; attempt++) {
+            BoardColumn column = columnRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + id));
+            
+            // Check if name is being changed and if new name already exists in the same board
+            if (!column.getName().equals(columnDetails.getName()) && 
+                columnRepository.existsByBoardIdAndName(column.getBoardId(), columnDetails.getName())) {
+                throw new IllegalArgumentException("Column with name '" + columnDetails.getName() + "' already exists in this board");
+            }
+            
+            column.setName(columnDetails.getName());
+            column.setColor(columnDetails.getColor());
+            column.setUpdatedAt(LocalDateTime.now());
+            
+            // Only the edited fields are written, and only over the version just read
+            if (columnRepository.updateDetails(column)) {
+                column.setVersion(nextVersion(column.getVersion()));
+                evictColumnCaches(column);
+                publish(BoardChangeEvent.Type.COLUMN_UPDATED, column);
+                return column;
+            }
         }
-        
-        column.setName(columnDetails.getName());
-        column.setColor(columnDetails.getColor());
-        
-        return columnRepository.save(column);
+        throw conflict(id);
     }
     
     public void deleteColumn(String id) {
         BoardColumn column = columnRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + id));
         
-        columnRepository.delete(column);
-        
-        // Reorder remaining columns
-        reorderColumns(column.getBoardId());
+        // Sparse positions keep their order without renumbering the remaining columns.
+        // Only the delete that actually removed the column updates the statistics and
+        // cascades, so concurrent deletes of one column do not decrement twice
+        if (columnRepository.removeById(column.getId())) {
+            boardStats.recordColumns(column.getBoardId(), -1);
+            cascadeDeleter.deleteColumnContents(column);
+            evictColumnCaches(column);
+            eventPublisher.publishEvent(new BoardChangeEvent(
+                    BoardChangeEvent.Type.COLUMN_DELETED, column.getBoardId(), column.getId(), null));
+        }
     }
     
-    public void moveColumn(String columnId, int newPosition) {
+    /**
+     * Moves a column right after {@code afterColumnId} or right before
+     * {@code beforeColumnId} (both columns of the same board), or to the end of the
+     * board when neither is given.
+     */
+    public void moveColumn(String columnId, String afterColumnId, String beforeColumnId) {
+        if (afterColumnId != null && beforeColumnId != null) {
+            throw new IllegalArgumentException("Give either afterColumnId or beforeColumnId, not both");
+        }
+        if (columnId.equals(afterColumnId) || columnId.equals(beforeColumnId)) {
+            throw new IllegalArgumentException("A column cannot be placed next to itself");
+        }
         BoardColumn column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + columnId));
         
-        List<BoardColumn> columns = columnRepository.findByBoardId(column.getBoardId());
-        
-        // Remove column from current position
-        columns.remove(column);
+        // Column moves within a board are serialized in this instance
+        scopeLocks.inBoard(column.getBoardId(), () -> placeColumn(column, afterColumnId, beforeColumnId));
+    }
+    
+    private BoardColumn placeColumn(BoardColumn column, String afterColumnId, String beforeColumnId) {
+        String columnId = column.getId();
         
-        // Insert at new position
-        if (newPosition >= columns.size()) {
-            columns.add(column);
-        } else {
-            columns.add(newPosition, column);
+        // Only the moved column is written, and only over the version just read; its
+        // siblings keep their positions
+        int writes = 0;
+        for (int attempt = 1; attempt <= VersionConflictException.MAX_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                column = columnRepository.findById(columnId)
+                        .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + columnId));
+            }
+            Placement placement = allocatePosition(column.getBoardId(), columnId, afterColumnId, beforeColumnId);
+            if (!columnRepository.updatePosition(columnId, column.getVersion(), placement.getPosition())) {
+                continue;
+            }
+            writes++;
+            column.setPosition(placement.getPosition());
+            column.setVersion(nextVersion(column.getVersion()));
+            evictColumnCaches(column);
+            
+            // A concurrent move may have picked a rank in the same gap; if so, pick again
+            if (placement.isAppend() || columnRepository.countBetween(column.getBoardId(), columnId,
+                    placement.getPrevious(), placement.getNext()) == 0) {
+                moveWrites.record(writes);
+                publishMove(column);
+                return column;
+            }
+        }
+        moveWrites.record(writes);
+        if (writes > 0) {
+            publishMove(column);
+        }
+        throw conflict(columnId);
+    }
+    
+    private VersionConflictException conflict(String columnId) {
+        return new VersionConflictException("Column was modified concurrently: " + columnId,
+                columnRepository.findById(columnId).orElse(null));
+    }
+    
+    private static Long nextVersion(Long version) {
+        return version == null ? 1L : version + 1;
+    }
+    
+    private Placement allocatePosition(String boardId, String columnId, String afterColumnId, String beforeColumnId) {
+        Optional<Placement> position = positionAt(boardId, columnId, afterColumnId, beforeColumnId);
+        if (position.isEmpty()) {
+            // No gap left between the neighbours: respread the board and retry once
+            rebalancer.rebalanceBoard(boardId);
+            position = positionAt(boardId, columnId, afterColumnId, beforeColumnId);
+        }
+        return position.orElseThrow(() -> new IllegalStateException("Unable to allocate position in board: " + boardId));
+    }
+    
+    private Optional<Placement> positionAt(String boardId, String columnId, String afterColumnId,
+                                           String beforeColumnId) {
+        Long previous = null;
+        Long next = null;
+        if (afterColumnId != null) {
+            previous = anchorPosition(boardId, afterColumnId);
+            next = columnRepository.findPositionAfter(boardId, columnId, previous);
+        } else if (beforeColumnId != null) {
+            next = anchorPosition(boardId, beforeColumnId);
+            previous = columnRepository.findPositionBefore(boardId, columnId, next);
         }
         
-        // Update positions
-        for (int i = 0; i < columns.size(); i++) {
-            columns.get(i).setPosition(i);
-            columnRepository.save(columns.get(i));
+        if (next == null) {
+            // Appending: take the rank from the board's counter so it cannot collide with a concurrent append
+            Long last = previous;
+            return Optional.of(Placement.append(positionAllocator.appendToBoard(boardId,
+                    () -> last != null ? last : columnRepository.findLastPosition(boardId, columnId))));
+        }
+        OptionalLong position = PositionRanks.between(previous, next);
+        if (position.isEmpty()) {
+            return Optional.empty();
+        }
+        if (PositionRanks.isCrowded(previous, position.getAsLong(), next)) {
+            rebalancer.requestBoardRebalance(boardId);
         }
+        return Optional.of(Placement.between(position.getAsLong(), previous, next));
     }
     
-    private void reorderColumns(String boardId) {
-        List<BoardColumn> columns = columnRepository.findByBoardId(boardId);
-        for (int i = 0; i < columns.size(); i++) {
-            columns.get(i).setPosition(i);
-            columnRepository.save(columns.get(i));
+    /**
+     * Current position of the column a move is anchored to, read again on every
+     * attempt since a rebalance or another move may have changed it.
+     */
+    private long anchorPosition(String boardId, String anchorId) {
+        BoardColumn anchor = columnRepository.findById(anchorId)
+                .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + anchorId));
+        if (!boardId.equals(anchor.getBoardId()) || anchor.getPosition() == null) {
+            throw new IllegalArgumentException("Column " + anchorId + " is not on board " + boardId);
+        }
+        return anchor.getPosition();
+    }
+    
+    /**
+     * Published once the board lock is released; the change log writes on every event.
+     */
+    private void publishMove(BoardColumn column) {
+        scopeLocks.afterRelease(() -> publish(BoardChangeEvent.Type.COLUMN_MOVED, column));
+    }
+    
+    private void publish(BoardChangeEvent.Type type, BoardColumn column) {
+        eventPublisher.publishEvent(new BoardChangeEvent(type, column.getBoardId(), column.getId(), column));
+    }
+    
+    private void evictColumnCaches(BoardColumn column) {
+        Cache columns = cacheManager.getCache(CacheConfig.COLUMN);
+        if (columns != null) {
+            columns.evict(column.getId());
+        }
+        Cache layouts = cacheManager.getCache(CacheConfig.BOARD_COLUMNS);
+        if (layouts != null) {
+            layouts.evict(column.getBoardId());
         }
     }
     
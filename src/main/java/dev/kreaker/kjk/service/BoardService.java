@@ -1,34 +1,117 @@
 package dev.kreaker.kjk.service;
 
+import dev.kreaker.kjk.config.CacheConfig;
+import dev.kreaker.kjk.dto.BoardSummary;
 import dev.kreaker.kjk.model.Board;
 import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.Task;
 import dev.kreaker.kjk.repository.BoardRepository;
 import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Timed(value = "kjk.service", histogram = true)
 public class BoardService {
     
     private final BoardRepository boardRepository;
     private final BoardColumnRepository columnRepository;
+    private final TaskRepository taskRepository;
+    private final CascadeDeleter cascadeDeleter;
+    private final BoardStatsService boardStats;
     
     @Autowired
-    public BoardService(BoardRepository boardRepository, BoardColumnRepository columnRepository) {
+    public BoardService(BoardRepository boardRepository, BoardColumnRepository columnRepository,
+                        TaskRepository taskRepository, CascadeDeleter cascadeDeleter,
+                        BoardStatsService boardStats) {
         this.boardRepository = boardRepository;
         this.columnRepository = columnRepository;
+        this.taskRepository = taskRepository;
+        this.cascadeDeleter = cascadeDeleter;
+        this.boardStats = boardStats;
     }
     
+    @Cacheable(cacheNames = CacheConfig.BOARDS, key = "'all'")
     public List<Board> getAllBoards() {
         return boardRepository.findAllByOrderByCreatedAtDesc();
     }
     
+    /**
+     * Board list for the index pages. Boards are read as a field projection, and
+     * the column, task and overdue counts of all of them come from their
+     * {@code board_stats} documents in one read, so the list never scans the
+     * columns or tasks. A board whose statistics are still being rebuilt is
+     * listed with zero counts until the rebuild evicts the list. Cached until a
+     * board or its statistics change; the overdue counts may lag a day boundary
+     * by up to the cache's expiry.
+     */
+    @Cacheable(cacheNames = CacheConfig.BOARDS, key = "'summaries'")
+    public List<BoardSummary> getBoardSummaries() {
+        List<Board> boards = boardRepository.findAllHeaders();
+        if (boards.isEmpty()) {
+            return List.of();
+        }
+        Map<String, BoardStats> stats = boardStats.getStats(boards.stream().map(Board::getId).toList());
+        LocalDate today = LocalDate.now();
+        
+        List<BoardSummary> summaries = new ArrayList<>(boards.size());
+        for (Board board : boards) {
+            BoardStats counts = stats.get(board.getId());
+            summaries.add(new BoardSummary(board, counts.getColumnCount(), counts.getTaskCount(),
+                    counts.countOverdue(today)));
+        }
+        return summaries;
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.BOARD, key = "#id", unless = "#result == null")
     public Optional<Board> getBoardById(String id) {
         return boardRepository.findById(id);
     }
     
+    /**
+     * Loads a board with all of its columns and tasks, grouped and sorted by position.
+     * Uses two bulk queries (columns by board, tasks by column id) instead of resolving
+     * each {@code @DBRef} individually.
+     */
+    public Optional<Board> getBoardSnapshot(String id) {
+        return boardRepository.findHeaderById(id).map(board -> {
+            List<BoardColumn> columns = columnRepository.findLayoutByBoardId(id);
+            Map<String, BoardColumn> columnsById = new HashMap<>();
+            List<String> columnIds = new ArrayList<>(columns.size());
+            for (BoardColumn column : columns) {
+                column.setTasks(new ArrayList<>());
+                columnsById.put(column.getId(), column);
+                columnIds.add(column.getId());
+            }
+            
+            if (!columnIds.isEmpty()) {
+                for (Task task : taskRepository.findByColumnIdInOrderByPosition(columnIds)) {
+                    BoardColumn column = columnsById.get(task.getColumnId());
+                    if (column != null) {
+                        column.getTasks().add(task);
+                    }
+                }
+            }
+            
+            board.setColumns(columns);
+            return board;
+        });
+    }
+    
+    @CacheEvict(cacheNames = CacheConfig.BOARDS, allEntries = true)
     public Board createBoard(Board board) {
         if (boardRepository.existsByName(board.getName())) {
             throw new IllegalArgumentException("Board with name '" + board.getName() + "' already exists");
@@ -37,46 +120,71 @@ public class BoardService {
         Board savedBoard = boardRepository.save(board);
         
         // Create default columns
-        createDefaultColumns(savedBoard);
+        int columns = createDefaultColumns(savedBoard);
+        boardStats.initialize(savedBoard.getId(), columns);
         
         return savedBoard;
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BOARDS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOARD, key = "#id")
+    })
     public Board updateBoard(String id, Board boardDetails) {
-        Board board = boardRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Board not found with id: " + id));
-        
-        // Check if name is being changed and if new name already exists
-        if (!board.getName().equals(boardDetails.getName()) && 
-            boardRepository.existsByName(boardDetails.getName())) {
-            throw new IllegalArgumentException("Board with name '" + boardDetails.getName() + "' already exists");
+        for (int attempt = 1; attempt <= VersionConflictException.MAX_ATTEMPTS; attempt++) {
+            Board board = boardRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Board not found with id: " + id));
+            
+            // Check if name is being changed and if new name already exists
+            if (!board.getName().equals(boardDetails.getName()) && 
+                boardRepository.existsByName(boardDetails.getName())) {
+                throw new IllegalArgumentException("Board with name '" + boardDetails.getName() + "' already exists");
+            }
+            
+            board.setName(boardDetails.getName());
+            board.setDescription(boardDetails.getDescription());
+            
+            try {
+                // Versioned save: fails if the board changed since it was read
+                return boardRepository.save(board);
+            } catch (OptimisticLockingFailureException e) {
+                // Lost the race; read the board again and reapply
+            }
         }
-        
-        board.setName(boardDetails.getName());
-        board.setDescription(boardDetails.getDescription());
-        
-        return boardRepository.save(board);
+        throw new VersionConflictException("Board was modified concurrently: " + id,
+                boardRepository.findById(id).orElse(null));
     }
     
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BOARDS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOARD, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BOARD_COLUMNS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COLUMN, allEntries = true)
+    })
     public void deleteBoard(String id) {
         Board board = boardRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Board not found with id: " + id));
         
-        // Delete associated columns and tasks
-        columnRepository.deleteByBoardId(id);
-        boardRepository.delete(board);
+        // The board goes first: an interrupted cascade then leaves only orphans
+        // behind, which the orphan sweep reclaims
+        boardRepository.deleteById(board.getId());
+        cascadeDeleter.deleteBoardContents(board.getId());
     }
     
-    private void createDefaultColumns(Board board) {
+    private int createDefaultColumns(Board board) {
         String[] defaultColumnNames = {"To Do", "In Progress", "Done"};
         String[] defaultColors = {"#e74c3c", "#f39c12", "#27ae60"};
         
+        List<BoardColumn> columns = new ArrayList<>(defaultColumnNames.length);
         for (int i = 0; i < defaultColumnNames.length; i++) {
-            BoardColumn column = new BoardColumn(defaultColumnNames[i], i);
+            BoardColumn column = new BoardColumn(defaultColumnNames[i], PositionRanks.spread(i));
             column.setColor(defaultColors[i]);
             column.setBoardId(board.getId());
-            columnRepository.save(column);
+            columns.add(column);
         }
+        // One insertMany instead of a round trip per column
+        columnRepository.saveAll(columns);
+        return columns.size();
     }
     
     public boolean boardExists(String id) {
@@ -0,0 +1,281 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.config.CacheConfig;
+import dev.kreaker.kjk.dto.BoardStatsView;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardStats;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.BoardRepository;
+import dev.kreaker.kjk.repository.BoardStatsRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@code board_stats} documents. Task writes report the counted
+ * fields before and after the change and the difference goes out as one
+ * {@code $inc}, as do column creates and deletes; reads never touch the columns
+ * or tasks.
+ * <p>
+ * Statistics are rebuilt from the tasks when missing, after writes that do not
+ * report their changes (batches, cascades), and periodically for every board.
+ * A rebuild replaces the document only if its version is still the one read
+ * before counting; an increment landing while it counts bumps the version, and
+ * the rebuild counts again.
+ * <p>
+ * The board list caches the counts (see {@link BoardService#getBoardSummaries}),
+ * so every change here evicts {@link CacheConfig#BOARDS}.
+ */
+@Service
+public class BoardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardStatsService.class);
+
+    private final BoardStatsRepository statsRepository;
+    private final BoardRepository boardRepository;
+    private final BoardColumnRepository columnRepository;
+    private final TaskRepository taskRepository;
+    private final CacheManager cacheManager;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "board-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public BoardStatsService(BoardStatsRepository statsRepository, BoardRepository boardRepository,
+                             BoardColumnRepository columnRepository, TaskRepository taskRepository,
+                             CacheManager cacheManager) {
+        this.statsRepository = statsRepository;
+        this.boardRepository = boardRepository;
+        this.columnRepository = columnRepository;
+        this.taskRepository = taskRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * The task fields the statistics count.
+     */
+    public record Counted(String boardId, String columnId, Task.Priority priority, LocalDateTime dueDate) {
+
+        public static Counted of(Task task) {
+            return new Counted(task.getBoardId(), task.getColumnId(), task.getPriority(), task.getDueDate());
+        }
+    }
+
+    public Optional<BoardStatsView> getStats(String boardId) {
+        Optional<BoardStats> stats = statsRepository.findById(boardId);
+        if (stats.isEmpty() && boardRepository.existsById(boardId)) {
+            stats = Optional.of(reconcile(boardId));
+        }
+        return stats.map(found -> new BoardStatsView(found, LocalDate.now()));
+    }
+
+    /**
+     * Statistics of the given boards, keyed by board id, in one read. Boards
+     * without statistics get zero counts and a rebuild queued in the
+     * background, so listing many boards never waits on counting their tasks.
+     */
+    public Map<String, BoardStats> getStats(Collection<String> boardIds) {
+        Map<String, BoardStats> stats = new HashMap<>();
+        statsRepository.findAllById(boardIds).forEach(found -> stats.put(found.getId(), found));
+        for (String boardId : boardIds) {
+            if (!stats.containsKey(boardId)) {
+                stats.put(boardId, new BoardStats(boardId));
+                requestReconcile(boardId);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Creates the statistics of a new board, which has no tasks yet.
+     */
+    public void initialize(String boardId, long columnCount) {
+        BoardStats stats = new BoardStats(boardId);
+        stats.setColumnCount(columnCount);
+        stats.setReconciledAt(LocalDateTime.now());
+        statsRepository.save(stats);
+    }
+
+    public void forget(String boardId) {
+        statsRepository.deleteById(boardId);
+    }
+
+    /**
+     * Applies a task write: {@code before} is {@code null} for a create, {@code after}
+     * for a delete. Failures are logged and repaired by a rebuild rather than
+     * failing the write that has already happened.
+     */
+    public void recordChange(Counted before, Counted after) {
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        if (before != null) {
+            count(deltas, before, -1);
+        }
+        if (after != null) {
+            count(deltas, after, 1);
+        }
+        deltas.forEach((boardId, boardDeltas) -> {
+            boardDeltas.values().removeIf(delta -> delta == 0);
+            if (boardDeltas.isEmpty()) {
+                return;
+            }
+            try {
+                if (!statsRepository.increment(boardId, boardDeltas)) {
+                    requestReconcile(boardId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Unable to update statistics of board {}", boardId, e);
+                requestReconcile(boardId);
+            }
+        });
+        if (!deltas.isEmpty()) {
+            evictBoardList();
+        }
+    }
+
+    /**
+     * Applies columns created ({@code delta > 0}) or deleted on a board.
+     */
+    public void recordColumns(String boardId, long delta) {
+        try {
+            if (!statsRepository.increment(boardId, Map.of("columnCount", delta))) {
+                requestReconcile(boardId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to update statistics of board {}", boardId, e);
+            requestReconcile(boardId);
+        }
+        evictBoardList();
+    }
+
+    /**
+     * Rebuilds the statistics of a board from its columns and tasks, counting
+     * again when the document changes while it counts.
+     */
+    public BoardStats reconcile(String boardId) {
+        for (int attempt = 1; attempt <= VersionConflictException.MAX_ATTEMPTS; attempt++) {
+            Long version = statsRepository.findById(boardId).map(BoardStats::getVersion).orElse(null);
+            BoardStats stats = recount(boardId);
+            stats.setVersion(version);
+            try {
+                BoardStats saved = statsRepository.save(stats);
+                evictBoardList();
+                return saved;
+            } catch (OptimisticLockingFailureException | DuplicateKeyException e) {
+                log.debug("Statistics of board {} changed during rebuild attempt {}", boardId, attempt);
+            }
+        }
+        throw new VersionConflictException("Statistics of board " + boardId + " kept changing during a rebuild",
+                null);
+    }
+
+    private BoardStats recount(String boardId) {
+        BoardStats stats = new BoardStats(boardId);
+        stats.setColumnCount(columnRepository.countByBoardIdIn(List.of(boardId)).getOrDefault(boardId, 0L));
+        try (Stream<Task> tasks = taskRepository.streamStatsFieldsByBoardId(boardId)) {
+            tasks.forEach(task -> {
+                stats.setTaskCount(stats.getTaskCount() + 1);
+                if (task.getColumnId() != null) {
+                    stats.getByColumn().merge(task.getColumnId(), 1L, Long::sum);
+                }
+                if (task.getPriority() != null) {
+                    stats.getByPriority().merge(task.getPriority().name(), 1L, Long::sum);
+                }
+                if (task.getDueDate() != null) {
+                    stats.getDueByDay().merge(dayOf(task.getDueDate()), 1L, Long::sum);
+                }
+            });
+        }
+        stats.setReconciledAt(LocalDateTime.now());
+        return stats;
+    }
+
+    /**
+     * Queues a rebuild on the background thread; requests for the same board are
+     * coalesced.
+     */
+    public void requestReconcile(String boardId) {
+        if (boardId == null || !pending.add(boardId)) {
+            return;
+        }
+        executor.execute(() -> {
+            pending.remove(boardId);
+            try {
+                if (boardRepository.existsById(boardId)) {
+                    reconcile(boardId);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Reconciliation of board {} statistics failed", boardId, e);
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${kjk.stats.initial-delay:PT10M}",
+               fixedDelayString = "${kjk.stats.reconcile-interval:PT1H}")
+    public void reconcileAll() {
+        for (Board board : boardRepository.findAllHeaders()) {
+            try {
+                reconcile(board.getId());
+            } catch (RuntimeException e) {
+                log.warn("Reconciliation of board {} statistics failed", board.getId(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void evictBoardList() {
+        Cache boards = cacheManager.getCache(CacheConfig.BOARDS);
+        if (boards != null) {
+            boards.clear();
+        }
+    }
+
+    private static void count(Map<String, Map<String, Long>> deltas, Counted task, long sign) {
+        if (task.boardId() == null) {
+            return;
+        }
+        Map<String, Long> boardDeltas = deltas.computeIfAbsent(task.boardId(), id -> new HashMap<>());
+        boardDeltas.merge("taskCount", sign, Long::sum);
+        if (task.columnId() != null) {
+            boardDeltas.merge("byColumn." + task.columnId(), sign, Long::sum);
+        }
+        if (task.priority() != null) {
+            boardDeltas.merge("byPriority." + task.priority().name(), sign, Long::sum);
+        }
+        if (task.dueDate() != null) {
+            boardDeltas.merge("dueByDay." + dayOf(task.dueDate()), sign, Long::sum);
+        }
+    }
+
+    private static String dayOf(LocalDateTime dueDate) {
+        return dueDate.toLocalDate().toString();
+    }
+}
@@ -0,0 +1,103 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.repository.BoardChangeRepository;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Removes what belongs to a deleted board or column: tasks with one
+ * {@code deleteMany} by column id, columns with one {@code deleteMany} by board id,
+ * the position counters of the removed scopes, the board statistics and the board
+ * change log. Callers delete the parent document first, so an interrupted cascade
+ * leaves nothing but orphans, which {@link OrphanSweeper} reclaims.
+ * <p>
+ * With {@code kjk.cascade.async=true} the removal runs on a background thread and
+ * the request returns as soon as the parent is gone, which keeps deletes of very
+ * large boards fast.
+ */
+@Component
+public class CascadeDeleter {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeleter.class);
+
+    private final TaskRepository taskRepository;
+    private final BoardColumnRepository columnRepository;
+    private final PositionAllocator positionAllocator;
+    private final BoardStatsService boardStats;
+    private final BoardChangeRepository changeRepository;
+    private final ExecutorService executor;
+
+    @Autowired
+    public CascadeDeleter(TaskRepository taskRepository, BoardColumnRepository columnRepository,
+                          PositionAllocator positionAllocator, BoardStatsService boardStats,
+                          BoardChangeRepository changeRepository,
+                          @Value("${kjk.cascade.async:false}") boolean async) {
+        this.taskRepository = taskRepository;
+        this.columnRepository = columnRepository;
+        this.positionAllocator = positionAllocator;
+        this.boardStats = boardStats;
+        this.changeRepository = changeRepository;
+        this.executor = async ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cascade-delete");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public void deleteBoardContents(String boardId) {
+        run("board " + boardId, () -> {
+            List<String> columnIds = columnRepository.findLayoutByBoardId(boardId).stream()
+                    .map(BoardColumn::getId)
+                    .toList();
+            long tasks = taskRepository.removeByColumnIdIn(columnIds);
+            long columns = columnRepository.removeByBoardId(boardId);
+            positionAllocator.forgetColumns(columnIds);
+            positionAllocator.forgetBoard(boardId);
+            boardStats.forget(boardId);
+            changeRepository.removeByBoardId(boardId);
+            log.debug("Deleted {} columns and {} tasks of board {}", columns, tasks, boardId);
+        });
+    }
+
+    public void deleteColumnContents(BoardColumn column) {
+        String columnId = column.getId();
+        run("column " + columnId, () -> {
+            long tasks = taskRepository.removeByColumnIdIn(List.of(columnId));
+            positionAllocator.forgetColumn(columnId);
+            boardStats.requestReconcile(column.getBoardId());
+            log.debug("Deleted {} tasks of column {}", tasks, columnId);
+        });
+    }
+
+    private void run(String scope, Runnable cascade) {
+        if (executor == null) {
+            cascade.run();
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                cascade.run();
+            } catch (RuntimeException e) {
+                log.warn("Cascade delete of {} failed; the orphan sweep will reclaim it", scope, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.kreaker.kjk.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent blocking calls side by side, structured like a fork/join
+ * scope: when {@link #join} returns, every forked call has completed, and the
+ * first failure is rethrown to the caller after the sibling is cancelled.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} each fork gets its own virtual
+ * thread. Otherwise the calls run one after the other on the caller's thread, so
+ * the platform-thread mode never adds threads per request.
+ */
+@Component
+public class ConcurrentCalls {
+    
+    private final ExecutorService executor;
+    
+    @Autowired
+    public ConcurrentCalls(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.executor = virtualThreads ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+    
+    public boolean isConcurrent() {
+        return executor != null;
+    }
+    
+    /**
+     * Evaluates both suppliers, the second one on a forked virtual thread when
+     * concurrency is enabled. A failure of {@code first} wins over one of {@code second},
+     * matching the order of the sequential calls.
+     */
+    public <A, B> Both<A, B> join(Supplier<A> first, Supplier<B> second) {
+        if (executor == null) {
+            A a = first.get();
+            return new Both<>(a, second.get());
+        }
+        
+        Future<B> forked = executor.submit(second::get);
+        A a;
+        try {
+            a = first.get();
+        } catch (RuntimeException | Error e) {
+            forked.cancel(true);
+            throw e;
+        }
+        return new Both<>(a, await(forked));
+    }
+    
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a concurrent call", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+    
+    public record Both<A, B>(A first, B second) {
+    }
+}
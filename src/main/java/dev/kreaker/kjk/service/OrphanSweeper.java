@@ -0,0 +1,174 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.config.CacheConfig;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Periodically reclaims columns whose board no longer exists and tasks whose
+ * column no longer exists: left behind by deletes from before the cascade, by an
+ * interrupted cascade, or by a task created while its column was being deleted.
+ * <p>
+ * Orphans are removed {@code kjk.orphans.batch-size} documents per
+ * {@code deleteMany}, so a large backlog never turns into one long-running
+ * delete. Columns go first, which exposes their tasks to the same sweep. Removed
+ * columns and the layouts of their boards are evicted from the caches.
+ * <p>
+ * The referenced board and column ids are walked in ascending order, one seek on
+ * the index they lead ({@code board_position}, {@code column_position_id}) per
+ * distinct id, so a sweep costs a seek per column or board rather than a scan of
+ * every task.
+ */
+@Component
+@Profile("!embedded")
+public class OrphanSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanSweeper.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final PositionAllocator positionAllocator;
+    private final CacheManager cacheManager;
+    private final int batchSize;
+
+    @Autowired
+    public OrphanSweeper(MongoTemplate mongoTemplate, PositionAllocator positionAllocator, CacheManager cacheManager,
+                         @Value("${kjk.orphans.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("kjk.orphans.batch-size must be positive");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.positionAllocator = positionAllocator;
+        this.cacheManager = cacheManager;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${kjk.orphans.initial-delay:PT5M}",
+               fixedDelayString = "${kjk.orphans.sweep-interval:PT6H}")
+    public void sweep() {
+        long columns = sweepColumns();
+        long tasks = sweepTasks();
+        if (columns > 0 || tasks > 0) {
+            log.info("Reclaimed {} orphaned columns and {} orphaned tasks", columns, tasks);
+        }
+    }
+
+    private long sweepColumns() {
+        Set<String> missingBoards = missingParents("boardId", BoardColumn.class, Board.class);
+        if (missingBoards.isEmpty()) {
+            return 0;
+        }
+        long removed = removeInBatches(Criteria.where("boardId").in(missingBoards), BoardColumn.class, ids -> {
+            positionAllocator.forgetColumns(ids);
+            evict(CacheConfig.COLUMN, ids);
+        });
+        missingBoards.forEach(positionAllocator::forgetBoard);
+        if (removed > 0) {
+            evict(CacheConfig.BOARD_COLUMNS, missingBoards);
+        }
+        return removed;
+    }
+
+    private long sweepTasks() {
+        Set<String> missingColumns = missingParents("columnId", Task.class, BoardColumn.class);
+        if (missingColumns.isEmpty()) {
+            return 0;
+        }
+        long removed = removeInBatches(Criteria.where("columnId").in(missingColumns), Task.class, ids -> { });
+        positionAllocator.forgetColumns(missingColumns);
+        return removed;
+    }
+
+    /**
+     * Returns the ids {@code field} of {@code documentType} references that have no
+     * document of {@code parentType}, checking them a batch at a time.
+     */
+    private Set<String> missingParents(String field, Class<?> documentType, Class<?> parentType) {
+        Set<String> missing = new HashSet<>();
+        List<String> batch = new ArrayList<>(batchSize);
+        String last = null;
+        while ((last = nextReference(field, last, documentType)) != null) {
+            batch.add(last);
+            if (batch.size() == batchSize) {
+                missing.addAll(missing(batch, parentType));
+                batch.clear();
+            }
+        }
+        missing.addAll(missing(batch, parentType));
+        return missing;
+    }
+
+    /**
+     * The smallest value of {@code field} above {@code after} ({@code null} for the
+     * first), read from the index alone.
+     */
+    private String nextReference(String field, String after, Class<?> documentType) {
+        Query query = Query.query(after == null ? Criteria.where(field).gte("") : Criteria.where(field).gt(after))
+                .with(Sort.by(Sort.Direction.ASC, field))
+                .limit(1);
+        query.fields().include(field).exclude("_id");
+        Document next = mongoTemplate.query(documentType).as(Document.class).matching(query).firstValue();
+        return next != null ? next.getString(field) : null;
+    }
+
+    private Set<String> missing(List<String> referencedIds, Class<?> parentType) {
+        Set<String> missing = new HashSet<>(referencedIds);
+        if (!missing.isEmpty()) {
+            idsMatching(Query.query(Criteria.where("_id").in(referencedIds)), parentType).forEach(missing::remove);
+        }
+        return missing;
+    }
+
+    private long removeInBatches(Criteria criteria, Class<?> documentType, Consumer<List<String>> onRemoved) {
+        long removed = 0;
+        while (true) {
+            List<String> ids = idsMatching(Query.query(criteria).limit(batchSize), documentType);
+            if (ids.isEmpty()) {
+                return removed;
+            }
+            long deleted = mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), documentType)
+                    .getDeletedCount();
+            onRemoved.accept(ids);
+            removed += deleted;
+            if (deleted == 0) {
+                // Nothing matched by id; stop rather than fetch the same batch forever
+                return removed;
+            }
+        }
+    }
+
+    private void evict(String cacheName, Iterable<String> keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            keys.forEach(cache::evict);
+        }
+    }
+
+    private List<String> idsMatching(Query query, Class<?> documentType) {
+        query.fields().include("_id");
+        return mongoTemplate.query(documentType).as(Document.class).matching(query).all().stream()
+                .map(document -> Objects.toString(document.get("_id")))
+                .toList();
+    }
+}
@@ -0,0 +1,45 @@
+package dev.kreaker.kjk.service;
+
+/**
+ * A rank chosen for a move, together with the neighbour ranks it was chosen
+ * between, so the move can check afterwards that no concurrent move landed in the
+ * same gap. Appends take their rank from a counter and never collide.
+ */
+final class Placement {
+    
+    private final long position;
+    private final Long previous;
+    private final Long next;
+    private final boolean append;
+    
+    private Placement(long position, Long previous, Long next, boolean append) {
+        this.position = position;
+        this.previous = previous;
+        this.next = next;
+        this.append = append;
+    }
+    
+    static Placement between(long position, Long previous, Long next) {
+        return new Placement(position, previous, next, false);
+    }
+    
+    static Placement append(long position) {
+        return new Placement(position, null, null, true);
+    }
+    
+    long getPosition() {
+        return position;
+    }
+    
+    Long getPrevious() {
+        return previous;
+    }
+    
+    Long getNext() {
+        return next;
+    }
+    
+    boolean isAppend() {
+        return append;
+    }
+}
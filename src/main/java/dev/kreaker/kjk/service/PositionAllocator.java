@@ -0,0 +1,104 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.repository.PositionCounterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Hands out ranks at the end of a column or board from an atomic counter, so
+ * concurrent appends never receive the same position. Every placement at the end
+ * of a scope goes through here. A rebalance respreads the scope to
+ * {@code GAP, 2 * GAP, ...}, which can land above the counter; it raises the
+ * counter past its highest rank before releasing the scope lock, and single
+ * appends reserve and write under the same lock, so no append is handed a rank
+ * the rebalance has given away. Batches only reserve under the lock; a batched
+ * append racing a rebalance of its column can land below the respread tasks
+ * until the column is next rebalanced.
+ * <p>
+ * Counters are created lazily: the first append of a scope seeds its counter from
+ * {@code lastPosition}, which is only evaluated then.
+ */
+@Component
+public class PositionAllocator {
+    
+    private final PositionCounterRepository counterRepository;
+    
+    @Autowired
+    public PositionAllocator(PositionCounterRepository counterRepository) {
+        this.counterRepository = counterRepository;
+    }
+    
+    public long appendToColumn(String columnId, Supplier<Long> lastPosition) {
+        return reserve(columnScope(columnId), 1, lastPosition);
+    }
+    
+    /**
+     * Reserves {@code count} consecutive ranks at the end of a column and returns the
+     * first; the others follow {@link PositionRanks#GAP} apart.
+     */
+    public long reserveInColumn(String columnId, int count, Supplier<Long> lastPosition) {
+        return reserve(columnScope(columnId), count, lastPosition);
+    }
+    
+    public long appendToBoard(String boardId, Supplier<Long> lastPosition) {
+        return reserve(boardScope(boardId), 1, lastPosition);
+    }
+    
+    /**
+     * Keeps later appends to the column above {@code highest}, the top rank a
+     * rebalance just wrote.
+     */
+    public void raiseColumn(String columnId, long highest) {
+        counterRepository.raise(columnScope(columnId), highest);
+    }
+    
+    public void raiseBoard(String boardId, long highest) {
+        counterRepository.raise(boardScope(boardId), highest);
+    }
+    
+    public void forgetColumn(String columnId) {
+        counterRepository.deleteById(columnScope(columnId));
+    }
+    
+    public void forgetColumns(Collection<String> columnIds) {
+        if (!columnIds.isEmpty()) {
+            counterRepository.deleteAllById(columnIds.stream().map(PositionAllocator::columnScope).toList());
+        }
+    }
+    
+    public void forgetBoard(String boardId) {
+        counterRepository.deleteById(boardScope(boardId));
+    }
+    
+    private long reserve(String scope, int count, Supplier<Long> lastPosition) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Must reserve at least one position");
+        }
+        long delta = count * PositionRanks.GAP;
+        Long last = counterRepository.increment(scope, delta);
+        if (last == null) {
+            try {
+                last = counterRepository.seed(scope, lastPosition.get(), delta);
+            } catch (DuplicateKeyException e) {
+                // Another request created the counter first
+                last = counterRepository.increment(scope, delta);
+                if (last == null) {
+                    throw new IllegalStateException("Position counter disappeared: " + scope);
+                }
+            }
+        }
+        return last - delta + PositionRanks.GAP;
+    }
+    
+    private static String columnScope(String columnId) {
+        return "column:" + columnId;
+    }
+    
+    private static String boardScope(String boardId) {
+        return "board:" + boardId;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.kreaker.kjk.service;
+
+import java.util.OptionalLong;
+
+/**
+ * Sparse rank arithmetic for {@code Task.position} and {@code BoardColumn.position}.
+ * Positions are spread {@link #GAP} apart so that a move only has to rewrite the
+ * moved document; siblings are respread only when two neighbours become adjacent.
+ */
+public final class PositionRanks {
+
+    /** Distance between consecutive ranks after a rebalance. */
+    public static final long GAP = 1L << 16;
+
+    /** Remaining gap below which a background rebalance is requested. */
+    public static final long LOW_WATERMARK = 16;
+
+    private PositionRanks() {
+    }
+
+    /**
+     * Rank of the element at the given index in a freshly spread list.
+     */
+    public static long spread(int index) {
+        return (index + 1) * GAP;
+    }
+
+    /**
+     * Rank to append after the given last rank ({@code null} for an empty list).
+     */
+    public static long after(Long last) {
+        return last == null ? GAP : last + GAP;
+    }
+
+    /**
+     * Rank strictly between two neighbours, either of which may be {@code null}
+     * at the ends of the list. Empty when the neighbours are adjacent.
+     */
+    public static OptionalLong between(Long previous, Long next) {
+        if (previous == null && next == null) {
+            return OptionalLong.of(GAP);
+        }
+        if (previous == null) {
+            return OptionalLong.of(next - GAP);
+        }
+        if (next == null) {
+            return OptionalLong.of(previous + GAP);
+        }
+        if (next - previous <= 1) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(previous + (next - previous) / 2);
+    }
+
+    /**
+     * Whether the rank just placed between the neighbours left them too close together.
+     */
+    public static boolean isCrowded(Long previous, long rank, Long next) {
+        return (previous != null && rank - previous < LOW_WATERMARK)
+                || (next != null && next - rank < LOW_WATERMARK);
+    }
+}
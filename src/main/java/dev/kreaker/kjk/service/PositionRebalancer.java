@@ -0,0 +1,170 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.config.CacheConfig;
+import dev.kreaker.kjk.event.BoardChangeEvent;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Respreads sparse positions once the gaps between neighbours run out.
+ * Rebalances can run inline (when a move has no room left at all) or be queued
+ * on a single background thread; queued requests for the same scope are coalesced.
+ * Each respread raises the scope's append counter to its new highest rank while
+ * still holding the scope lock (see {@link PositionAllocator}).
+ */
+@Component
+public class PositionRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(PositionRebalancer.class);
+
+    private final TaskRepository taskRepository;
+    private final BoardColumnRepository columnRepository;
+    private final PositionAllocator positionAllocator;
+    private final CacheManager cacheManager;
+    private final ScopeLocks scopeLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistributionSummary columnWrites;
+    private final DistributionSummary boardWrites;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "position-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public PositionRebalancer(TaskRepository taskRepository, BoardColumnRepository columnRepository,
+                              PositionAllocator positionAllocator, CacheManager cacheManager,
+                              ScopeLocks scopeLocks, ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        this.columnRepository = columnRepository;
+        this.positionAllocator = positionAllocator;
+        this.cacheManager = cacheManager;
+        this.scopeLocks = scopeLocks;
+        this.eventPublisher = eventPublisher;
+        this.columnWrites = writesSummary(meterRegistry, "column");
+        this.boardWrites = writesSummary(meterRegistry, "board");
+    }
+
+    public void rebalanceColumn(String columnId) {
+        scopeLocks.inColumn(columnId, () -> {
+            respreadColumn(columnId);
+            return null;
+        });
+    }
+
+    public void rebalanceBoard(String boardId) {
+        scopeLocks.inBoard(boardId, () -> {
+            respreadBoard(boardId);
+            return null;
+        });
+    }
+
+    private void respreadColumn(String columnId) {
+        List<Task> tasks = taskRepository.findByColumnIdOrderByPosition(columnId);
+        Map<String, Long> positions = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            long rank = PositionRanks.spread(i);
+            if (!Objects.equals(task.getPosition(), rank)) {
+                positions.put(task.getId(), rank);
+            }
+        }
+        taskRepository.bulkSetPositions(positions);
+        columnWrites.record(positions.size());
+        if (!tasks.isEmpty()) {
+            positionAllocator.raiseColumn(columnId, PositionRanks.spread(tasks.size() - 1));
+        }
+        
+        if (!positions.isEmpty()) {
+            String boardId = tasks.get(0).getBoardId();
+            scopeLocks.afterRelease(() -> eventPublisher.publishEvent(new BoardChangeEvent(
+                    BoardChangeEvent.Type.POSITIONS_REBALANCED, boardId, columnId, null)));
+        }
+    }
+
+    private void respreadBoard(String boardId) {
+        List<BoardColumn> columns = columnRepository.findLayoutByBoardId(boardId);
+        Map<String, Long> positions = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            BoardColumn column = columns.get(i);
+            long rank = PositionRanks.spread(i);
+            if (!Objects.equals(column.getPosition(), rank)) {
+                positions.put(column.getId(), rank);
+            }
+        }
+        columnRepository.bulkSetPositions(positions);
+        boardWrites.record(positions.size());
+        if (!columns.isEmpty()) {
+            positionAllocator.raiseBoard(boardId, PositionRanks.spread(columns.size() - 1));
+        }
+        
+        if (!positions.isEmpty()) {
+            Cache layouts = cacheManager.getCache(CacheConfig.BOARD_COLUMNS);
+            if (layouts != null) {
+                layouts.evict(boardId);
+            }
+            Cache columnCache = cacheManager.getCache(CacheConfig.COLUMN);
+            if (columnCache != null) {
+                positions.keySet().forEach(columnCache::evict);
+            }
+            scopeLocks.afterRelease(() -> eventPublisher.publishEvent(new BoardChangeEvent(
+                    BoardChangeEvent.Type.POSITIONS_REBALANCED, boardId, boardId, null)));
+        }
+    }
+
+    public void requestColumnRebalance(String columnId) {
+        submit("column:" + columnId, () -> rebalanceColumn(columnId));
+    }
+
+    public void requestBoardRebalance(String boardId) {
+        submit("board:" + boardId, () -> rebalanceBoard(boardId));
+    }
+
+    private void submit(String key, Runnable rebalance) {
+        if (!pending.add(key)) {
+            return;
+        }
+        executor.execute(() -> {
+            pending.remove(key);
+            try {
+                rebalance.run();
+            } catch (RuntimeException e) {
+                log.warn("Background rebalance of {} failed", key, e);
+            }
+        });
+    }
+
+    private static DistributionSummary writesSummary(MeterRegistry meterRegistry, String scope) {
+        return DistributionSummary.builder("kjk.rebalance.documents.written")
+                .description("Documents rewritten by one rebalance")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,71 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.dto.ResourceStamp;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Computes the cache validators of the board, column and task reads. Boards and
+ * columns are served from the application caches and tagged from the cached
+ * body. Tasks are not cached, so their stamps are read from projections of
+ * {@code version} and the timestamps, and a conditional GET is answered with 304
+ * before the tasks themselves are loaded.
+ * <p>
+ * The stamp read here only decides the 304. A response that carries a body is
+ * tagged with {@link #of(Board)} and its siblings, computed from that body, so a
+ * write landing between the two reads cannot pair an older tag with a newer body
+ * (or a newer tag with an older one).
+ */
+@Service
+public class ResourceStamps {
+    
+    private final TaskRepository taskRepository;
+    
+    @Autowired
+    public ResourceStamps(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+    
+    public static ResourceStamp of(Board board) {
+        return ResourceStamp.ofDocument(board.getVersion(), board.getCreatedAt(), board.getUpdatedAt());
+    }
+    
+    public static ResourceStamp of(BoardColumn column) {
+        return ResourceStamp.ofDocument(column.getVersion(), column.getCreatedAt(), column.getUpdatedAt());
+    }
+    
+    public static ResourceStamp of(Task task) {
+        return ResourceStamp.ofDocument(task.getVersion(), task.getCreatedAt(), task.getUpdatedAt());
+    }
+    
+    public static ResourceStamp ofColumns(List<BoardColumn> columns) {
+        return ResourceStamp.ofList(columns, BoardColumn::getId, BoardColumn::getVersion);
+    }
+    
+    public static ResourceStamp ofTasks(List<Task> tasks) {
+        return ResourceStamp.ofList(tasks, Task::getId, Task::getVersion);
+    }
+    
+    public Optional<ResourceStamp> task(String id) {
+        return taskRepository.findStampById(id).map(ResourceStamps::of);
+    }
+    
+    public ResourceStamp columnTasks(String columnId) {
+        return ofTasks(taskRepository.findStampsByColumnId(columnId));
+    }
+    
+    /**
+     * Stamp of the tasks of a board, shared by the full tasks and the card listing.
+     * The cards do not carry versions, so their responses keep this stamp.
+     */
+    public ResourceStamp boardTasks(String boardId) {
+        return ofTasks(taskRepository.findStampsByBoardId(boardId));
+    }
+}
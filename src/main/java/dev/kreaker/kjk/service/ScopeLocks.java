@@ -0,0 +1,124 @@
+package dev.kreaker.kjk.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks that serialize order-changing writes per column (task
+ * moves, appends) and per board (column moves, appends and rebalances). Scopes hashing to different
+ * stripes proceed in parallel, so unrelated boards never wait on each other. The
+ * versioned writes stay the safety net across instances; the locks only keep
+ * writers of one instance from racing each other into retries.
+ * <p>
+ * Work that does not need the lock but is triggered under it, such as publishing
+ * change events whose listeners write to the database, goes through
+ * {@link #afterRelease} and runs once the thread holds no scope lock.
+ * <p>
+ * Publishes {@code kjk.scope.lock.queue} (threads waiting, over all stripes) and
+ * {@code kjk.scope.lock.wait} (time to acquire, tagged by scope).
+ */
+@Component
+public class ScopeLocks {
+    
+    private final ReentrantLock[] stripes;
+    private final ThreadLocal<Held> held = new ThreadLocal<>();
+    private final Timer columnWait;
+    private final Timer boardWait;
+    
+    @Autowired
+    public ScopeLocks(MeterRegistry meterRegistry, @Value("${kjk.locks.stripes:256}") int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("kjk.locks.stripes must be positive");
+        }
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.columnWait = waitTimer(meterRegistry, "column");
+        this.boardWait = waitTimer(meterRegistry, "board");
+        Gauge.builder("kjk.scope.lock.queue", this, ScopeLocks::getQueueLength)
+                .description("Threads waiting for a column or board write lock")
+                .register(meterRegistry);
+    }
+    
+    public <T> T inColumn(String columnId, Supplier<T> write) {
+        return locked("column:" + columnId, columnWait, write);
+    }
+    
+    public <T> T inBoard(String boardId, Supplier<T> write) {
+        return locked("board:" + boardId, boardWait, write);
+    }
+    
+    /**
+     * Runs {@code action} once the current thread has released all of its scope
+     * locks, right away when it holds none. Deferred actions run in the order they
+     * were registered.
+     */
+    public void afterRelease(Runnable action) {
+        Held current = held.get();
+        if (current == null) {
+            action.run();
+        } else {
+            current.deferred.add(action);
+        }
+    }
+    
+    public int getQueueLength() {
+        int waiting = 0;
+        for (ReentrantLock stripe : stripes) {
+            waiting += stripe.getQueueLength();
+        }
+        return waiting;
+    }
+    
+    private <T> T locked(String scope, Timer wait, Supplier<T> write) {
+        ReentrantLock lock = stripes[stripeIndex(scope)];
+        long start = System.nanoTime();
+        lock.lock();
+        Held current = held.get();
+        if (current == null) {
+            current = new Held();
+            held.set(current);
+        }
+        current.depth++;
+        try {
+            wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return write.get();
+        } finally {
+            lock.unlock();
+            if (--current.depth == 0) {
+                held.remove();
+                current.deferred.forEach(Runnable::run);
+            }
+        }
+    }
+    
+    private int stripeIndex(String scope) {
+        return Math.floorMod(scope.hashCode(), stripes.length);
+    }
+    
+    /**
+     * Scope locks the current thread holds, and what waits for their release.
+     */
+    private static final class Held {
+        private int depth;
+        private final List<Runnable> deferred = new ArrayList<>();
+    }
+    
+    private static Timer waitTimer(MeterRegistry meterRegistry, String scope) {
+        return Timer.builder("kjk.scope.lock.wait")
+                .description("Time spent waiting for a column or board write lock")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
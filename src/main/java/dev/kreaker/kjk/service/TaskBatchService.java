@@ -0,0 +1,325 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.dto.TaskBatchOperation;
+import dev.kreaker.kjk.dto.TaskBatchResult;
+import dev.kreaker.kjk.event.BoardChangeEvent;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.BoardColumnRepository;
+import dev.kreaker.kjk.repository.TaskRepository;
+import dev.kreaker.kjk.repository.TaskWrite;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many task operations in one request. Columns and tasks referenced by the
+ * batch are loaded once, appended positions are reserved as one block per column,
+ * and all creates, updates, appends and deletes go out as one unordered
+ * bulk write. Moves next to a given task reuse {@link TaskService#moveTask}.
+ * <p>
+ * Column locks are only held while a column's block of ranks is reserved. The
+ * bulk write runs unlocked: batched updates and appends only apply over the
+ * version the batch read, and a task changed in between is reported as a failed
+ * operation. Board statistics of the touched boards are rebuilt in the background
+ * afterwards.
+ */
+@Service
+public class TaskBatchService {
+
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    private final TaskRepository taskRepository;
+    private final BoardColumnRepository columnRepository;
+    private final TaskService taskService;
+    private final PositionAllocator positionAllocator;
+    private final ScopeLocks scopeLocks;
+    private final BoardStatsService boardStats;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public TaskBatchService(TaskRepository taskRepository, BoardColumnRepository columnRepository,
+                            TaskService taskService, PositionAllocator positionAllocator, ScopeLocks scopeLocks,
+                            BoardStatsService boardStats, Validator validator,
+                            ApplicationEventPublisher eventPublisher) {
+        this.taskRepository = taskRepository;
+        this.columnRepository = columnRepository;
+        this.taskService = taskService;
+        this.positionAllocator = positionAllocator;
+        this.scopeLocks = scopeLocks;
+        this.boardStats = boardStats;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public List<TaskBatchResult> apply(List<TaskBatchOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one operation");
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not exceed " + MAX_BATCH_SIZE + " operations");
+        }
+
+        Map<String, BoardColumn> columns = loadColumns(operations);
+        Map<String, Task> tasks = loadTasks(operations);
+        Set<String> boardIds = new HashSet<>();
+        columns.values().forEach(column -> boardIds.add(column.getBoardId()));
+        // Moves change the loaded tasks in place; keep the boards they were on
+        Map<String, String> originalBoardIds = new HashMap<>();
+        tasks.values().forEach(task -> {
+            boardIds.add(task.getBoardId());
+            originalBoardIds.put(task.getId(), task.getBoardId());
+        });
+
+        TaskBatchResult[] results = new TaskBatchResult[operations.size()];
+        Map<String, Long> nextPositions = reservePositions(countAppends(operations), columns);
+        Set<String> touchedTaskIds = new HashSet<>();
+        List<TaskWrite> writes = new ArrayList<>();
+        List<Integer> writeOwners = new ArrayList<>();
+        List<Integer> anchoredMoves = new ArrayList<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            TaskBatchOperation operation = operations.get(i);
+            try {
+                TaskWrite write = prepare(operation, columns, tasks, touchedTaskIds, nextPositions);
+                if (write != null) {
+                    writes.add(write);
+                    writeOwners.add(i);
+                } else {
+                    anchoredMoves.add(i);
+                }
+            } catch (IllegalArgumentException e) {
+                results[i] = TaskBatchResult.failed(i, operation != null ? operation.getId() : null,
+                        e.getMessage());
+            }
+        }
+        Map<Integer, String> errors = taskRepository.bulkApply(writes);
+        for (int w = 0; w < writes.size(); w++) {
+            TaskWrite write = writes.get(w);
+            int index = writeOwners.get(w);
+            if (errors.containsKey(w)) {
+                results[index] = TaskBatchResult.failed(index, write.getId(), errors.get(w));
+                continue;
+            }
+
+            if (write.getKind() == TaskWrite.Kind.DELETE) {
+                Task deleted = tasks.get(write.getId());
+                results[index] = TaskBatchResult.ok(index, write.getId(), null);
+                eventPublisher.publishEvent(new BoardChangeEvent(
+                        BoardChangeEvent.Type.TASK_DELETED, deleted.getBoardId(), deleted.getId(), null));
+            } else {
+                Task task = write.getTask();
+                if (write.getKind() != TaskWrite.Kind.INSERT) {
+                    task.setVersion(task.getVersion() == null ? 1L : task.getVersion() + 1);
+                }
+                results[index] = TaskBatchResult.ok(index, task.getId(), task);
+                String originalBoardId = originalBoardIds.get(task.getId());
+                if (originalBoardId != null && !originalBoardId.equals(task.getBoardId())) {
+                    // Gone from the board it left
+                    eventPublisher.publishEvent(new BoardChangeEvent(
+                            BoardChangeEvent.Type.TASK_DELETED, originalBoardId, task.getId(), null));
+                }
+                eventPublisher.publishEvent(new BoardChangeEvent(eventType(write), task.getBoardId(), task.getId(), task));
+            }
+        }
+
+        for (int index : anchoredMoves) {
+            TaskBatchOperation operation = operations.get(index);
+            try {
+                Task moved = taskService.moveTask(operation.getId(), operation.getColumnId(),
+                        operation.getAfterId(), operation.getBeforeId());
+                results[index] = TaskBatchResult.ok(index, moved.getId(), moved);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                results[index] = TaskBatchResult.failed(index, operation.getId(), e.getMessage());
+            }
+        }
+
+        if (writes.size() > errors.size()) {
+            // The bulk write does not report what each task looked like before
+            boardIds.forEach(boardStats::requestReconcile);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Validates an operation and turns it into a bulk write; {@code null} for a move
+     * next to a given task, which is applied after the bulk write.
+     */
+    private TaskWrite prepare(TaskBatchOperation operation, Map<String, BoardColumn> columns,
+                              Map<String, Task> tasks, Set<String> touchedTaskIds,
+                              Map<String, Long> nextPositions) {
+        if (operation == null || operation.getType() == null) {
+            throw new IllegalArgumentException("Operation type is required");
+        }
+
+        switch (operation.getType()) {
+            case CREATE: {
+                BoardColumn column = requireColumn(columns, operation.getColumnId());
+                Task task = requireValid(operation.getTask());
+                task.setId(new ObjectId().toHexString());
+                task.setVersion(0L);
+                task.setColumnId(column.getId());
+                task.setBoardId(column.getBoardId());
+                task.setPosition(nextPosition(nextPositions, column.getId()));
+                return TaskWrite.insert(task);
+            }
+            case UPDATE: {
+                Task task = requireTask(tasks, touchedTaskIds, operation.getId());
+                Task details = requireValid(operation.getTask());
+                task.setTitle(details.getTitle());
+                task.setDescription(details.getDescription());
+                task.setPriority(details.getPriority());
+                task.setColor(details.getColor());
+                task.setDueDate(details.getDueDate());
+                return TaskWrite.update(task);
+            }
+            case MOVE: {
+                Task task = requireTask(tasks, touchedTaskIds, operation.getId());
+                BoardColumn column = requireColumn(columns, operation.getColumnId());
+                if (isAnchored(operation)) {
+                    return null;
+                }
+                task.setColumnId(column.getId());
+                task.setBoardId(column.getBoardId());
+                task.setPosition(nextPosition(nextPositions, column.getId()));
+                return TaskWrite.place(task);
+            }
+            case DELETE: {
+                Task task = requireTask(tasks, touchedTaskIds, operation.getId());
+                return TaskWrite.delete(task.getId());
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported operation type: " + operation.getType());
+        }
+    }
+
+    private Map<String, BoardColumn> loadColumns(List<TaskBatchOperation> operations) {
+        Set<String> columnIds = operations.stream()
+                .filter(operation -> operation != null && operation.getColumnId() != null)
+                .map(TaskBatchOperation::getColumnId)
+                .collect(Collectors.toSet());
+        Map<String, BoardColumn> columns = new HashMap<>();
+        if (!columnIds.isEmpty()) {
+            for (BoardColumn column : columnRepository.findLayoutByIdIn(columnIds)) {
+                columns.put(column.getId(), column);
+            }
+        }
+        return columns;
+    }
+
+    private Map<String, Task> loadTasks(List<TaskBatchOperation> operations) {
+        Set<String> taskIds = operations.stream()
+                .filter(operation -> operation != null && operation.getId() != null
+                        && operation.getType() != TaskBatchOperation.Type.CREATE)
+                .map(TaskBatchOperation::getId)
+                .collect(Collectors.toSet());
+        Map<String, Task> tasks = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            for (Task task : taskRepository.findAllById(taskIds)) {
+                tasks.put(task.getId(), task);
+            }
+        }
+        return tasks;
+    }
+
+    private BoardColumn requireColumn(Map<String, BoardColumn> columns, String columnId) {
+        BoardColumn column = columnId != null ? columns.get(columnId) : null;
+        if (column == null) {
+            throw new IllegalArgumentException("Column not found with id: " + columnId);
+        }
+        return column;
+    }
+
+    private Task requireTask(Map<String, Task> tasks, Set<String> touchedTaskIds, String taskId) {
+        Task task = taskId != null ? tasks.get(taskId) : null;
+        if (task == null) {
+            throw new IllegalArgumentException("Task not found with id: " + taskId);
+        }
+        if (!touchedTaskIds.add(taskId)) {
+            throw new IllegalArgumentException("Task appears more than once in the batch: " + taskId);
+        }
+        return task;
+    }
+
+    private Task requireValid(Task task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task details are required");
+        }
+        Set<ConstraintViolation<Task>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(message);
+        }
+        return task;
+    }
+
+    /**
+     * Number of operations per column that may append to it; an upper bound, since
+     * some of them can still fail validation and leave their rank unused.
+     */
+    private Map<String, Integer> countAppends(List<TaskBatchOperation> operations) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (TaskBatchOperation operation : operations) {
+            if (operation == null || operation.getColumnId() == null) {
+                continue;
+            }
+            boolean appends = operation.getType() == TaskBatchOperation.Type.CREATE
+                    || (operation.getType() == TaskBatchOperation.Type.MOVE && !isAnchored(operation));
+            if (appends) {
+                counts.merge(operation.getColumnId(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static boolean isAnchored(TaskBatchOperation operation) {
+        return operation.getAfterId() != null || operation.getBeforeId() != null;
+    }
+
+    /**
+     * Reserves one block of ranks per existing column the batch appends to, each
+     * under that column's lock alone, and returns the first rank of every block.
+     */
+    private Map<String, Long> reservePositions(Map<String, Integer> appendCounts, Map<String, BoardColumn> columns) {
+        Map<String, Long> nextPositions = new HashMap<>();
+        appendCounts.forEach((columnId, count) -> {
+            if (columns.containsKey(columnId)) {
+                nextPositions.put(columnId, scopeLocks.inColumn(columnId, () -> positionAllocator.reserveInColumn(
+                        columnId, count, () -> taskRepository.findLastPosition(columnId, null))));
+            }
+        });
+        return nextPositions;
+    }
+
+    private long nextPosition(Map<String, Long> nextPositions, String columnId) {
+        long position = nextPositions.get(columnId);
+        nextPositions.put(columnId, position + PositionRanks.GAP);
+        return position;
+    }
+
+    private BoardChangeEvent.Type eventType(TaskWrite write) {
+        switch (write.getKind()) {
+            case INSERT:
+                return BoardChangeEvent.Type.TASK_CREATED;
+            case PLACE:
+                return BoardChangeEvent.Type.TASK_MOVED;
+            default:
+                return BoardChangeEvent.Type.TASK_UPDATED;
+        }
+    }
+}
@@ -1,29 +1,69 @@
 package dev.kreaker.kjk.service;
 
+import dev.kreaker.kjk.dto.PageCursor;
+import dev.kreaker.kjk.dto.TaskCard;
+import dev.kreaker.kjk.dto.TaskPage;
+import dev.kreaker.kjk.dto.TaskSearchResult;
+import dev.kreaker.kjk.event.BoardChangeEvent;
 import dev.kreaker.kjk.model.BoardColumn;
 import dev.kreaker.kjk.model.Task;
 import dev.kreaker.kjk.repository.BoardColumnRepository;
 import dev.kreaker.kjk.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "kjk.service", histogram = true)
 public class TaskService {
     
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_SEARCH_SIZE = 100;
+    
+    /** Deepest hit a search page may reach; beyond it, narrow the query instead. */
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    
     private final TaskRepository taskRepository;
     private final BoardColumnRepository columnRepository;
+    private final PositionRebalancer rebalancer;
+    private final PositionAllocator positionAllocator;
+    private final ScopeLocks scopeLocks;
+    private final ConcurrentCalls concurrentCalls;
+    private final BoardStatsService boardStats;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DistributionSummary moveWrites;
     
     @Autowired
-    public TaskService(TaskRepository taskRepository, BoardColumnRepository columnRepository) {
+    public TaskService(TaskRepository taskRepository, BoardColumnRepository columnRepository,
+                       PositionRebalancer rebalancer, PositionAllocator positionAllocator,
+                       ScopeLocks scopeLocks, ConcurrentCalls concurrentCalls, BoardStatsService boardStats,
+                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.taskRepository = taskRepository;
         this.columnRepository = columnRepository;
+        this.rebalancer = rebalancer;
+        this.positionAllocator = positionAllocator;
+        this.scopeLocks = scopeLocks;
+        this.concurrentCalls = concurrentCalls;
+        this.boardStats = boardStats;
+        this.eventPublisher = eventPublisher;
+        this.moveWrites = DistributionSummary.builder("kjk.move.documents.written")
+                .description("Documents written by one move, not counting inline rebalances")
+                .tag("entity", "task")
+                .register(meterRegistry);
     }
     
     public List<Task> getTasksByColumnId(String columnId) {
-        return taskRepository.findByColumnId(columnId);
+        return taskRepository.findByColumnIdOrderByPosition(columnId);
     }
     
     public Optional<Task> getTaskById(String id) {
@@ -31,90 +71,221 @@ public class TaskService {
     }
     
     public List<Task> getTasksByBoardId(String boardId) {
-        return taskRepository.findByColumnId(boardId);
+        return taskRepository.findByBoardId(boardId);
+    }
+    
+    public List<TaskCard> getBoardCards(String boardId) {
+        return taskRepository.findCardsByBoardIdOrderByColumnIdAscPositionAsc(boardId);
     }
     
     public Task createTask(String columnId, Task task) {
         BoardColumn column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + columnId));
         
-        // Set position to the end of the column
-        List<Task> existingTasks = taskRepository.findByColumnId(columnId);
-        task.setPosition(existingTasks.size());
         task.setColumnId(columnId);
+        task.setBoardId(column.getBoardId());
         
-        return taskRepository.save(task);
+        // Set position to the end of the column; reserved and written under the
+        // column lock so a rebalance cannot hand the same rank out in between
+        Task savedTask = scopeLocks.inColumn(columnId, () -> {
+            task.setPosition(positionAllocator.appendToColumn(columnId,
+                    () -> taskRepository.findLastPosition(columnId, null)));
+            return taskRepository.save(task);
+        });
+        boardStats.recordChange(null, BoardStatsService.Counted.of(savedTask));
+        publish(BoardChangeEvent.Type.TASK_CREATED, savedTask);
+        return savedTask;
     }
     
     public Task updateTask(String id, Task taskDetails) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
-        
-        task.setTitle(taskDetails.getTitle());
-        task.setDescription(taskDetails.getDescription());
-        task.setPriority(taskDetails.getPriority());
-        task.setColor(taskDetails.getColor());
-        task.setDueDate(taskDetails.getDueDate());
-        
-        return taskRepository.save(task);
+        for (int attempt = 1; attempt <= VersionConflictException.MAX_ATTEMPTS; attempt++) {
+            Task task = taskRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
+            BoardStatsService.Counted before = BoardStatsService.Counted.of(task);
+            
+            task.setTitle(taskDetails.getTitle());
+            task.setDescription(taskDetails.getDescription());
+            task.setPriority(taskDetails.getPriority());
+            task.setColor(taskDetails.getColor());
+            task.setDueDate(taskDetails.getDueDate());
+            task.preUpdate();
+            
+            // Only the edited fields are written, and only over the version just read
+            if (taskRepository.updateDetails(task)) {
+                task.setVersion(nextVersion(task.getVersion()));
+                boardStats.recordChange(before, BoardStatsService.Counted.of(task));
+                publish(BoardChangeEvent.Type.TASK_UPDATED, task);
+                return task;
+            }
+        }
+        throw conflict(id);
     }
     
     public void deleteTask(String id) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + id));
         
-        String columnId = task.getColumnId();
-        taskRepository.delete(task);
-        
-        // Reorder remaining tasks in the column
-        reorderTasks(columnId);
+        // Sparse positions keep their order without renumbering the remaining tasks.
+        // Only the delete that actually removed the task updates the statistics, so
+        // concurrent deletes of one task do not decrement twice
+        if (taskRepository.removeById(task.getId())) {
+            boardStats.recordChange(BoardStatsService.Counted.of(task), null);
+            eventPublisher.publishEvent(new BoardChangeEvent(
+                    BoardChangeEvent.Type.TASK_DELETED, task.getBoardId(), task.getId(), null));
+        }
     }
     
-    public Task moveTask(String taskId, String newColumnId, int newPosition) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId));
-        
-        BoardColumn newColumn = columnRepository.findById(newColumnId)
-                .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + newColumnId));
-        
-        String oldColumnId = task.getColumnId();
-        
-        // Update task's column
-        task.setColumnId(newColumnId);
+    /**
+     * Moves a task into a column, right after {@code afterTaskId} or right before
+     * {@code beforeTaskId} (both tasks of that column), or to its end when neither
+     * is given. The neighbours are found from the anchor's position, so the cost
+     * does not depend on where in the column the task lands.
+     */
+    public Task moveTask(String taskId, String newColumnId, String afterTaskId, String beforeTaskId) {
+        if (afterTaskId != null && beforeTaskId != null) {
+            throw new IllegalArgumentException("Give either afterTaskId or beforeTaskId, not both");
+        }
+        if (taskId.equals(afterTaskId) || taskId.equals(beforeTaskId)) {
+            throw new IllegalArgumentException("A task cannot be placed next to itself");
+        }
         
-        // Get tasks in the new column
-        List<Task> tasksInNewColumn = taskRepository.findByColumnId(newColumnId);
+        // The task and the target column are independent lookups
+        ConcurrentCalls.Both<Task, BoardColumn> found = concurrentCalls.join(
+                () -> taskRepository.findById(taskId)
+                        .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId)),
+                () -> columnRepository.findById(newColumnId)
+                        .orElseThrow(() -> new IllegalArgumentException("Column not found with id: " + newColumnId)));
         
-        // Remove task if it was already in this column
-        tasksInNewColumn.removeIf(t -> t.getId().equals(taskId));
+        // Moves into the same column are serialized in this instance
+        return scopeLocks.inColumn(newColumnId,
+                () -> placeTask(found.first(), found.second(), afterTaskId, beforeTaskId));
+    }
+    
+    private Task placeTask(Task task, BoardColumn newColumn, String afterTaskId, String beforeTaskId) {
+        String taskId = task.getId();
+        String newColumnId = newColumn.getId();
         
-        // Insert at new position
-        if (newPosition >= tasksInNewColumn.size()) {
-            tasksInNewColumn.add(task);
-        } else {
-            tasksInNewColumn.add(newPosition, task);
+        // Only the moved task is written, and only over the version just read; its
+        // siblings keep their positions
+        int writes = 0;
+        BoardStatsService.Counted movedFrom = null;
+        for (int attempt = 1; attempt <= VersionConflictException.MAX_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                task = taskRepository.findById(taskId)
+                        .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + taskId));
+            }
+            Placement placement = allocatePosition(newColumnId, taskId, afterTaskId, beforeTaskId);
+            if (!taskRepository.updatePosition(taskId, task.getVersion(), newColumn.getBoardId(), newColumnId,
+                    placement.getPosition())) {
+                continue;
+            }
+            if (writes++ == 0) {
+                movedFrom = BoardStatsService.Counted.of(task);
+            }
+            task.setColumnId(newColumnId);
+            task.setBoardId(newColumn.getBoardId());
+            task.setPosition(placement.getPosition());
+            task.setVersion(nextVersion(task.getVersion()));
+            
+            // A concurrent move may have picked a rank in the same gap; if so, pick again
+            if (placement.isAppend() || taskRepository.countBetween(newColumnId, taskId,
+                    placement.getPrevious(), placement.getNext()) == 0) {
+                moveWrites.record(writes);
+                recordMove(movedFrom, task);
+                return task;
+            }
         }
-        
-        // Update positions in new column
-        for (int i = 0; i < tasksInNewColumn.size(); i++) {
-            tasksInNewColumn.get(i).setPosition(i);
-            taskRepository.save(tasksInNewColumn.get(i));
+        moveWrites.record(writes);
+        if (writes > 0) {
+            recordMove(movedFrom, task);
         }
-        
-        // Reorder tasks in old column if it's different
-        if (!oldColumnId.equals(newColumnId)) {
-            reorderTasks(oldColumnId);
+        throw conflict(taskId);
+    }
+    
+    /**
+     * Statistics and change events of a move go out once the column lock is
+     * released, so their writes do not hold up the next move into the column.
+     */
+    private void recordMove(BoardStatsService.Counted movedFrom, Task task) {
+        BoardStatsService.Counted movedTo = BoardStatsService.Counted.of(task);
+        scopeLocks.afterRelease(() -> {
+            boardStats.recordChange(movedFrom, movedTo);
+            publishMove(movedFrom, task);
+        });
+    }
+    
+    private VersionConflictException conflict(String taskId) {
+        return new VersionConflictException("Task was modified concurrently: " + taskId,
+                taskRepository.findById(taskId).orElse(null));
+    }
+    
+    private static Long nextVersion(Long version) {
+        return version == null ? 1L : version + 1;
+    }
+    
+    private void publish(BoardChangeEvent.Type type, Task task) {
+        eventPublisher.publishEvent(new BoardChangeEvent(type, task.getBoardId(), task.getId(), task));
+    }
+    
+    /**
+     * A task moved to another board is gone from the board it left.
+     */
+    private void publishMove(BoardStatsService.Counted movedFrom, Task task) {
+        if (movedFrom.boardId() != null && !movedFrom.boardId().equals(task.getBoardId())) {
+            eventPublisher.publishEvent(new BoardChangeEvent(
+                    BoardChangeEvent.Type.TASK_DELETED, movedFrom.boardId(), task.getId(), null));
+        }
+        publish(BoardChangeEvent.Type.TASK_MOVED, task);
+    }
+    
+    private Placement allocatePosition(String columnId, String taskId, String afterTaskId, String beforeTaskId) {
+        Optional<Placement> position = positionAt(columnId, taskId, afterTaskId, beforeTaskId);
+        if (position.isEmpty()) {
+            // No gap left between the neighbours: respread the column and retry once
+            rebalancer.rebalanceColumn(columnId);
+            position = positionAt(columnId, taskId, afterTaskId, beforeTaskId);
+        }
+        return position.orElseThrow(() -> new IllegalStateException("Unable to allocate position in column: " + columnId));
+    }
+    
+    private Optional<Placement> positionAt(String columnId, String taskId, String afterTaskId, String beforeTaskId) {
+        Long previous = null;
+        Long next = null;
+        if (afterTaskId != null) {
+            previous = anchorPosition(columnId, afterTaskId);
+            next = taskRepository.findPositionAfter(columnId, taskId, previous);
+        } else if (beforeTaskId != null) {
+            next = anchorPosition(columnId, beforeTaskId);
+            previous = taskRepository.findPositionBefore(columnId, taskId, next);
         }
         
-        return task;
+        if (next == null) {
+            // Appending: take the rank from the column's counter so it cannot collide with a concurrent create
+            Long last = previous;
+            return Optional.of(Placement.append(positionAllocator.appendToColumn(columnId,
+                    () -> last != null ? last : taskRepository.findLastPosition(columnId, taskId))));
+        }
+        OptionalLong position = PositionRanks.between(previous, next);
+        if (position.isEmpty()) {
+            return Optional.empty();
+        }
+        if (PositionRanks.isCrowded(previous, position.getAsLong(), next)) {
+            rebalancer.requestColumnRebalance(columnId);
+        }
+        return Optional.of(Placement.between(position.getAsLong(), previous, next));
     }
     
-    private void reorderTasks(String columnId) {
-        List<Task> tasks = taskRepository.findByColumnId(columnId);
-        for (int i = 0; i < tasks.size(); i++) {
-            tasks.get(i).setPosition(i);
-            taskRepository.save(tasks.get(i));
+    /**
+     * Current position of the task a move is anchored to, read again on every
+     * attempt since a rebalance or another move may have changed it.
+     */
+    private long anchorPosition(String columnId, String anchorId) {
+        Task anchor = taskRepository.findById(anchorId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + anchorId));
+        if (!columnId.equals(anchor.getColumnId()) || anchor.getPosition() == null) {
+            throw new IllegalArgumentException("Task " + anchorId + " is not in column " + columnId);
         }
+        return anchor.getPosition();
     }
     
     public List<Task> getTasksDueBetween(LocalDateTime start, LocalDateTime end) {
@@ -125,8 +296,107 @@ public class TaskService {
         return taskRepository.findByPriority(priority);
     }
     
+    public TaskPage getTasksByColumnId(String columnId, String after, int limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        Long afterPosition = cursor != null ? parseLong(cursor.getSortKey()) : null;
+        String afterId = cursor != null ? cursor.getId() : null;
+        int pageSize = pageSize(limit);
+        List<Task> tasks = taskRepository.findColumnPage(columnId, afterPosition, afterId, pageSize + 1);
+        return toPage(tasks, pageSize, task -> String.valueOf(task.getPosition()));
+    }
+    
+    public TaskPage getTasksByPriority(Task.Priority priority, String after, int limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        LocalDateTime afterCreatedAt = cursor != null ? parseDateTime(cursor.getSortKey()) : null;
+        String afterId = cursor != null ? cursor.getId() : null;
+        int pageSize = pageSize(limit);
+        List<Task> tasks = taskRepository.findPriorityPage(priority, afterCreatedAt, afterId, pageSize + 1);
+        return toPage(tasks, pageSize, task -> String.valueOf(task.getCreatedAt()));
+    }
+    
+    public TaskPage getTasksDueBetween(LocalDateTime start, LocalDateTime end, String after, int limit) {
+        PageCursor cursor = PageCursor.decode(after);
+        LocalDateTime afterDueDate = cursor != null ? parseDateTime(cursor.getSortKey()) : null;
+        String afterId = cursor != null ? cursor.getId() : null;
+        int pageSize = pageSize(limit);
+        List<Task> tasks = taskRepository.findDuePage(start, end, afterDueDate, afterId, pageSize + 1);
+        return toPage(tasks, pageSize, task -> String.valueOf(task.getDueDate()));
+    }
+    
+    /**
+     * Searches task titles and descriptions, best match first; a blank query lists
+     * the tasks of one board matching the filters, newest first. Priority, due date
+     * and board filters are optional with a query, but a blank query needs a board,
+     * so a listing and its facet counts never run over the whole collection.
+     */
+    public TaskSearchResult searchTasks(String query, Task.Priority priority, LocalDateTime dueBefore,
+                                        String boardId, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int pageSize = Math.min(size, MAX_SEARCH_SIZE);
+        if ((long) page * pageSize >= MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("Search pages end at hit " + MAX_SEARCH_OFFSET);
+        }
+        String text = query != null && !query.isBlank() ? query.trim() : null;
+        if (text == null && (boardId == null || boardId.isBlank())) {
+            throw new IllegalArgumentException("A search without a query must be limited to a board");
+        }
+        return taskRepository.search(text, priority, dueBefore, boardId, page, pageSize);
+    }
+    
+    /**
+     * Streams a column straight from a database cursor. The caller must close the stream.
+     */
+    public Stream<Task> streamTasksByColumnId(String columnId) {
+        return taskRepository.streamByColumnIdOrderByPosition(columnId);
+    }
+    
+    public Stream<Task> streamTasksByPriority(Task.Priority priority) {
+        return taskRepository.streamByPriorityOrderByCreatedAtDesc(priority);
+    }
+    
+    public Stream<Task> streamTasksDueBetween(LocalDateTime start, LocalDateTime end) {
+        return taskRepository.streamByDueDateBetweenOrderByDueDate(start, end);
+    }
+    
+    private int pageSize(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+    
+    private TaskPage toPage(List<Task> tasks, int pageSize, Function<Task, String> sortKey) {
+        if (tasks.size() <= pageSize) {
+            return new TaskPage(tasks, null);
+        }
+        List<Task> items = tasks.subList(0, pageSize);
+        Task last = items.get(items.size() - 1);
+        return new TaskPage(items, PageCursor.encode(sortKey.apply(last), last.getId()));
+    }
+    
+    private Long parseLong(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+    
+    private LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+    
     public Long getTaskCountByBoardId(String boardId) {
-        return (long) taskRepository.findByColumnId(boardId).size();
+        return taskRepository.countByBoardId(boardId);
     }
     
     public boolean taskExists(String id) {
@@ -0,0 +1,23 @@
+package dev.kreaker.kjk.service;
+
+/**
+ * Raised when a versioned write keeps losing to concurrent writers after the
+ * bounded number of retries. Carries the document as currently stored (or
+ * {@code null} when it has been deleted meanwhile) so the client can resynchronize.
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    /** Attempts of an optimistic read-modify-write before giving up. */
+    public static final int MAX_ATTEMPTS = 5;
+    
+    private final Object current;
+    
+    public VersionConflictException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+    
+    public Object getCurrent() {
+        return current;
+    }
+}
@@ -5,11 +5,102 @@ let columns = [];
 let tasks = [];
 let currentEditingTask = null;
 let currentEditingColumn = null;
+let boardEvents = null;
+let changeCursor = null;
 
 // Initialize Kanban Board
 async function initializeKanbanBoard(boardId) {
     currentBoardId = boardId;
     await loadBoard();
+    subscribeToBoardEvents();
+}
+
+// Live updates: apply server-sent deltas instead of reloading the whole board
+function subscribeToBoardEvents() {
+    if (!window.EventSource) {
+        return;
+    }
+    
+    let connectedBefore = false;
+    boardEvents = new EventSource(`/api/boards/${currentBoardId}/events`);
+    
+    boardEvents.onopen = function() {
+        // Events may have been missed while disconnected
+        if (connectedBefore) {
+            syncBoard();
+        }
+        connectedBefore = true;
+    };
+    
+    boardEvents.onmessage = function(message) {
+        applyBoardEvent(JSON.parse(message.data));
+    };
+}
+
+// Whether mutations can rely on the event stream to refresh the board
+function hasLiveUpdates() {
+    return boardEvents !== null && boardEvents.readyState === EventSource.OPEN;
+}
+
+// Apply a single board change event
+function applyBoardEvent(event) {
+    switch (event.type) {
+        case 'TASK_CREATED':
+        case 'TASK_UPDATED':
+        case 'TASK_MOVED':
+            removeTaskFromColumns(event.entityId);
+            insertTask(event.data);
+            break;
+        case 'TASK_DELETED':
+            removeTaskFromColumns(event.entityId);
+            break;
+        case 'COLUMN_CREATED':
+            columns.push(Object.assign({}, event.data, { tasks: [] }));
+            sortByPosition(columns);
+            break;
+        case 'COLUMN_UPDATED':
+        case 'COLUMN_MOVED': {
+            const column = columns.find(c => c.id === event.entityId);
+            if (column) {
+                column.name = event.data.name;
+                column.color = event.data.color;
+                column.position = event.data.position;
+                sortByPosition(columns);
+            }
+            break;
+        }
+        case 'COLUMN_DELETED':
+            columns = columns.filter(c => c.id !== event.entityId);
+            break;
+        default:
+            // Positions were respread or the event is unknown: fetch what changed
+            syncBoard();
+            return;
+    }
+    
+    renderBoard();
+}
+
+function removeTaskFromColumns(taskId) {
+    columns.forEach(column => {
+        if (column.tasks) {
+            column.tasks = column.tasks.filter(t => t.id !== taskId);
+        }
+    });
+}
+
+function insertTask(task) {
+    const column = columns.find(c => c.id === task.columnId);
+    if (!column) {
+        return;
+    }
+    column.tasks = column.tasks || [];
+    column.tasks.push(task);
+    sortByPosition(column.tasks);
+}
+
+function sortByPosition(items) {
+    items.sort((a, b) => a.position - b.position);
 }
 
 // Load board data
@@ -17,8 +108,14 @@ async function loadBoard() {
     try {
         app.loading.show(document.getElementById('kanbanColumns'), 'Loading board...');
         
-        // Load columns with tasks
-        columns = await app.api.get(`/boards/${currentBoardId}/columns`);
+        // Take the change cursor before the snapshot, so changes made while it
+        // loads are fetched again by the next sync instead of being missed
+        const changes = await app.api.get(`/boards/${currentBoardId}/changes`);
+        
+        // Load columns with tasks in a single request
+        const snapshot = await app.api.get(`/boards/${currentBoardId}/snapshot`);
+        columns = snapshot.columns || [];
+        changeCursor = changes.cursor;
         
         renderBoard();
     } catch (error) {
@@ -27,6 +124,53 @@ async function loadBoard() {
     }
 }
 
+// Fetch only what changed since the last snapshot or sync
+async function syncBoard() {
+    if (changeCursor === null) {
+        return loadBoard();
+    }
+    
+    try {
+        let changes;
+        do {
+            changes = await app.api.get(
+                `/boards/${currentBoardId}/changes?since=${encodeURIComponent(changeCursor)}`);
+            if (changes.reset) {
+                // The cursor is older than the change log
+                return loadBoard();
+            }
+            applyBoardChanges(changes);
+            changeCursor = changes.cursor;
+        } while (changes.more);
+        
+        renderBoard();
+    } catch (error) {
+        console.error('Error syncing board:', error);
+        return loadBoard();
+    }
+}
+
+function applyBoardChanges(changes) {
+    columns = columns.filter(c => !changes.deletedColumnIds.includes(c.id));
+    changes.columns.forEach(changed => {
+        const column = columns.find(c => c.id === changed.id);
+        if (column) {
+            column.name = changed.name;
+            column.color = changed.color;
+            column.position = changed.position;
+        } else {
+            columns.push(Object.assign({}, changed, { tasks: [] }));
+        }
+    });
+    sortByPosition(columns);
+    
+    changes.deletedTaskIds.forEach(removeTaskFromColumns);
+    changes.tasks.forEach(task => {
+        removeTaskFromColumns(task.id);
+        insertTask(task);
+    });
+}
+
 // Render the entire board
 function renderBoard() {
     const columnsContainer = document.getElementById('kanbanColumns');
@@ -196,24 +340,31 @@ function initializeDragAndDrop() {
                 
                 const taskId = evt.item.getAttribute('data-task-id');
                 const newColumnId = evt.to.getAttribute('data-column-id');
-                const newPosition = evt.newIndex;
+                // Anchor the move on a neighbouring card rather than an index
+                const previous = evt.item.previousElementSibling;
+                const next = evt.item.nextElementSibling;
+                const target = { newColumnId: newColumnId };
+                if (previous && previous.hasAttribute('data-task-id')) {
+                    target.afterTaskId = previous.getAttribute('data-task-id');
+                } else if (next && next.hasAttribute('data-task-id')) {
+                    target.beforeTaskId = next.getAttribute('data-task-id');
+                }
                 
-                moveTaskToColumn(taskId, newColumnId, newPosition);
+                moveTaskToColumn(taskId, target);
             }
         });
     });
 }
 
 // Move task to different column
-async function moveTaskToColumn(taskId, newColumnId, newPosition) {
+async function moveTaskToColumn(taskId, target) {
     try {
-        await app.api.put(`/tasks/${taskId}/move`, {
-            newColumnId: parseInt(newColumnId),
-            newPosition: newPosition
-        });
+        await app.api.put(`/tasks/${taskId}/move`, target);
         
-        // Reload board to reflect changes
-        await loadBoard();
+        // Fetch the changes unless the event stream delivers them
+        if (!hasLiveUpdates()) {
+            await syncBoard();
+        }
     } catch (error) {
         console.error('Error moving task:', error);
         app.showNotification('Error moving task', 'error');
@@ -257,7 +408,9 @@ async function deleteColumn(columnId) {
     try {
         await app.api.delete(`/columns/${columnId}`);
         app.showNotification('Column deleted successfully', 'success');
-        await loadBoard();
+        if (!hasLiveUpdates()) {
+            await syncBoard();
+        }
     } catch (error) {
         console.error('Error deleting column:', error);
         app.showNotification('Error deleting column', 'error');
@@ -325,7 +478,9 @@ async function deleteTask(taskId) {
     try {
         await app.api.delete(`/tasks/${taskId}`);
         app.showNotification('Task deleted successfully', 'success');
-        await loadBoard();
+        if (!hasLiveUpdates()) {
+            await syncBoard();
+        }
     } catch (error) {
         console.error('Error deleting task:', error);
         app.showNotification('Error deleting task', 'error');
@@ -381,7 +536,9 @@ document.addEventListener('DOMContentLoaded', function() {
                 }
                 
                 closeColumnModal();
-                await loadBoard();
+                if (!hasLiveUpdates()) {
+                    await syncBoard();
+                }
             } catch (error) {
                 console.error('Error saving column:', error);
                 app.showNotification(error.message || 'Error saving column', 'error');
@@ -422,7 +579,9 @@ document.addEventListener('DOMContentLoaded', function() {
                 }
                 
                 closeTaskModal();
-                await loadBoard();
+                if (!hasLiveUpdates()) {
+                    await syncBoard();
+                }
             } catch (error) {
                 console.error('Error saving task:', error);
                 app.showNotification(error.message || 'Error saving task', 'error');
@@ -0,0 +1,214 @@
+package dev.kreaker.kjk.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.kreaker.kjk.support.MongoTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The /api contract, exercised over HTTP against a running server. Subclasses pick
+ * the stack: the same scenarios must pass with the blocking controllers and under
+ * the {@code reactive} profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+abstract class ApiContractTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MongoTestSupport::newDatabaseUri);
+    }
+
+    @Test
+    void boardLifecycle() {
+        ResponseEntity<JsonNode> created = exchange(HttpMethod.POST, "/api/boards",
+                Map.of("name", "Contract board", "description", "Lifecycle"));
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        String boardId = created.getBody().get("id").asText();
+        assertThat(created.getBody().get("name").asText()).isEqualTo("Contract board");
+
+        ResponseEntity<JsonNode> duplicate = exchange(HttpMethod.POST, "/api/boards", Map.of("name", "Contract board"));
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(duplicate.getBody().get("error").asText()).isNotBlank();
+
+        ResponseEntity<JsonNode> renamed = exchange(HttpMethod.PUT, "/api/boards/" + boardId,
+                Map.of("name", "Renamed board"));
+        assertThat(renamed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(renamed.getBody().get("name").asText()).isEqualTo("Renamed board");
+
+        ResponseEntity<JsonNode> listed = exchange(HttpMethod.GET, "/api/boards", null);
+        assertThat(listed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(texts(listed.getBody(), "name")).contains("Renamed board");
+
+        assertThat(exchange(HttpMethod.GET, "/api/boards/" + boardId + "/exists", null).getBody().asBoolean())
+                .isTrue();
+        assertThat(exchange(HttpMethod.DELETE, "/api/boards/" + boardId, null).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(exchange(HttpMethod.GET, "/api/boards/" + boardId + "/exists", null).getBody().asBoolean())
+                .isFalse();
+        assertThat(exchange(HttpMethod.GET, "/api/boards/" + boardId, null).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void columnsAndTasksKeepTheirOrder() {
+        String boardId = createBoard("Ordering board");
+        // New boards come with default columns; these two are appended after them
+        String todo = createColumn(boardId, "Backlog");
+        String done = createColumn(boardId, "Shipped");
+
+        assertThat(ids(exchange(HttpMethod.GET, "/api/boards/" + boardId + "/columns", null).getBody()))
+                .endsWith(todo, done);
+
+        String first = createTask(todo, "First");
+        String second = createTask(todo, "Second");
+        String third = createTask(todo, "Third");
+        assertThat(ids(exchange(HttpMethod.GET, "/api/columns/" + todo + "/tasks", null).getBody()))
+                .containsExactly(first, second, third);
+
+        ResponseEntity<JsonNode> moved = exchange(HttpMethod.PUT, "/api/tasks/" + third + "/move",
+                Map.of("newColumnId", todo, "beforeTaskId", first));
+        assertThat(moved.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ids(exchange(HttpMethod.GET, "/api/columns/" + todo + "/tasks", null).getBody()))
+                .containsExactly(third, first, second);
+
+        assertThat(exchange(HttpMethod.PUT, "/api/tasks/" + second + "/move", Map.of("newColumnId", done))
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ids(exchange(HttpMethod.GET, "/api/columns/" + done + "/tasks", null).getBody()))
+                .containsExactly(second);
+
+        assertThat(exchange(HttpMethod.PUT, "/api/columns/" + done + "/move", Map.of("beforeColumnId", todo))
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ids(exchange(HttpMethod.GET, "/api/boards/" + boardId + "/columns", null).getBody()))
+                .endsWith(done, todo);
+
+        assertThat(exchange(HttpMethod.GET, "/api/boards/" + boardId + "/tasks/count", null).getBody().asLong())
+                .isEqualTo(3);
+        JsonNode columns = exchange(HttpMethod.GET, "/api/boards/" + boardId + "/snapshot", null).getBody()
+                .get("columns");
+        assertThat(ids(columns)).endsWith(done, todo);
+        assertThat(ids(columns.get(columns.size() - 1).get("tasks"))).containsExactly(third, first);
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        String boardId = createBoard("Validation board");
+        String column = createColumn(boardId, "Only");
+        String task = createTask(column, "Task");
+
+        assertThat(exchange(HttpMethod.PUT, "/api/tasks/" + task + "/move",
+                Map.of("newColumnId", column, "afterTaskId", task)).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        ResponseEntity<JsonNode> indexed = exchange(HttpMethod.PUT, "/api/tasks/" + task + "/move",
+                Map.of("newColumnId", column, "newPosition", 0));
+        assertThat(indexed.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(indexed.getBody().get("error").asText()).contains("afterTaskId", "beforeTaskId");
+        assertThat(exchange(HttpMethod.PUT, "/api/columns/" + column + "/move", Map.of("newPosition", 0))
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exchange(HttpMethod.POST, "/api/columns/missing/tasks", Map.of("title", "Orphan"))
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exchange(HttpMethod.GET, "/api/tasks/missing", null).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exchange(HttpMethod.GET, "/api/search?priority=HIGH", null).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(exchange(HttpMethod.GET, "/api/search?boardId=" + boardId, null).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(exchange(HttpMethod.DELETE, "/api/tasks/" + task, null).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(exchange(HttpMethod.GET, "/api/tasks/" + task, null).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void conditionalGetsRevalidate() {
+        String boardId = createBoard("Caching board");
+        String column = createColumn(boardId, "Column");
+        String task = createTask(column, "Cached");
+
+        ResponseEntity<JsonNode> first = exchange(HttpMethod.GET, "/api/tasks/" + task, null);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).isNotNull();
+        assertThat(first.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+
+        HttpHeaders revalidate = new HttpHeaders();
+        revalidate.setIfNoneMatch(etag);
+        assertThat(exchange(HttpMethod.GET, "/api/tasks/" + task, null, revalidate).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        exchange(HttpMethod.PUT, "/api/tasks/" + task, Map.of("title", "Edited"));
+        ResponseEntity<JsonNode> edited = exchange(HttpMethod.GET, "/api/tasks/" + task, null, revalidate);
+        assertThat(edited.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(edited.getBody().get("title").asText()).isEqualTo("Edited");
+
+        // Columns come from the cache; a write must evict it so the tag moves on
+        String columnTag = exchange(HttpMethod.GET, "/api/columns/" + column, null).getHeaders().getETag();
+        HttpHeaders revalidateColumn = new HttpHeaders();
+        revalidateColumn.setIfNoneMatch(columnTag);
+        assertThat(exchange(HttpMethod.GET, "/api/columns/" + column, null, revalidateColumn).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        exchange(HttpMethod.PUT, "/api/columns/" + column, Map.of("name", "Renamed"));
+        ResponseEntity<JsonNode> renamed = exchange(HttpMethod.GET, "/api/columns/" + column, null, revalidateColumn);
+        assertThat(renamed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(renamed.getHeaders().getETag()).isNotEqualTo(columnTag);
+        assertThat(renamed.getBody().get("name").asText()).isEqualTo("Renamed");
+    }
+
+    private String createBoard(String name) {
+        return created(exchange(HttpMethod.POST, "/api/boards", Map.of("name", name)));
+    }
+
+    private String createColumn(String boardId, String name) {
+        return created(exchange(HttpMethod.POST, "/api/boards/" + boardId + "/columns", Map.of("name", name)));
+    }
+
+    private String createTask(String columnId, String title) {
+        return created(exchange(HttpMethod.POST, "/api/columns/" + columnId + "/tasks", Map.of("title", title)));
+    }
+
+    private static String created(ResponseEntity<JsonNode> response) {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        return response.getBody().get("id").asText();
+    }
+
+    private ResponseEntity<JsonNode> exchange(HttpMethod method, String path, Object body) {
+        return exchange(method, path, body, new HttpHeaders());
+    }
+
+    private ResponseEntity<JsonNode> exchange(HttpMethod method, String path, Object body, HttpHeaders headers) {
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (body != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return rest.exchange(path, method, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    private static List<String> ids(JsonNode array) {
+        return texts(array, "id");
+    }
+
+    private static List<String> texts(JsonNode array, String field) {
+        List<String> values = new ArrayList<>();
+        array.forEach(element -> values.add(element.get(field).asText()));
+        return values;
+    }
+}
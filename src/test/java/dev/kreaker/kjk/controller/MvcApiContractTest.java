@@ -0,0 +1,7 @@
+package dev.kreaker.kjk.controller;
+
+/**
+ * The /api contract served by the blocking controllers.
+ */
+class MvcApiContractTest extends ApiContractTest {
+}
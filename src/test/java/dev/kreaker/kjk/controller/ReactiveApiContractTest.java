@@ -0,0 +1,11 @@
+package dev.kreaker.kjk.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The /api contract served by the Mono/Flux handlers of the {@code reactive}
+ * profile; the scenarios are those of the blocking stack, unchanged.
+ */
+@ActiveProfiles("reactive")
+class ReactiveApiContractTest extends ApiContractTest {
+}
@@ -0,0 +1,101 @@
+package dev.kreaker.kjk.embedded;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reopening the store after a crash: acknowledged writes survive, a torn write
+ * at the end of the log is dropped, and a snapshot replaces the log segments
+ * and snapshots it covers. A crash is simulated by opening the directory again
+ * without closing the previous store, which would have written a final
+ * snapshot.
+ */
+class EmbeddedStoreRecoveryTest {
+
+    @TempDir
+    private Path directory;
+
+    private record Opened(EmbeddedStore store, EmbeddedRepositories repositories) {
+    }
+
+    @Test
+    void recoversFromATornTailAndAfterASnapshot() throws IOException {
+        EmbeddedRepositories crashed = open().repositories();
+        Board board = crashed.boardRepository().save(new Board("Durable", null));
+        BoardColumn column = new BoardColumn("Column", 1000L);
+        column.setBoardId(board.getId());
+        column = crashed.columnRepository().save(column);
+        Task first = crashed.taskRepository().save(task(column, "First", 1000));
+        Path torn = lastSegment();
+        long intact = Files.size(torn);
+        appendTornFrame(torn);
+
+        Opened recovered = open();
+        assertThat(Files.size(torn)).isEqualTo(intact);
+        assertThat(recovered.repositories().boardRepository().findById(board.getId())).isPresent();
+        assertThat(recovered.repositories().taskRepository().findByColumnIdOrderByPosition(column.getId()))
+                .extracting(Task::getId).containsExactly(first.getId());
+
+        Task second = recovered.repositories().taskRepository().save(task(column, "Second", 2000));
+        recovered.store().snapshot();
+        List<Long> snapshots = StoreFiles.numbers(directory, StoreFiles.SNAPSHOT);
+        assertThat(snapshots).hasSize(1);
+        assertThat(StoreFiles.numbers(directory, StoreFiles.LOG)).containsExactlyElementsOf(snapshots);
+
+        Task third = recovered.repositories().taskRepository().save(task(column, "Third", 3000));
+        assertThat(recovered.repositories().taskRepository().removeById(first.getId())).isTrue();
+        appendTornFrame(lastSegment());
+
+        Opened reopened = open();
+        try {
+            assertThat(reopened.repositories().taskRepository().findByColumnIdOrderByPosition(column.getId()))
+                    .extracting(Task::getId).containsExactly(second.getId(), third.getId());
+            assertThat(reopened.repositories().boardRepository().existsByName("Durable")).isTrue();
+        } finally {
+            reopened.store().close();
+        }
+    }
+
+    private Opened open() throws IOException {
+        EmbeddedStore store = EmbeddedStore.open(directory, true, new SimpleMeterRegistry());
+        return new Opened(store, new EmbeddedRepositories(store));
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Long> segments = StoreFiles.numbers(directory, StoreFiles.LOG);
+        return StoreFiles.path(directory, StoreFiles.LOG, segments.get(segments.size() - 1));
+    }
+
+    /**
+     * The start of a frame whose payload never made it to disk.
+     */
+    private static void appendTornFrame(Path segment) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(Frames.HEADER_BYTES + 16);
+        frame.putInt(1024).putInt(0).put(new byte[16]).flip();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(frame);
+        }
+    }
+
+    private static Task task(BoardColumn column, String title, long position) {
+        Task task = new Task(title, null);
+        task.setBoardId(column.getBoardId());
+        task.setColumnId(column.getId());
+        task.setPosition(position);
+        return task;
+    }
+}
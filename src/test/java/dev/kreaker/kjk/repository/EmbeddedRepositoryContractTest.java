@@ -0,0 +1,35 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.embedded.EmbeddedRepositories;
+import dev.kreaker.kjk.embedded.EmbeddedStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The repository contract against the embedded store of the {@code embedded}
+ * profile.
+ */
+class EmbeddedRepositoryContractTest extends RepositoryContractTest {
+
+    @TempDir
+    private Path directory;
+
+    private EmbeddedStore store;
+
+    @Override
+    protected Repositories open() throws IOException {
+        store = EmbeddedStore.open(directory, false, new SimpleMeterRegistry());
+        EmbeddedRepositories repositories = new EmbeddedRepositories(store);
+        return new Repositories(repositories.taskRepository(), repositories.columnRepository(),
+                repositories.boardRepository(), repositories.changeRepository());
+    }
+
+    @AfterEach
+    void closeStore() {
+        store.close();
+    }
+}
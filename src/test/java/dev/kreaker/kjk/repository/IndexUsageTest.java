@@ -0,0 +1,159 @@
+package dev.kreaker.kjk.repository;
+
+import com.mongodb.client.FindIterable;
+import dev.kreaker.kjk.event.BoardChangeEvent;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.support.MongoTestSupport;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains the filters and sorts the repository finders send and checks that each
+ * one is answered by an index scan on its declared index, without a collection
+ * scan or an in-memory sort.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class IndexUsageTest {
+
+    private static MongoTemplate template;
+
+    @BeforeAll
+    static void seed() {
+        template = MongoTestSupport.newDatabase();
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>();
+        for (int board = 0; board < 5; board++) {
+            Board saved = template.insert(new Board("Board " + board, null));
+            for (int column = 0; column < 4; column++) {
+                BoardColumn savedColumn = new BoardColumn("Column " + column, (column + 1) * 65536L);
+                savedColumn.setBoardId(saved.getId());
+                savedColumn = template.insert(savedColumn);
+                for (int i = 0; i < 50; i++) {
+                    Task task = new Task("Task " + i, "Seeded");
+                    task.setBoardId(saved.getId());
+                    task.setColumnId(savedColumn.getId());
+                    task.setPosition((i + 1) * 65536L);
+                    task.setPriority(Task.Priority.values()[i % Task.Priority.values().length]);
+                    task.setDueDate(now.plusDays(i));
+                    tasks.add(task);
+                }
+            }
+            for (long seq = 1; seq <= 20; seq++) {
+                template.insert(new BoardChange(saved.getId(), seq, BoardChangeEvent.Type.TASK_CREATED, "task"));
+            }
+        }
+        template.insertAll(tasks);
+    }
+
+    @Test
+    void columnTasksInPositionOrder() {
+        assertIndexScan("tasks", new Document("columnId", "c1"), new Document("position", 1), 0,
+                "column_position_id");
+    }
+
+    @Test
+    void taskNeighbourSeek() {
+        Document filter = new Document("columnId", "c1")
+                .append("_id", new Document("$ne", "t1"))
+                .append("position", new Document("$gt", 65536L));
+        assertIndexScan("tasks", filter, new Document("position", 1), 1, "column_position_id");
+    }
+
+    @Test
+    void boardTasksGroupedByColumn() {
+        assertIndexScan("tasks", new Document("boardId", "b1"),
+                new Document("columnId", 1).append("position", 1), 0, "board_column_position");
+    }
+
+    @Test
+    void tasksDueBetween() {
+        Document range = new Document("$gt", date(LocalDateTime.now()))
+                .append("$lt", date(LocalDateTime.now().plusDays(7)));
+        assertIndexScan("tasks", new Document("dueDate", range), new Document("dueDate", 1), 0, "due_date_id");
+    }
+
+    @Test
+    void tasksByPriorityNewestFirst() {
+        assertIndexScan("tasks", new Document("priority", "HIGH"), new Document("createdAt", -1), 0,
+                "priority_created_id");
+    }
+
+    @Test
+    void boardColumnsInPositionOrder() {
+        assertIndexScan("board_columns", new Document("boardId", "b1"), new Document("position", 1), 0,
+                "board_position");
+    }
+
+    @Test
+    void columnNameWithinBoard() {
+        assertIndexScan("board_columns", new Document("boardId", "b1").append("name", "Column 1"), null, 1,
+                "board_name");
+    }
+
+    @Test
+    void boardName() {
+        assertIndexScan("boards", new Document("name", "Board 1"), null, 1, "name");
+    }
+
+    @Test
+    void boardChangesAfterCursor() {
+        assertIndexScan("board_changes", new Document("boardId", "b1").append("seq", new Document("$gt", 5L)),
+                new Document("seq", 1), 100, "board_seq");
+    }
+
+    private static void assertIndexScan(String collection, Document filter, Document sort, int limit,
+                                        String index) {
+        FindIterable<Document> find = template.getCollection(collection).find(filter);
+        if (sort != null) {
+            find = find.sort(sort);
+        }
+        if (limit > 0) {
+            find = find.limit(limit);
+        }
+        Document winningPlan = find.explain().get("queryPlanner", Document.class)
+                .get("winningPlan", Document.class);
+        List<Document> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+
+        assertThat(stages).extracting(stage -> stage.getString("stage"))
+                .as("plan of %s %s", collection, filter.toJson())
+                .contains("IXSCAN")
+                .doesNotContain("COLLSCAN", "SORT");
+        assertThat(stages).filteredOn(stage -> "IXSCAN".equals(stage.getString("stage")))
+                .extracting(stage -> stage.getString("indexName"))
+                .containsOnly(index);
+    }
+
+    /**
+     * Stages of a plan, whichever engine produced it (classic plans nest
+     * {@code inputStage}s, slot-based ones wrap them in a {@code queryPlan}).
+     */
+    private static void collectStages(Object node, List<Document> stages) {
+        if (node instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private static Date date(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,30 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.support.MongoTestSupport;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * The repository contract against MongoDB, with the repositories and their
+ * custom fragments assembled the way Spring Data assembles them in the
+ * application.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MongoRepositoryContractTest extends RepositoryContractTest {
+
+    @Override
+    protected Repositories open() {
+        MongoTemplate template = MongoTestSupport.newDatabase();
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(template);
+        return new Repositories(
+                factory.getRepository(TaskRepository.class,
+                        RepositoryFragments.just(new TaskRepositoryCustomImpl(template))),
+                factory.getRepository(BoardColumnRepository.class,
+                        RepositoryFragments.just(new BoardColumnRepositoryCustomImpl(template))),
+                factory.getRepository(BoardRepository.class),
+                factory.getRepository(BoardChangeRepository.class,
+                        RepositoryFragments.just(new BoardChangeRepositoryCustomImpl(template))));
+    }
+}
@@ -0,0 +1,225 @@
+package dev.kreaker.kjk.repository;
+
+import dev.kreaker.kjk.event.BoardChangeEvent;
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardChange;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour both storage backends must share, run against the Mongo
+ * repositories and the embedded ones: the CRUD methods, version checks, unique
+ * names, position lookups and the error report and version checks of a bulk
+ * write.
+ */
+abstract class RepositoryContractTest {
+
+    record Repositories(TaskRepository tasks, BoardColumnRepository columns, BoardRepository boards,
+                        BoardChangeRepository changes) {
+    }
+
+    private Repositories repositories;
+
+    /**
+     * Repositories over a new, empty store.
+     */
+    protected abstract Repositories open() throws Exception;
+
+    @BeforeEach
+    void openRepositories() throws Exception {
+        repositories = open();
+    }
+
+    @Test
+    void staleWritesAreRejected() {
+        Board board = board("Versioned");
+        Board first = repositories.boards().findById(board.getId()).orElseThrow();
+        Board second = repositories.boards().findById(board.getId()).orElseThrow();
+        first.setDescription("First");
+        repositories.boards().save(first);
+        second.setDescription("Second");
+        assertThatThrownBy(() -> repositories.boards().save(second))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repositories.boards().findById(board.getId()).orElseThrow().getDescription()).isEqualTo("First");
+
+        BoardColumn column = column(board, "Column", 1000);
+        Task task = task(column, "Task", 1000);
+        assertThat(repositories.tasks().updatePosition(task.getId(), task.getVersion(), board.getId(),
+                column.getId(), 2000)).isTrue();
+        assertThat(repositories.tasks().updatePosition(task.getId(), task.getVersion(), board.getId(),
+                column.getId(), 3000)).isFalse();
+        Task stored = repositories.tasks().findById(task.getId()).orElseThrow();
+        assertThat(stored.getPosition()).isEqualTo(2000L);
+        assertThat(stored.getVersion()).isEqualTo(task.getVersion() + 1);
+
+        task.setTitle("Stale");
+        assertThat(repositories.tasks().updateDetails(task)).isFalse();
+        stored.setTitle("Fresh");
+        assertThat(repositories.tasks().updateDetails(stored)).isTrue();
+        assertThat(repositories.tasks().findById(task.getId()).orElseThrow().getTitle()).isEqualTo("Fresh");
+    }
+
+    @Test
+    void namesAreUnique() {
+        Board board = board("Unique");
+        assertThatThrownBy(() -> board("Unique")).isInstanceOf(DuplicateKeyException.class);
+        Board other = board("Other");
+        other.setName("Unique");
+        assertThatThrownBy(() -> repositories.boards().save(other)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(repositories.boards().existsByName("Unique")).isTrue();
+        assertThat(repositories.boards().existsByName("Missing")).isFalse();
+
+        Board sibling = board("Sibling");
+        column(board, "Doing", 1000);
+        assertThatThrownBy(() -> column(board, "Doing", 2000)).isInstanceOf(DuplicateKeyException.class);
+        column(sibling, "Doing", 1000);
+        assertThat(repositories.columns().existsByBoardIdAndName(board.getId(), "Doing")).isTrue();
+        assertThat(repositories.columns().findByBoardIdOrderByPosition(board.getId())).hasSize(1);
+
+        repositories.changes().insert(new BoardChange(board.getId(), 1, BoardChangeEvent.Type.TASK_CREATED, "t1"));
+        assertThatThrownBy(() -> repositories.changes().insert(
+                new BoardChange(board.getId(), 1, BoardChangeEvent.Type.TASK_UPDATED, "t1")))
+                .isInstanceOf(DuplicateKeyException.class);
+        repositories.changes().insert(new BoardChange(sibling.getId(), 1, BoardChangeEvent.Type.TASK_CREATED, "t2"));
+    }
+
+    @Test
+    void crudMethodsBehaveAlike() {
+        Board board = board("Listed");
+        Board other = board("Also listed");
+        assertThat(repositories.boards().count()).isEqualTo(2);
+        assertThat(repositories.boards().findAll()).extracting(Board::getId)
+                .containsExactlyInAnyOrder(board.getId(), other.getId());
+        assertThatThrownBy(() -> repositories.boards().insert(board)).isInstanceOf(DuplicateKeyException.class);
+
+        BoardChange change = repositories.changes().insert(
+                new BoardChange(board.getId(), 1, BoardChangeEvent.Type.TASK_CREATED, "t1"));
+        assertThat(repositories.changes().findById(change.getId())).isPresent();
+        repositories.changes().delete(change);
+        assertThat(repositories.changes().existsById(change.getId())).isFalse();
+
+        repositories.boards().deleteAll();
+        assertThat(repositories.boards().count()).isZero();
+    }
+
+    @Test
+    void positionLookupsStayWithinTheScope() {
+        Board board = board("Positions");
+        BoardColumn column = column(board, "Column", 1000);
+        BoardColumn neighbour = column(board, "Neighbour", 2000);
+        column(board, "Last", 3000);
+        Task first = task(column, "First", 100);
+        Task second = task(column, "Second", 200);
+        Task third = task(column, "Third", 300);
+        Task fourth = task(column, "Fourth", 400);
+        task(neighbour, "Elsewhere", 250);
+
+        TaskRepository tasks = repositories.tasks();
+        assertThat(tasks.findPositionAfter(column.getId(), null, 200)).isEqualTo(300L);
+        assertThat(tasks.findPositionAfter(column.getId(), third.getId(), 200)).isEqualTo(400L);
+        assertThat(tasks.findPositionAfter(column.getId(), null, 400)).isNull();
+        assertThat(tasks.findPositionBefore(column.getId(), null, 200)).isEqualTo(100L);
+        assertThat(tasks.findPositionBefore(column.getId(), first.getId(), 200)).isNull();
+        assertThat(tasks.findLastPosition(column.getId(), null)).isEqualTo(400L);
+        assertThat(tasks.findLastPosition(column.getId(), fourth.getId())).isEqualTo(300L);
+
+        assertThat(tasks.countBetween(column.getId(), null, 100L, 400L)).isEqualTo(2);
+        assertThat(tasks.countBetween(column.getId(), second.getId(), 100L, 400L)).isEqualTo(1);
+        assertThat(tasks.countBetween(column.getId(), null, null, 300L)).isEqualTo(2);
+        assertThat(tasks.countBetween(column.getId(), null, 200L, null)).isEqualTo(2);
+        assertThat(tasks.countBetween(column.getId(), null, null, null)).isEqualTo(4);
+
+        assertThat(tasks.findColumnPage(column.getId(), null, null, 2)).extracting(Task::getId)
+                .containsExactly(first.getId(), second.getId());
+        assertThat(tasks.findColumnPage(column.getId(), 200L, second.getId(), 10)).extracting(Task::getId)
+                .containsExactly(third.getId(), fourth.getId());
+
+        BoardColumnRepository columns = repositories.columns();
+        assertThat(columns.findPositionAfter(board.getId(), null, 1000)).isEqualTo(2000L);
+        assertThat(columns.findPositionBefore(board.getId(), neighbour.getId(), 3000)).isEqualTo(1000L);
+        assertThat(columns.findLastPosition(board.getId(), null)).isEqualTo(3000L);
+        assertThat(columns.countBetween(board.getId(), null, 1000L, 3000L)).isEqualTo(1);
+    }
+
+    @Test
+    void bulkApplyReportsTheFailedWrites() {
+        Board board = board("Bulk");
+        BoardColumn column = column(board, "Column", 1000);
+        Task existing = task(column, "Existing", 1000);
+
+        Task duplicate = placed(new Task("Duplicate", null), column, 2000);
+        duplicate.setId(existing.getId());
+        Task fresh = placed(new Task("Fresh", null), column, 3000);
+        fresh.setId(new ObjectId().toHexString());
+        Task edit = new Task("Edited", null);
+        edit.setId(existing.getId());
+        edit.setVersion(existing.getVersion());
+
+        Map<Integer, String> errors = repositories.tasks().bulkApply(List.of(TaskWrite.insert(duplicate),
+                TaskWrite.insert(fresh), TaskWrite.update(edit), TaskWrite.delete(new ObjectId().toHexString())));
+
+        assertThat(errors).containsOnlyKeys(0);
+        Task stored = repositories.tasks().findById(existing.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Edited");
+        assertThat(stored.getPosition()).isEqualTo(1000L);
+        assertThat(stored.getVersion()).isEqualTo(existing.getVersion() + 1);
+        assertThat(repositories.tasks().findByColumnIdOrderByPosition(column.getId())).extracting(Task::getId)
+                .containsExactly(existing.getId(), fresh.getId());
+
+        // The edit above bumped the version: writes over the old one are rejected
+        Task staleEdit = new Task("Stale", null);
+        staleEdit.setId(existing.getId());
+        staleEdit.setVersion(existing.getVersion());
+        Task stalePlace = placed(new Task("Stale", null), column, 4000);
+        stalePlace.setId(existing.getId());
+        stalePlace.setVersion(existing.getVersion());
+        Task current = placed(new Task("Fresh", null), column, 500);
+        current.setId(fresh.getId());
+        current.setVersion(repositories.tasks().findById(fresh.getId()).orElseThrow().getVersion());
+        Task missing = new Task("Missing", null);
+        missing.setId(new ObjectId().toHexString());
+        missing.setVersion(0L);
+
+        errors = repositories.tasks().bulkApply(List.of(TaskWrite.update(staleEdit), TaskWrite.place(stalePlace),
+                TaskWrite.place(current), TaskWrite.update(missing)));
+
+        assertThat(errors).containsOnlyKeys(0, 1, 3);
+        stored = repositories.tasks().findById(existing.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Edited");
+        assertThat(stored.getPosition()).isEqualTo(1000L);
+        assertThat(repositories.tasks().findByColumnIdOrderByPosition(column.getId())).extracting(Task::getId)
+                .containsExactly(fresh.getId(), existing.getId());
+    }
+
+    private Board board(String name) {
+        return repositories.boards().save(new Board(name, null));
+    }
+
+    private BoardColumn column(Board board, String name, long position) {
+        BoardColumn column = new BoardColumn(name, position);
+        column.setBoardId(board.getId());
+        return repositories.columns().save(column);
+    }
+
+    private Task task(BoardColumn column, String title, long position) {
+        return repositories.tasks().save(placed(new Task(title, null), column, position));
+    }
+
+    private static Task placed(Task task, BoardColumn column, long position) {
+        task.setBoardId(column.getBoardId());
+        task.setColumnId(column.getId());
+        task.setPosition(position);
+        return task;
+    }
+}
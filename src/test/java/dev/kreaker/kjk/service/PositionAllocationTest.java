@@ -0,0 +1,127 @@
+package dev.kreaker.kjk.service;
+
+import dev.kreaker.kjk.model.Board;
+import dev.kreaker.kjk.model.BoardColumn;
+import dev.kreaker.kjk.model.Task;
+import dev.kreaker.kjk.repository.TaskRepository;
+import dev.kreaker.kjk.support.MongoTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Appends racing each other and racing rebalances of the same column must never
+ * share a position.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class PositionAllocationTest {
+
+    private static final int THREADS = 16;
+    private static final int CREATES_PER_THREAD = 50;
+
+    @Autowired
+    private BoardService boardService;
+
+    @Autowired
+    private BoardColumnService columnService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PositionRebalancer rebalancer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", MongoTestSupport::newDatabaseUri);
+    }
+
+    @Test
+    void parallelCreatesNeverSharePositions() throws Exception {
+        String columnId = createColumn("Parallel creates");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean creating = new AtomicBoolean(true);
+        try {
+            List<Future<?>> creators = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                creators.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CREATES_PER_THREAD; i++) {
+                        taskService.createTask(columnId, new Task("Task " + thread + "-" + i, null));
+                    }
+                    return null;
+                }));
+            }
+            Future<?> rebalances = executor.submit(() -> {
+                start.await();
+                while (creating.get()) {
+                    rebalancer.rebalanceColumn(columnId);
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> creator : creators) {
+                creator.get(2, TimeUnit.MINUTES);
+            }
+            creating.set(false);
+            rebalances.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> positions = positionsOf(columnId);
+        assertThat(positions).hasSize(THREADS * CREATES_PER_THREAD).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void appendAfterRebalanceLandsAboveTheRespreadRanks() {
+        String columnId = createColumn("Target");
+        String sourceId = createColumn("Source");
+        String first = taskService.createTask(columnId, new Task("First", null)).getId();
+        taskService.createTask(columnId, new Task("Second", null));
+
+        // Moves between two tasks add ranks below the column's counter...
+        for (int i = 0; i < 5; i++) {
+            Task moved = taskService.createTask(sourceId, new Task("Moved " + i, null));
+            taskService.moveTask(moved.getId(), columnId, first, null);
+        }
+        // ...so the respread reaches past it
+        rebalancer.rebalanceColumn(columnId);
+        Task appended = taskService.createTask(columnId, new Task("Appended", null));
+
+        List<Long> positions = positionsOf(columnId);
+        assertThat(positions).hasSize(8).doesNotHaveDuplicates();
+        assertThat(appended.getPosition()).isEqualTo(positions.get(positions.size() - 1));
+        assertThat(appended.getPosition()).isGreaterThan(PositionRanks.spread(6));
+    }
+
+    private String createColumn(String name) {
+        Board board = boardService.createBoard(new Board(name + " " + System.nanoTime(), null));
+        return columnService.createColumn(board.getId(), new BoardColumn(name, null)).getId();
+    }
+
+    private List<Long> positionsOf(String columnId) {
+        return taskRepository.findByColumnIdOrderByPosition(columnId).stream().map(Task::getPosition).toList();
+    }
+}
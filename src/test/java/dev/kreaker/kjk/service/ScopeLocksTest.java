@@ -0,0 +1,50 @@
+package dev.kreaker.kjk.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Work deferred under a scope lock runs once the outermost lock is released, in
+ * the order it was deferred.
+ */
+class ScopeLocksTest {
+
+    private final ScopeLocks locks = new ScopeLocks(new SimpleMeterRegistry(), 4);
+
+    @Test
+    void deferredWorkRunsAfterTheOutermostRelease() {
+        List<String> ran = new ArrayList<>();
+        locks.inColumn("column", () -> {
+            locks.afterRelease(() -> ran.add("column"));
+            locks.inBoard("board", () -> {
+                locks.afterRelease(() -> ran.add("board"));
+                return null;
+            });
+            assertThat(ran).isEmpty();
+            return null;
+        });
+        assertThat(ran).containsExactly("column", "board");
+
+        locks.afterRelease(() -> ran.add("unlocked"));
+        assertThat(ran).endsWith("unlocked");
+    }
+
+    @Test
+    void deferredWorkRunsWhenTheWriteFails() {
+        List<String> ran = new ArrayList<>();
+        try {
+            locks.inColumn("column", () -> {
+                locks.afterRelease(() -> ran.add("published"));
+                throw new IllegalStateException("conflict");
+            });
+        } catch (IllegalStateException e) {
+            assertThat(e).hasMessage("conflict");
+        }
+        assertThat(ran).containsExactly("published");
+    }
+}
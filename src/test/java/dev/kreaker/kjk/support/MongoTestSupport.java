@@ -0,0 +1,67 @@
+package dev.kreaker.kjk.support;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import dev.kreaker.kjk.config.IndexBootstrap;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One MongoDB container shared by every test of the run, started on first use;
+ * each caller gets a database of its own. Test classes using it are annotated
+ * {@code @Testcontainers(disabledWithoutDocker = true)} so they are skipped
+ * where Docker is not available.
+ */
+public final class MongoTestSupport {
+
+    private static final DockerImageName IMAGE = DockerImageName.parse("mongo:7.0");
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static MongoDBContainer container;
+    private static MongoClient client;
+
+    private MongoTestSupport() {
+    }
+
+    public static synchronized MongoDBContainer container() {
+        if (container == null) {
+            container = new MongoDBContainer(IMAGE);
+            container.start();
+        }
+        return container;
+    }
+
+    /**
+     * Name of a database no other test has used.
+     */
+    public static String newDatabaseName() {
+        return "kjk_test_" + DATABASES.incrementAndGet();
+    }
+
+    /**
+     * A template over a new, empty database with the mapped indexes created.
+     */
+    public static MongoTemplate newDatabase() {
+        MongoTemplate template = new MongoTemplate(client(), newDatabaseName());
+        new IndexBootstrap(template).run(null);
+        return template;
+    }
+
+    /**
+     * Connection string of a new, empty database, for application contexts.
+     */
+    public static String newDatabaseUri() {
+        return container().getReplicaSetUrl(newDatabaseName());
+    }
+
+    private static synchronized MongoClient client() {
+        if (client == null) {
+            client = MongoClients.create(container().getConnectionString());
+        }
+        return client;
+    }
+}